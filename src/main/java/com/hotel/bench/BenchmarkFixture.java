@@ -0,0 +1,150 @@
+package com.hotel.bench;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.Random;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.domain.Address;
+import com.hotel.domain.CreditCard;
+import com.hotel.domain.Guest;
+import com.hotel.domain.Identity;
+import com.hotel.domain.Money;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomType;
+import com.hotel.domain.Room;
+import com.hotel.exception.HotelException;
+
+/**
+ * Populated {@link HotelChain} for benchmarks.
+ * <p>
+ * Rooms can only hold one live reservation at a time, so historic load is
+ * built the way it accumulates in production: each stay is reserved, checked
+ * in and checked out. The stay keeps blocking its dates while the room itself
+ * returns to FREE. The horizon is sized so the rooms end up roughly half
+ * booked, whatever the reservation count.
+ */
+public final class BenchmarkFixture {
+    public static final LocalDate BASE_DATE = LocalDate.of(2030, 1, 1);
+    private static final int MAX_NIGHTS = 7;
+
+    private final HotelChain chain;
+    private final List<Hotel> hotels;
+    private final List<RoomType> roomTypes;
+    private final ReserverPayer payer;
+    private final Guest guest;
+    private final DateDistribution distribution;
+    private final int horizonDays;
+    private final int reservations;
+
+    public BenchmarkFixture(int hotelCount, int roomsPerHotel, int reservationCount,
+            DateDistribution distribution, long seed) {
+        if (hotelCount < 1 || roomsPerHotel < 1) {
+            throw new IllegalArgumentException("Fixture needs at least one hotel and one room");
+        }
+        if (reservationCount < 0) {
+            throw new IllegalArgumentException("Reservation count cannot be negative");
+        }
+        if (distribution == null) {
+            throw new IllegalArgumentException("Date distribution cannot be null");
+        }
+        this.distribution = distribution;
+        this.chain = new HotelChain("Benchmark Chain");
+        this.hotels = new ArrayList<>(hotelCount);
+
+        Currency usd = Currency.getInstance("USD");
+        List<RoomType> types = new ArrayList<>();
+        for (RoomKind kind : RoomKind.values()) {
+            types.add(new RoomType(kind, new Money(BigDecimal.valueOf(100L + 50L * kind.ordinal()), usd)));
+        }
+        this.roomTypes = Collections.unmodifiableList(types);
+
+        for (int h = 0; h < hotelCount; h++) {
+            Hotel hotel = new Hotel("Hotel " + h);
+            for (int r = 0; r < roomsPerHotel; r++) {
+                hotel.addRoom(new Room(r + 1, types.get(r % types.size())));
+            }
+            chain.addHotel(hotel);
+            hotels.add(hotel);
+        }
+
+        Identity identity = new Identity("Passport", "BENCH-1");
+        this.payer = chain.createReserverPayer(identity, new CreditCard("4000000000000002", "12/35", "123"));
+        this.guest = new Guest("Bench Guest", new Address("1 Bench St", "Benchville", "00000"), identity);
+
+        long totalRooms = (long) hotelCount * roomsPerHotel;
+        long neededNights = 2L * reservationCount * (MAX_NIGHTS + 1) / 2;
+        this.horizonDays = (int) Math.max(365, Math.min(Integer.MAX_VALUE / 2, neededNights / totalRooms + 1));
+        this.reservations = populate(reservationCount, new Random(seed));
+    }
+
+    private int populate(int target, Random random) {
+        int made = 0;
+        int failures = 0;
+        while (made < target && failures < target + 1_000) {
+            Hotel hotel = randomHotel(random);
+            RoomType type = randomType(random);
+            LocalDate start = randomStart(random);
+            try {
+                Reservation res = hotel.createReservation(start, start.plusDays(randomNights(random)), type, payer);
+                res.getRoom().checkInGuest(guest);
+                res.getRoom().checkOutGuest();
+                made++;
+            } catch (HotelException e) {
+                failures++;
+            }
+        }
+        return made;
+    }
+
+    public HotelChain getChain() {
+        return chain;
+    }
+
+    public List<Hotel> getHotels() {
+        return Collections.unmodifiableList(hotels);
+    }
+
+    public List<RoomType> getRoomTypes() {
+        return roomTypes;
+    }
+
+    public ReserverPayer getPayer() {
+        return payer;
+    }
+
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+
+    /**
+     * Number of historic reservations actually created; lower than requested
+     * only if the rooms were saturated.
+     */
+    public int getReservationCount() {
+        return reservations;
+    }
+
+    public Hotel randomHotel(Random random) {
+        return hotels.get(random.nextInt(hotels.size()));
+    }
+
+    public RoomType randomType(Random random) {
+        return roomTypes.get(random.nextInt(roomTypes.size()));
+    }
+
+    public LocalDate randomStart(Random random) {
+        return BASE_DATE.plusDays(distribution.startOffset(random, horizonDays));
+    }
+
+    public int randomNights(Random random) {
+        return 1 + random.nextInt(MAX_NIGHTS);
+    }
+}
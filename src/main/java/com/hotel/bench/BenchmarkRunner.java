@@ -0,0 +1,181 @@
+package com.hotel.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal single-threaded measurement loop: timed warmup iterations, then
+ * timed measurement iterations, reporting mean time and heap allocation per
+ * operation. Allocation is read from the HotSpot per-thread allocation
+ * counter, the same source a GC profiler reports from.
+ * <p>
+ * The runner measures within the current JVM, so whatever ran before shapes
+ * the JIT profile of what runs next. {@link BookingBenchmark} therefore
+ * starts a fresh JVM per benchmark, as a forking harness would.
+ */
+public class BenchmarkRunner {
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final com.sun.management.ThreadMXBean threads;
+
+    // Results are folded in here so the JIT cannot discard the measured work
+    private volatile long sink;
+
+    public BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis) {
+        if (warmupIterations < 0 || measurementIterations < 1 || iterationMillis < 1) {
+            throw new IllegalArgumentException("Invalid iteration settings");
+        }
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = TimeUnit.MILLISECONDS.toNanos(iterationMillis);
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    /**
+     * One benchmark operation; the returned value is consumed by the runner.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        long run();
+    }
+
+    /**
+     * Untimed preparation of a batch of operations, such as creating the
+     * reservations a cancel benchmark then cancels.
+     */
+    @FunctionalInterface
+    public interface BatchSetup {
+        /**
+         * @return the number of operations the prepared batch supports.
+         */
+        int prepare();
+    }
+
+    public Result run(String name, Operation operation) {
+        for (int i = 0; i < warmupIterations; i++) {
+            iterate(operation);
+        }
+        long totalOps = 0;
+        long totalNanos = 0;
+        long totalBytes = 0;
+        for (int i = 0; i < measurementIterations; i++) {
+            long threadId = Thread.currentThread().threadId();
+            long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            long ops = iterate(operation);
+            totalNanos += System.nanoTime() - start;
+            totalBytes += threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+            totalOps += ops;
+        }
+        return new Result(name, totalOps, totalNanos, totalBytes);
+    }
+
+    /**
+     * Like {@link #run(String, Operation)}, but each iteration runs whole
+     * batches: setup prepares a batch outside the timed region, then exactly
+     * that many operations are timed. Iterations last until the timed part
+     * alone reaches the iteration time.
+     */
+    public Result run(String name, BatchSetup setup, Operation operation) {
+        for (int i = 0; i < warmupIterations; i++) {
+            iterateBatches(setup, operation, new long[3]);
+        }
+        long[] totals = new long[3];
+        for (int i = 0; i < measurementIterations; i++) {
+            iterateBatches(setup, operation, totals);
+        }
+        return new Result(name, totals[0], totals[1], totals[2]);
+    }
+
+    /**
+     * Adds operations, timed nanos and allocated bytes to totals.
+     */
+    private void iterateBatches(BatchSetup setup, Operation operation, long[] totals) {
+        long threadId = Thread.currentThread().threadId();
+        long nanos = 0;
+        long acc = 0;
+        while (nanos < iterationNanos) {
+            int size = setup.prepare();
+            if (size < 1) {
+                throw new IllegalStateException("Batch setup prepared no operations");
+            }
+            long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            for (int i = 0; i < size; i++) {
+                acc += operation.run();
+            }
+            long elapsed = System.nanoTime() - start;
+            totals[2] += threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+            totals[0] += size;
+            nanos += elapsed;
+        }
+        totals[1] += nanos;
+        sink += acc;
+    }
+
+    private long iterate(Operation operation) {
+        long deadline = System.nanoTime() + iterationNanos;
+        long ops = 0;
+        long acc = 0;
+        do {
+            // Check the clock every 64 operations to keep timer overhead out
+            for (int i = 0; i < 64; i++) {
+                acc += operation.run();
+            }
+            ops += 64;
+        } while (System.nanoTime() < deadline);
+        sink += acc;
+        return ops;
+    }
+
+    /**
+     * Aggregate measurement for one benchmark.
+     */
+    public static final class Result {
+        private final String name;
+        private final long operations;
+        private final long nanos;
+        private final long allocatedBytes;
+
+        Result(String name, long operations, long nanos, long allocatedBytes) {
+            this.name = name;
+            this.operations = operations;
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getOperations() {
+            return operations;
+        }
+
+        public double getNanosPerOp() {
+            return (double) nanos / operations;
+        }
+
+        public double getOpsPerSecond() {
+            return operations * 1_000_000_000.0 / nanos;
+        }
+
+        public double getBytesPerOp() {
+            return (double) allocatedBytes / operations;
+        }
+
+        /**
+         * Allocation rate in MB/s over the measured iterations.
+         */
+        public double getAllocationRate() {
+            return allocatedBytes / 1_048_576.0 / (nanos / 1_000_000_000.0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-40s %12.1f ns/op %14.0f ops/s %10.1f B/op %10.1f MB/s",
+                    name, getNanosPerOp(), getOpsPerSecond(), getBytesPerOp(), getAllocationRate());
+        }
+    }
+}
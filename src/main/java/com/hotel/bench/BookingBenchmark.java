@@ -0,0 +1,239 @@
+package com.hotel.bench;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.RoomType;
+import com.hotel.exception.HotelException;
+
+/**
+ * Benchmarks for the booking hot paths over a grid of fixture sizes.
+ * <p>
+ * Usage: {@code BookingBenchmark [--hotels=1,100] [--rooms=10,1000]
+ * [--reservations=0,10000] [--dates=UNIFORM,SKEWED] [--benchmarks=...]
+ * [--forks=1] [--warmup=3] [--iterations=5] [--millis=500]}
+ * <p>
+ * Each benchmark of each fixture runs in {@code --forks} fresh JVMs, started
+ * with the same JVM options and class path as this one, so the JIT profile
+ * one benchmark leaves behind cannot skew the next. {@code --forks=0} runs
+ * everything in this JVM, which is only good for a quick look.
+ * <p>
+ * Every benchmark that creates a reservation cancels it again, so the
+ * fixture stays the same size for the whole run.
+ */
+public class BookingBenchmark {
+    public static final String AVAILABLE = "Hotel.available";
+    public static final String CREATE_AND_CANCEL = "Hotel.createReservation+cancelReservation";
+    public static final String CANCEL = "Hotel.cancelReservation";
+    public static final String CHAIN_MAKE_AND_CANCEL = "HotelChain.makeReservation+cancel";
+
+    /**
+     * Every benchmark, in the order they run.
+     */
+    public static final List<String> BENCHMARKS = List.of(AVAILABLE, CREATE_AND_CANCEL, CANCEL,
+            CHAIN_MAKE_AND_CANCEL);
+
+    // Reservations created per batch of the cancel benchmark
+    private static final int CANCEL_BATCH = 256;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int[] hotelCounts = { 1, 100 };
+        int[] roomCounts = { 10, 1_000 };
+        int[] reservationCounts = { 0, 10_000 };
+        DateDistribution[] distributions = DateDistribution.values();
+        List<String> benchmarks = BENCHMARKS;
+        int forks = 1;
+        boolean header = true;
+        int warmup = 3;
+        int iterations = 5;
+        long millis = 500;
+
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            switch (parts[0]) {
+                case "--hotels" -> hotelCounts = parseInts(parts[1]);
+                case "--rooms" -> roomCounts = parseInts(parts[1]);
+                case "--reservations" -> reservationCounts = parseInts(parts[1]);
+                case "--dates" -> distributions = Arrays.stream(parts[1].split(","))
+                        .map(DateDistribution::valueOf)
+                        .toArray(DateDistribution[]::new);
+                case "--benchmarks" -> benchmarks = parseBenchmarks(parts[1]);
+                case "--forks" -> forks = Integer.parseInt(parts[1]);
+                case "--header" -> header = Boolean.parseBoolean(parts[1]);
+                case "--warmup" -> warmup = Integer.parseInt(parts[1]);
+                case "--iterations" -> iterations = Integer.parseInt(parts[1]);
+                case "--millis" -> millis = Long.parseLong(parts[1]);
+                default -> throw new IllegalArgumentException("Unknown option " + parts[0]);
+            }
+        }
+        if (forks < 0) {
+            throw new IllegalArgumentException("Fork count cannot be negative");
+        }
+
+        BenchmarkRunner runner = new BenchmarkRunner(warmup, iterations, millis);
+        for (int hotels : hotelCounts) {
+            for (int rooms : roomCounts) {
+                for (int reservations : reservationCounts) {
+                    for (DateDistribution distribution : distributions) {
+                        if (forks == 0) {
+                            BenchmarkFixture fixture = new BenchmarkFixture(hotels, rooms, reservations, distribution,
+                                    42L);
+                            if (header) {
+                                printHeader(hotels, rooms, fixture, distribution);
+                            }
+                            for (String name : benchmarks) {
+                                System.out.println(run(name, runner, fixture));
+                            }
+                            continue;
+                        }
+                        System.out.printf("%n# hotels=%d rooms/hotel=%d reservations=%d dates=%s forks=%d%n",
+                                hotels, rooms, reservations, distribution, forks);
+                        for (String name : benchmarks) {
+                            for (int fork = 0; fork < forks; fork++) {
+                                fork(name, "--hotels=" + hotels, "--rooms=" + rooms,
+                                        "--reservations=" + reservations, "--dates=" + distribution,
+                                        "--warmup=" + warmup, "--iterations=" + iterations, "--millis=" + millis);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs every booking benchmark against one fixture, in this JVM.
+     */
+    public static List<BenchmarkRunner.Result> runAll(BenchmarkRunner runner, BenchmarkFixture fixture) {
+        List<BenchmarkRunner.Result> results = new ArrayList<>();
+        for (String name : BENCHMARKS) {
+            results.add(run(name, runner, fixture));
+        }
+        return results;
+    }
+
+    /**
+     * Runs one booking benchmark against a fixture, in this JVM.
+     */
+    public static BenchmarkRunner.Result run(String name, BenchmarkRunner runner, BenchmarkFixture fixture) {
+        Random random = new Random(7L);
+        return switch (name) {
+            case AVAILABLE -> runner.run(name, () -> {
+                Hotel hotel = fixture.randomHotel(random);
+                LocalDate start = fixture.randomStart(random);
+                return hotel.available(start, start.plusDays(fixture.randomNights(random)),
+                        fixture.randomType(random)) ? 1 : 0;
+            });
+            case CREATE_AND_CANCEL -> runner.run(name, () -> {
+                Hotel hotel = fixture.randomHotel(random);
+                LocalDate start = fixture.randomStart(random);
+                RoomType type = fixture.randomType(random);
+                try {
+                    Reservation res = hotel.createReservation(start, start.plusDays(fixture.randomNights(random)),
+                            type, fixture.getPayer());
+                    hotel.cancelReservation(res.getReservationNumber());
+                    return res.getReservationNumber();
+                } catch (HotelException e) {
+                    return -1;
+                }
+            });
+            case CANCEL -> {
+                // Reservations are made outside the timed region, a batch at a time
+                Deque<Hotel> pendingHotels = new ArrayDeque<>(CANCEL_BATCH);
+                Deque<Reservation> pending = new ArrayDeque<>(CANCEL_BATCH);
+                yield runner.run(name, () -> {
+                    int failures = 0;
+                    while (pending.size() < CANCEL_BATCH && failures < 4 * CANCEL_BATCH) {
+                        Hotel hotel = fixture.randomHotel(random);
+                        LocalDate start = fixture.randomStart(random);
+                        try {
+                            pending.add(hotel.createReservation(start, start.plusDays(fixture.randomNights(random)),
+                                    fixture.randomType(random), fixture.getPayer()));
+                            pendingHotels.add(hotel);
+                        } catch (HotelException e) {
+                            failures++;
+                        }
+                    }
+                    return pending.size();
+                }, () -> {
+                    Reservation res = pending.poll();
+                    pendingHotels.poll().cancelReservation(res.getReservationNumber());
+                    return res.getReservationNumber();
+                });
+            }
+            case CHAIN_MAKE_AND_CANCEL -> {
+                HotelChain chain = fixture.getChain();
+                yield runner.run(name, () -> {
+                    Hotel hotel = fixture.randomHotel(random);
+                    LocalDate start = fixture.randomStart(random);
+                    RoomType type = fixture.randomType(random);
+                    try {
+                        Reservation res = chain.makeReservation(hotel.getName(), start,
+                                start.plusDays(fixture.randomNights(random)), type, fixture.getPayer());
+                        chain.cancelReservation(hotel.getName(), res.getReservationNumber());
+                        return res.getReservationNumber();
+                    } catch (HotelException e) {
+                        return -1;
+                    }
+                });
+            }
+            default -> throw new IllegalArgumentException("Unknown benchmark " + name);
+        };
+    }
+
+    private static void printHeader(int hotels, int rooms, BenchmarkFixture fixture, DateDistribution distribution) {
+        System.out.printf("%n# hotels=%d rooms/hotel=%d reservations=%d dates=%s horizon=%dd%n",
+                hotels, rooms, fixture.getReservationCount(), distribution, fixture.getHorizonDays());
+    }
+
+    /**
+     * Runs one benchmark in a new JVM with this JVM's options and class
+     * path, and waits for it; its results go straight to standard output.
+     */
+    private static void fork(String benchmark, String... fixtureOptions) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(BookingBenchmark.class.getName());
+        command.add("--forks=0");
+        command.add("--header=false");
+        command.add("--benchmarks=" + benchmark);
+        command.addAll(Arrays.asList(fixtureOptions));
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        int exit = process.waitFor();
+        if (exit != 0) {
+            throw new IllegalStateException("Benchmark fork for " + benchmark + " exited with " + exit);
+        }
+    }
+
+    private static List<String> parseBenchmarks(String csv) {
+        List<String> names = new ArrayList<>();
+        for (String name : csv.split(",")) {
+            if (!BENCHMARKS.contains(name.trim())) {
+                throw new IllegalArgumentException("Unknown benchmark " + name.trim());
+            }
+            names.add(name.trim());
+        }
+        return names;
+    }
+
+    private static int[] parseInts(String csv) {
+        return Arrays.stream(csv.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+}
@@ -0,0 +1,26 @@
+package com.hotel.bench;
+
+import java.util.Random;
+
+/**
+ * How benchmark stays are spread over the booking horizon.
+ */
+public enum DateDistribution {
+    /** Every start day in the horizon is equally likely. */
+    UNIFORM {
+        @Override
+        public int startOffset(Random random, int horizonDays) {
+            return random.nextInt(horizonDays);
+        }
+    },
+    /** Most stays start soon, with a long tail of late bookings. */
+    SKEWED {
+        @Override
+        public int startOffset(Random random, int horizonDays) {
+            double u = random.nextDouble();
+            return (int) (u * u * u * horizonDays);
+        }
+    };
+
+    public abstract int startOffset(Random random, int horizonDays);
+}
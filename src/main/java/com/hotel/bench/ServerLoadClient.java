@@ -0,0 +1,228 @@
+package com.hotel.bench;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.hotel.core.Hotel;
+import com.hotel.domain.RoomType;
+import com.hotel.metrics.HistogramSnapshot;
+import com.hotel.metrics.LatencyHistogram;
+import com.hotel.server.ChainServer;
+import com.hotel.server.CommandHandler;
+
+/**
+ * Closed-loop load generator for {@link ChainServer} over loopback.
+ * <p>
+ * Each simulated client holds one connection on its own virtual thread and
+ * repeats availability, booking and cancellation of the booking, waiting for
+ * each response before sending the next request. Latency is measured per
+ * request from write to response, so it includes the socket round trip.
+ * Booking attempts the hotel rejects are counted separately from protocol
+ * errors.
+ * <p>
+ * Usage: {@code ServerLoadClient [--hotels=10] [--rooms=200]
+ * [--connections=1000] [--seconds=10]}. The server runs in-process on an
+ * ephemeral loopback port, on a {@link BenchmarkFixture} chain.
+ */
+public class ServerLoadClient {
+    private static final String PAYER_TYPE = "Passport";
+    private static final String PAYER_ID = "LOAD-1";
+
+    private final BenchmarkFixture fixture;
+    private final int port;
+
+    public ServerLoadClient(BenchmarkFixture fixture, int port) {
+        if (fixture == null) {
+            throw new IllegalArgumentException("Fixture cannot be null");
+        }
+        this.fixture = fixture;
+        this.port = port;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int hotels = 10;
+        int rooms = 200;
+        int connections = 1_000;
+        int seconds = 10;
+
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            switch (parts[0]) {
+                case "--hotels" -> hotels = Integer.parseInt(parts[1]);
+                case "--rooms" -> rooms = Integer.parseInt(parts[1]);
+                case "--connections" -> connections = Integer.parseInt(parts[1]);
+                case "--seconds" -> seconds = Integer.parseInt(parts[1]);
+                default -> throw new IllegalArgumentException("Unknown option " + parts[0]);
+            }
+        }
+
+        BenchmarkFixture fixture = new BenchmarkFixture(hotels, rooms, 0, DateDistribution.UNIFORM, 42L);
+        try (ChainServer server = new ChainServer(fixture.getChain(), 0)) {
+            System.out.printf("# hotels=%d rooms/hotel=%d connections=%d seconds=%d%n",
+                    hotels, rooms, connections, seconds);
+            Report report = new ServerLoadClient(fixture, server.getPort())
+                    .run(connections, TimeUnit.SECONDS.toMillis(seconds));
+            System.out.println(report);
+        }
+    }
+
+    /**
+     * Drives the server from the given number of concurrent connections for
+     * the given time and reports what the clients observed.
+     */
+    public Report run(int connections, long durationMillis) throws InterruptedException {
+        if (connections < 1 || durationMillis < 1) {
+            throw new IllegalArgumentException("Invalid load settings");
+        }
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder rejected = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        List<Thread> clients = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            long seed = i;
+            clients.add(Thread.ofVirtual().name("load-client-" + i)
+                    .start(() -> drive(new Random(seed), deadline, latency, rejected, errors)));
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        long nanos = System.nanoTime() - start;
+        return new Report(connections, latency.snapshot(), rejected.sum(), errors.sum(), nanos);
+    }
+
+    private void drive(Random random, long deadline, LatencyHistogram latency, LongAdder rejected,
+            LongAdder errors) {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            String card = "4000000000000002\t12/35\t123";
+            if (!isOk(call(in, out, "PAYER\t" + PAYER_TYPE + "\t" + PAYER_ID + "\t" + card, null))) {
+                errors.increment();
+                return;
+            }
+            while (System.nanoTime() < deadline) {
+                Hotel hotel = fixture.randomHotel(random);
+                RoomType type = fixture.randomType(random);
+                LocalDate startDate = fixture.randomStart(random);
+                LocalDate endDate = startDate.plusDays(fixture.randomNights(random));
+                String stay = hotel.getName() + "\t" + startDate + "\t" + endDate;
+
+                if (!isOk(call(in, out, "AVAIL\t" + stay, latency))) {
+                    errors.increment();
+                }
+                String booked = call(in, out, "MAKE\t" + stay + "\t" + type.getKind() + "\t" + PAYER_TYPE
+                        + "\t" + PAYER_ID, latency);
+                if (!isOk(booked)) {
+                    rejected.increment();
+                    continue;
+                }
+                String reservationNumber = booked.split("\t")[1];
+                if (!isOk(call(in, out, "CANCEL\t" + hotel.getName() + "\t" + reservationNumber, latency))) {
+                    errors.increment();
+                }
+            }
+        } catch (IOException e) {
+            // A dropped connection ends this client; count it rather than abort the run
+            errors.increment();
+        }
+    }
+
+    private static String call(BufferedReader in, BufferedWriter out, String request, LatencyHistogram latency)
+            throws IOException {
+        long started = System.nanoTime();
+        out.write(request);
+        out.write('\n');
+        out.flush();
+        String response = in.readLine();
+        if (response == null) {
+            throw new IOException("Server closed the connection");
+        }
+        if (latency != null) {
+            latency.record(System.nanoTime() - started);
+        }
+        return response;
+    }
+
+    private static boolean isOk(String response) {
+        return response.equals(CommandHandler.OK) || response.startsWith(CommandHandler.OK + "\t");
+    }
+
+    /**
+     * What the clients of one run observed.
+     */
+    public static final class Report {
+        private final int connections;
+        private final HistogramSnapshot latency;
+        private final long rejected;
+        private final long errors;
+        private final long nanos;
+
+        Report(int connections, HistogramSnapshot latency, long rejected, long errors, long nanos) {
+            this.connections = connections;
+            this.latency = latency;
+            this.rejected = rejected;
+            this.errors = errors;
+            this.nanos = nanos;
+        }
+
+        public int getConnections() {
+            return connections;
+        }
+
+        public long getRequests() {
+            return latency.getCount();
+        }
+
+        /**
+         * Latency of every request in nanoseconds.
+         */
+        public HistogramSnapshot getLatency() {
+            return latency;
+        }
+
+        /**
+         * Booking attempts the hotel turned down, e.g. for lack of rooms.
+         */
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Availability checks and cancellations that did not answer OK.
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getRequestsPerSecond() {
+            return latency.getCount() * 1_000_000_000.0 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d requests %,.0f req/s p50=%.1fus p99=%.1fus max=%.1fus rejected=%d errors=%d",
+                    getRequests(), getRequestsPerSecond(), latency.valueAtPercentile(50) / 1_000.0,
+                    latency.valueAtPercentile(99) / 1_000.0, latency.getMax() / 1_000.0, rejected, errors);
+        }
+    }
+}
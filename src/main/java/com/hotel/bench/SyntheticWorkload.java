@@ -0,0 +1,112 @@
+package com.hotel.bench;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.hotel.domain.RoomKind;
+
+/**
+ * Generates booking workloads with a configurable skew.
+ * <p>
+ * Hotels are picked by a {@link ZipfDistribution} over the given order, so
+ * the first hotels are the popular ones. Stays start a lead time after
+ * {@link BenchmarkFixture#BASE_DATE} drawn from an exponential distribution
+ * with the given mean, the usual shape of booking lead times, and last one to
+ * seven nights.
+ * <p>
+ * A room holds one live reservation at a time, so every booking is
+ * eventually released: cancelled with the given probability, otherwise
+ * checked in and out. At most maxInFlight bookings are live at once; once
+ * the limit is reached the generator releases a random live booking before
+ * making another.
+ */
+public final class SyntheticWorkload {
+    private static final int MAX_NIGHTS = 7;
+
+    private final List<String> hotelNames;
+    private final List<RoomKind> roomKinds;
+    private final ZipfDistribution hotelPopularity;
+    private final double meanLeadDays;
+    private final double cancelRate;
+    private final int maxInFlight;
+    private final long seed;
+
+    public SyntheticWorkload(List<String> hotelNames, List<RoomKind> roomKinds, double zipfExponent,
+            double meanLeadDays, double cancelRate, int maxInFlight, long seed) {
+        if (hotelNames == null || hotelNames.isEmpty()) {
+            throw new IllegalArgumentException("Workload needs at least one hotel");
+        }
+        if (roomKinds == null || roomKinds.isEmpty()) {
+            throw new IllegalArgumentException("Workload needs at least one room kind");
+        }
+        if (meanLeadDays < 0 || Double.isNaN(meanLeadDays)) {
+            throw new IllegalArgumentException("Mean lead time cannot be negative");
+        }
+        if (!(cancelRate >= 0 && cancelRate <= 1)) {
+            throw new IllegalArgumentException("Cancel rate must be between 0 and 1");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("At least one booking must be allowed in flight");
+        }
+        this.hotelNames = List.copyOf(hotelNames);
+        this.roomKinds = List.copyOf(roomKinds);
+        this.hotelPopularity = new ZipfDistribution(hotelNames.size(), zipfExponent);
+        this.meanLeadDays = meanLeadDays;
+        this.cancelRate = cancelRate;
+        this.maxInFlight = maxInFlight;
+        this.seed = seed;
+    }
+
+    /**
+     * Generates count events, spaced evenly at the given rate, or all at
+     * offset zero for closed-loop runs when the rate is zero.
+     */
+    public List<WorkloadEvent> generate(int count, double eventsPerSecond) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Event count cannot be negative");
+        }
+        if (eventsPerSecond < 0 || Double.isNaN(eventsPerSecond)) {
+            throw new IllegalArgumentException("Rate cannot be negative");
+        }
+        Random random = new Random(seed);
+        List<WorkloadEvent> events = new ArrayList<>(count);
+        // Live bookings, each with the follow-up it still owes
+        List<String> live = new ArrayList<>();
+        List<WorkloadEvent.Type> owed = new ArrayList<>();
+        int nextReference = 0;
+        for (int i = 0; i < count; i++) {
+            long offset = eventsPerSecond == 0 ? 0L : (long) (i * 1_000_000_000.0 / eventsPerSecond);
+            if (live.size() < maxInFlight) {
+                String reference = "s" + nextReference++;
+                LocalDate start = BenchmarkFixture.BASE_DATE.plusDays(leadDays(random));
+                events.add(WorkloadEvent.make(offset, reference, hotelNames.get(hotelPopularity.sample(random)),
+                        start, start.plusDays(1 + random.nextInt(MAX_NIGHTS)),
+                        roomKinds.get(random.nextInt(roomKinds.size()))));
+                live.add(reference);
+                owed.add(random.nextDouble() < cancelRate ? WorkloadEvent.Type.CANCEL : WorkloadEvent.Type.CHECK_IN);
+                continue;
+            }
+            int pick = random.nextInt(live.size());
+            String reference = live.get(pick);
+            WorkloadEvent.Type type = owed.get(pick);
+            events.add(WorkloadEvent.followUp(offset, type, reference));
+            if (type == WorkloadEvent.Type.CHECK_IN) {
+                owed.set(pick, WorkloadEvent.Type.CHECK_OUT);
+            } else {
+                // Swap-remove: order of the live list does not matter
+                int last = live.size() - 1;
+                live.set(pick, live.get(last));
+                owed.set(pick, owed.get(last));
+                live.remove(last);
+                owed.remove(last);
+            }
+        }
+        return events;
+    }
+
+    private long leadDays(Random random) {
+        return (long) (-meanLeadDays * Math.log(1.0 - random.nextDouble()));
+    }
+}
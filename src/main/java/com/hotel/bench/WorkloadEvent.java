@@ -0,0 +1,103 @@
+package com.hotel.bench;
+
+import java.time.LocalDate;
+
+import com.hotel.domain.RoomKind;
+
+/**
+ * One operation of a recorded or synthetic booking workload.
+ * <p>
+ * Events name their reservation by a workload-local reference rather than a
+ * reservation number, since the numbers a chain hands out during a replay
+ * differ from the recorded ones. A MAKE introduces a reference; CANCEL,
+ * CHECK_IN and CHECK_OUT act on the reservation it created.
+ */
+public final class WorkloadEvent {
+
+    public enum Type {
+        MAKE, CANCEL, CHECK_IN, CHECK_OUT
+    }
+
+    private final long offsetNanos;
+    private final Type type;
+    private final String reference;
+    private final String hotelName;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final RoomKind roomKind;
+
+    private WorkloadEvent(long offsetNanos, Type type, String reference, String hotelName, LocalDate startDate,
+            LocalDate endDate, RoomKind roomKind) {
+        if (offsetNanos < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        if (reference == null || reference.isBlank()) {
+            throw new IllegalArgumentException("Reference cannot be empty");
+        }
+        this.offsetNanos = offsetNanos;
+        this.type = type;
+        this.reference = reference;
+        this.hotelName = hotelName;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.roomKind = roomKind;
+    }
+
+    public static WorkloadEvent make(long offsetNanos, String reference, String hotelName, LocalDate startDate,
+            LocalDate endDate, RoomKind roomKind) {
+        if (hotelName == null || hotelName.isBlank()) {
+            throw new IllegalArgumentException("Hotel name cannot be empty");
+        }
+        if (startDate == null || endDate == null || !endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("Stay must end after it starts");
+        }
+        if (roomKind == null) {
+            throw new IllegalArgumentException("Room kind cannot be null");
+        }
+        return new WorkloadEvent(offsetNanos, Type.MAKE, reference, hotelName, startDate, endDate, roomKind);
+    }
+
+    /**
+     * A CANCEL, CHECK_IN or CHECK_OUT of the reservation made under reference.
+     */
+    public static WorkloadEvent followUp(long offsetNanos, Type type, String reference) {
+        if (type == null || type == Type.MAKE) {
+            throw new IllegalArgumentException("Follow-up must be CANCEL, CHECK_IN or CHECK_OUT");
+        }
+        return new WorkloadEvent(offsetNanos, type, reference, null, null, null, null);
+    }
+
+    /**
+     * Time of the event relative to the start of the workload.
+     */
+    public long getOffsetNanos() {
+        return offsetNanos;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    /**
+     * Hotel of a MAKE; null for follow-ups.
+     */
+    public String getHotelName() {
+        return hotelName;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public RoomKind getRoomKind() {
+        return roomKind;
+    }
+}
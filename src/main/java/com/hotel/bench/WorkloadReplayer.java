@@ -0,0 +1,287 @@
+package com.hotel.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.domain.Address;
+import com.hotel.domain.Guest;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomType;
+import com.hotel.exception.HotelException;
+import com.hotel.metrics.HistogramSnapshot;
+import com.hotel.metrics.LatencyHistogram;
+
+/**
+ * Replays a booking workload against a {@link HotelChain} from a number of
+ * threads and reports throughput, latency percentiles and rejections.
+ * <p>
+ * Events are split between the threads by reference, so every operation on
+ * one reservation runs on one thread in workload order. Closed-loop runs
+ * issue each thread's events back to back. Open-loop runs issue every event
+ * at its offset from the start of the run and measure latency from that
+ * intended time, so a stalled thread shows up as latency of the events
+ * queued behind it instead of as a lower request rate.
+ * <p>
+ * Operations the chain refuses with a {@link HotelException} count as
+ * rejected. Follow-ups of a booking that was rejected are skipped.
+ * <p>
+ * Usage: {@code WorkloadReplayer [--trace=file.csv] [--hotels=100]
+ * [--rooms=100] [--threads=4] [--rate=0] [--events=100000] [--zipf=1.0]
+ * [--lead-days=30] [--cancel=0.2] [--in-flight=1000]}. Without a trace a
+ * {@link SyntheticWorkload} is generated; a positive rate runs it open-loop
+ * at that many events per second. A trace is replayed open-loop at its
+ * recorded timestamps when a positive rate is given, closed-loop otherwise.
+ * The chain is a {@link BenchmarkFixture} with hotels named "Hotel 0",
+ * "Hotel 1", ..., which is what a trace must refer to.
+ */
+public class WorkloadReplayer {
+    private final HotelChain chain;
+    private final ReserverPayer payer;
+    private final Guest guest;
+
+    public WorkloadReplayer(HotelChain chain, ReserverPayer payer, Guest guest) {
+        if (chain == null || payer == null || guest == null) {
+            throw new IllegalArgumentException("Chain, payer and guest cannot be null");
+        }
+        this.chain = chain;
+        this.payer = payer;
+        this.guest = guest;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path trace = null;
+        int hotels = 100;
+        int rooms = 100;
+        int threads = 4;
+        double rate = 0;
+        int events = 100_000;
+        double zipf = 1.0;
+        double leadDays = 30;
+        double cancel = 0.2;
+        int inFlight = 1_000;
+
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            switch (parts[0]) {
+                case "--trace" -> trace = Path.of(parts[1]);
+                case "--hotels" -> hotels = Integer.parseInt(parts[1]);
+                case "--rooms" -> rooms = Integer.parseInt(parts[1]);
+                case "--threads" -> threads = Integer.parseInt(parts[1]);
+                case "--rate" -> rate = Double.parseDouble(parts[1]);
+                case "--events" -> events = Integer.parseInt(parts[1]);
+                case "--zipf" -> zipf = Double.parseDouble(parts[1]);
+                case "--lead-days" -> leadDays = Double.parseDouble(parts[1]);
+                case "--cancel" -> cancel = Double.parseDouble(parts[1]);
+                case "--in-flight" -> inFlight = Integer.parseInt(parts[1]);
+                default -> throw new IllegalArgumentException("Unknown option " + parts[0]);
+            }
+        }
+
+        BenchmarkFixture fixture = new BenchmarkFixture(hotels, rooms, 0, DateDistribution.UNIFORM, 42L);
+        List<WorkloadEvent> workload;
+        if (trace != null) {
+            workload = WorkloadTrace.read(trace);
+        } else {
+            List<String> names = fixture.getHotels().stream().map(Hotel::getName).toList();
+            workload = new SyntheticWorkload(names, List.of(RoomKind.values()), zipf, leadDays, cancel, inFlight, 7L)
+                    .generate(events, rate);
+        }
+        Guest guest = new Guest("Replay Guest", new Address("1 Replay St", "Replayville", "00000"),
+                fixture.getPayer().getId());
+        WorkloadReplayer replayer = new WorkloadReplayer(fixture.getChain(), fixture.getPayer(), guest);
+        System.out.printf("# hotels=%d rooms/hotel=%d threads=%d events=%d %s%n", hotels, rooms, threads,
+                workload.size(), rate > 0 ? "open-loop" : "closed-loop");
+        System.out.println(replayer.run(workload, threads, rate > 0));
+    }
+
+    /**
+     * Replays the events and waits for every thread to finish.
+     *
+     * @param openLoop Issue events at their offsets rather than back to back.
+     */
+    public Report run(List<WorkloadEvent> events, int threads, boolean openLoop) throws InterruptedException {
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        List<List<WorkloadEvent>> shards = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            shards.add(new ArrayList<>());
+        }
+        for (WorkloadEvent event : events) {
+            shards.get(Math.floorMod(event.getReference().hashCode(), threads)).add(event);
+        }
+
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder rejected = new LongAdder();
+        LongAdder skipped = new LongAdder();
+        long start = System.nanoTime();
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            List<WorkloadEvent> shard = shards.get(i);
+            workers.add(Thread.ofPlatform().name("workload-replay-" + i)
+                    .start(() -> replay(shard, start, openLoop, latency, rejected, skipped)));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long nanos = System.nanoTime() - start;
+        return new Report(events.size(), latency.snapshot(), rejected.sum(), skipped.sum(), nanos);
+    }
+
+    private void replay(List<WorkloadEvent> shard, long start, boolean openLoop, LatencyHistogram latency,
+            LongAdder rejected, LongAdder skipped) {
+        // Only this thread sees these references, so a plain map will do
+        Map<String, Booking> bookings = new HashMap<>();
+        for (WorkloadEvent event : shard) {
+            long issued;
+            if (openLoop) {
+                issued = start + event.getOffsetNanos();
+                long wait;
+                while ((wait = issued - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                issued = System.nanoTime();
+            }
+            Booking booking = bookings.get(event.getReference());
+            if (event.getType() != WorkloadEvent.Type.MAKE && booking == null) {
+                skipped.increment();
+                continue;
+            }
+            try {
+                apply(event, booking, bookings);
+            } catch (HotelException e) {
+                rejected.increment();
+            }
+            latency.record(System.nanoTime() - issued);
+        }
+    }
+
+    private void apply(WorkloadEvent event, Booking booking, Map<String, Booking> bookings) {
+        switch (event.getType()) {
+            case MAKE -> {
+                Hotel hotel = chain.getHotel(event.getHotelName())
+                        .orElseThrow(() -> new HotelException("Hotel not found: " + event.getHotelName()));
+                Reservation made = chain.makeReservation(hotel.getName(), event.getStartDate(),
+                        event.getEndDate(), roomType(hotel, event.getRoomKind()), payer);
+                bookings.put(event.getReference(), new Booking(hotel.getName(), made));
+            }
+            case CANCEL -> {
+                bookings.remove(event.getReference());
+                chain.cancelReservation(booking.hotelName, booking.reservation.getReservationNumber());
+            }
+            case CHECK_IN -> chain.checkInGuest(booking.hotelName, booking.reservation.getRoom().getNumber(), guest);
+            case CHECK_OUT -> {
+                bookings.remove(event.getReference());
+                chain.checkOutGuest(booking.hotelName, booking.reservation.getRoom().getNumber());
+            }
+        }
+    }
+
+    private static RoomType roomType(Hotel hotel, RoomKind kind) {
+        for (RoomType type : hotel.getRoomTypes()) {
+            if (type.getKind() == kind) {
+                return type;
+            }
+        }
+        throw new HotelException("No " + kind + " rooms in " + hotel.getName());
+    }
+
+    /**
+     * A reservation made during the replay, with the hotel it was made in.
+     */
+    private static final class Booking {
+        final String hotelName;
+        final Reservation reservation;
+
+        Booking(String hotelName, Reservation reservation) {
+            this.hotelName = hotelName;
+            this.reservation = reservation;
+        }
+    }
+
+    /**
+     * Outcome of one replay.
+     */
+    public static final class Report {
+        private final int events;
+        private final HistogramSnapshot latency;
+        private final long rejected;
+        private final long skipped;
+        private final long nanos;
+
+        Report(int events, HistogramSnapshot latency, long rejected, long skipped, long nanos) {
+            this.events = events;
+            this.latency = latency;
+            this.rejected = rejected;
+            this.skipped = skipped;
+            this.nanos = nanos;
+        }
+
+        public int getEvents() {
+            return events;
+        }
+
+        /**
+         * Events issued to the chain, whether accepted or rejected.
+         */
+        public long getIssued() {
+            return latency.getCount();
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Follow-ups not issued because their booking was rejected.
+         */
+        public long getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * Share of issued events the chain rejected.
+         */
+        public double getRejectionRate() {
+            return latency.getCount() == 0 ? 0 : (double) rejected / latency.getCount();
+        }
+
+        public double getThroughput() {
+            return latency.getCount() * 1_000_000_000.0 / nanos;
+        }
+
+        /**
+         * Latency of every issued event in nanoseconds.
+         */
+        public HistogramSnapshot getLatency() {
+            return latency;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d issued %,.0f ops/s rejected=%.2f%% skipped=%d "
+                    + "p50=%.1fus p90=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+                    getIssued(), getThroughput(), getRejectionRate() * 100, skipped,
+                    latency.valueAtPercentile(50) / 1_000.0, latency.valueAtPercentile(90) / 1_000.0,
+                    latency.valueAtPercentile(99) / 1_000.0, latency.valueAtPercentile(99.9) / 1_000.0,
+                    latency.getMax() / 1_000.0);
+        }
+    }
+}
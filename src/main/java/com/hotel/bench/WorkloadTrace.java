@@ -0,0 +1,101 @@
+package com.hotel.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.hotel.domain.RoomKind;
+
+/**
+ * Reads recorded booking traffic from a CSV trace.
+ * <p>
+ * One event per line, fields separated by commas, blank lines and lines
+ * starting with {@code #} ignored:
+ * <pre>
+ * timestampMillis,MAKE,reference,hotel,startDate,endDate,roomKind
+ * timestampMillis,CANCEL|CHECK_IN|CHECK_OUT,reference
+ * </pre>
+ * Timestamps are in milliseconds on any clock; the earliest one becomes
+ * offset zero. Events are returned in timestamp order, keeping file order
+ * for equal timestamps.
+ */
+public final class WorkloadTrace {
+
+    private WorkloadTrace() {
+    }
+
+    public static List<WorkloadEvent> read(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            List<String[]> rows = new ArrayList<>();
+            List<Long> timestamps = new ArrayList<>();
+            List<Integer> lineNumbers = new ArrayList<>();
+            long first = Long.MAX_VALUE;
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                long timestamp;
+                try {
+                    timestamp = Long.parseLong(fields[0].trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": invalid timestamp " + fields[0]);
+                }
+                first = Math.min(first, timestamp);
+                rows.add(fields);
+                timestamps.add(timestamp);
+                lineNumbers.add(lineNumber);
+            }
+            List<WorkloadEvent> events = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                long offset = TimeUnit.MILLISECONDS.toNanos(timestamps.get(i) - first);
+                try {
+                    events.add(parse(rows.get(i), offset));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Line " + lineNumbers.get(i) + ": " + e.getMessage());
+                }
+            }
+            events.sort(Comparator.comparingLong(WorkloadEvent::getOffsetNanos));
+            return events;
+        }
+    }
+
+    static WorkloadEvent parse(String[] fields, long offsetNanos) {
+        if (fields.length < 3) {
+            throw new IllegalArgumentException("Expected at least timestamp, operation and reference");
+        }
+        WorkloadEvent.Type type;
+        try {
+            type = WorkloadEvent.Type.valueOf(fields[1].trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown operation " + fields[1]);
+        }
+        String reference = fields[2].trim();
+        if (type != WorkloadEvent.Type.MAKE) {
+            if (fields.length != 3) {
+                throw new IllegalArgumentException(type + " expects timestamp, operation and reference");
+            }
+            return WorkloadEvent.followUp(offsetNanos, type, reference);
+        }
+        if (fields.length != 7) {
+            throw new IllegalArgumentException("MAKE expects hotel, start date, end date and room kind");
+        }
+        try {
+            return WorkloadEvent.make(offsetNanos, reference, fields[3].trim(), LocalDate.parse(fields[4].trim()),
+                    LocalDate.parse(fields[5].trim()), RoomKind.valueOf(fields[6].trim()));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date " + e.getParsedString());
+        }
+    }
+}
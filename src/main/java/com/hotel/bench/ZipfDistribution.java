@@ -0,0 +1,52 @@
+package com.hotel.bench;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipfian choice among n ranked items: rank k (from 0) is picked with
+ * probability proportional to 1 / (k + 1)^exponent. An exponent of 0 is
+ * uniform; around 1 the first few items take most of the traffic.
+ * <p>
+ * The cumulative distribution is precomputed, so a sample is one binary
+ * search.
+ */
+public final class ZipfDistribution {
+    private final double[] cumulative;
+
+    public ZipfDistribution(int items, double exponent) {
+        if (items < 1) {
+            throw new IllegalArgumentException("Distribution needs at least one item");
+        }
+        if (exponent < 0 || Double.isNaN(exponent)) {
+            throw new IllegalArgumentException("Exponent cannot be negative");
+        }
+        this.cumulative = new double[items];
+        double total = 0;
+        for (int k = 0; k < items; k++) {
+            total += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < items; k++) {
+            cumulative[k] /= total;
+        }
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+
+    /**
+     * Probability of picking the given rank.
+     */
+    public double probability(int rank) {
+        return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+    }
+
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        // Rounding can leave the last cumulative value a hair below 1
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
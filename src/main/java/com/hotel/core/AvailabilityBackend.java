@@ -0,0 +1,12 @@
+package com.hotel.core;
+
+/**
+ * Structure a {@link Hotel} consults to decide whether a room is free for a
+ * range of dates.
+ */
+public enum AvailabilityBackend {
+    /** Sorted interval set per room; exact for stays of any length. */
+    INTERVAL_SCHEDULE,
+    /** One bit per night per room; cheap range tests and grid queries. */
+    BITMAP_CALENDAR;
+}
@@ -0,0 +1,45 @@
+package com.hotel.core;
+
+import com.hotel.domain.Guest;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.Room;
+
+/**
+ * Receives every state change of a {@link HotelChain} as it is applied.
+ * <p>
+ * Callbacks run on the mutating thread while the affected room is still
+ * locked, so for any one room they arrive in the order the changes happened.
+ * They must be quick and must not call back into the chain.
+ * {@link #afterMutation()} runs once the chain operation has returned from
+ * its locks, and is the place to block (for example, to wait for a flush).
+ * <p>
+ * A callback that throws does not undo the change it reports: the change
+ * has already been applied in memory and stays applied, and the exception
+ * reaches the caller of the chain operation, which therefore fails although
+ * it took effect. Only a group reservation is rolled back as a whole.
+ */
+public interface ChainMutationListener {
+
+    default void payerCreated(ReserverPayer payer) {
+    }
+
+    default void reservationCreated(Hotel hotel, Reservation reservation) {
+    }
+
+    default void reservationCancelled(Hotel hotel, Reservation reservation) {
+    }
+
+    default void guestCheckedIn(Hotel hotel, Room room, Guest guest) {
+    }
+
+    default void guestCheckedOut(Hotel hotel, Room room) {
+    }
+
+    /**
+     * Called on the mutating thread after a successful chain operation, with
+     * no locks held.
+     */
+    default void afterMutation() {
+    }
+}
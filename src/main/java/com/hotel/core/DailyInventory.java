@@ -0,0 +1,168 @@
+package com.hotel.core;
+
+import java.util.Arrays;
+
+/**
+ * Booked-room counters for one room type, one counter per night keyed by
+ * epoch day. Remaining inventory for a night is the number of rooms of the
+ * type minus the stays covering that night, so single-night queries are O(1)
+ * and stay queries are O(nights).
+ * <p>
+ * The counters track dates only. A room that is RESERVED or OCCUPIED for
+ * other dates still counts as inventory here, so the counts are an upper
+ * bound on what {@link Hotel#available} will accept. That is what makes them
+ * safe as a fast reject path. Not thread-safe; the owning hotel guards it with
+ * the room type's lock.
+ * <p>
+ * The counters live in one array spanning the earliest to the latest night
+ * ever booked, so it is limited to {@link #MAX_SPAN_DAYS} nights; a booking
+ * or query beyond that is rejected rather than allocating a huge array.
+ */
+public class DailyInventory {
+    /**
+     * Widest range of nights the counters, or a single query, may span.
+     */
+    public static final int MAX_SPAN_DAYS = 1 << 15;
+
+    private static final int INITIAL_DAYS = 512;
+
+    private int capacity;
+    private long baseDay;
+    private int[] booked;
+
+    public DailyInventory() {
+        this.baseDay = Long.MIN_VALUE;
+    }
+
+    /**
+     * Number of rooms of the type, the inventory of a night with no stays.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Counts a stay covering the nights [startDay, endDay).
+     *
+     * @throws IllegalArgumentException if the counters would then span more
+     *                                  than {@link #MAX_SPAN_DAYS} nights.
+     */
+    public void book(long startDay, long endDay) {
+        if (endDay <= startDay) {
+            return;
+        }
+        ensureCovers(startDay, endDay);
+        for (long day = startDay; day < endDay; day++) {
+            booked[Math.toIntExact(day - baseDay)]++;
+        }
+    }
+
+    /**
+     * Returns true if {@link #book} would accept the nights [startDay, endDay).
+     */
+    public boolean canBook(long startDay, long endDay) {
+        if (endDay <= startDay) {
+            return true;
+        }
+        long from = booked == null ? startDay : Math.min(startDay, baseDay);
+        long to = booked == null ? endDay : Math.max(endDay, baseDay + booked.length);
+        return spanWithinLimit(from, to);
+    }
+
+    /**
+     * Removes a stay previously counted with {@link #book(long, long)}.
+     */
+    public void release(long startDay, long endDay) {
+        if (booked == null || endDay <= startDay) {
+            return;
+        }
+        for (long day = Math.max(startDay, baseDay); day < Math.min(endDay, baseDay + booked.length); day++) {
+            int index = Math.toIntExact(day - baseDay);
+            if (booked[index] > 0) {
+                booked[index]--;
+            }
+        }
+    }
+
+    public int remaining(long day) {
+        return capacity - booked(day);
+    }
+
+    /**
+     * Lowest remaining inventory over the nights [startDay, endDay), or the
+     * full capacity for a stay without nights.
+     */
+    public int minRemaining(long startDay, long endDay) {
+        checkQuery(startDay, endDay);
+        int maxBooked = 0;
+        for (long day = startDay; day < endDay; day++) {
+            maxBooked = Math.max(maxBooked, booked(day));
+        }
+        return capacity - maxBooked;
+    }
+
+    /**
+     * Remaining inventory for each night of [startDay, endDay).
+     */
+    public int[] remaining(long startDay, long endDay) {
+        checkQuery(startDay, endDay);
+        int[] result = new int[Math.toIntExact(Math.max(0, endDay - startDay))];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = remaining(startDay + i);
+        }
+        return result;
+    }
+
+    private int booked(long day) {
+        if (booked == null || day < baseDay || day >= baseDay + booked.length) {
+            return 0;
+        }
+        return booked[Math.toIntExact(day - baseDay)];
+    }
+
+    private static void checkQuery(long startDay, long endDay) {
+        if (endDay > startDay && !spanWithinLimit(startDay, endDay)) {
+            throw new IllegalArgumentException("Range cannot exceed " + MAX_SPAN_DAYS + " nights");
+        }
+    }
+
+    private static boolean spanWithinLimit(long fromDay, long toDay) {
+        try {
+            return Math.subtractExact(toDay, fromDay) <= MAX_SPAN_DAYS;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    private void ensureCovers(long startDay, long endDay) {
+        if (!canBook(startDay, endDay)) {
+            throw new IllegalArgumentException("Booked nights cannot span more than " + MAX_SPAN_DAYS + " nights");
+        }
+        if (booked == null) {
+            baseDay = startDay;
+            booked = new int[Math.toIntExact(Math.min(Math.max(INITIAL_DAYS, endDay - startDay), MAX_SPAN_DAYS))];
+            return;
+        }
+        if (startDay < baseDay) {
+            // Grow by at least half, but never past the limit
+            long room = MAX_SPAN_DAYS - booked.length;
+            int extra = Math.toIntExact(Math.min(Math.max(baseDay - startDay, booked.length / 2), room));
+            int[] grown = new int[booked.length + extra];
+            System.arraycopy(booked, 0, grown, extra, booked.length);
+            booked = grown;
+            baseDay -= extra;
+        }
+        long needed = endDay - baseDay;
+        if (needed > booked.length) {
+            booked = Arrays.copyOf(booked, Math.toIntExact(Math.min(Math.max(needed, (long) booked.length * 2),
+                    MAX_SPAN_DAYS)));
+        }
+    }
+}
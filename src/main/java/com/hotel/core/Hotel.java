@@ -1,30 +1,117 @@
 package com.hotel.core;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 
+import com.hotel.domain.Guest;
+import com.hotel.domain.Money;
+import com.hotel.domain.OccupancyCalendar;
 import com.hotel.domain.Reservation;
 import com.hotel.domain.ReserverPayer;
 import com.hotel.domain.Room;
 import com.hotel.domain.RoomType;
 import com.hotel.exception.HotelException;
+import com.hotel.metrics.BookingMetrics;
+import com.hotel.metrics.Operation;
+import com.hotel.util.IntHashMap;
+import com.hotel.util.TimingWheel;
 import com.hotel.domain.RoomState;
 
+/**
+ * A single property and its reservations.
+ * <p>
+ * Hotel is safe for concurrent use. Rooms are striped by {@link RoomType}:
+ * every booking decision for a type runs under that type's lock, so two
+ * threads can never reserve the same room, while bookings for different
+ * types proceed in parallel. The shared reservation index is guarded by its
+ * own monitor and is only held for the index update itself.
+ */
 public class Hotel {
+    // Holds expire on a wheel of 10 ms ticks, about 41 s per revolution
+    static final long HOLD_TICK_MILLIS = 10;
+    static final int HOLD_WHEEL_SIZE = 4096;
+
+    /**
+     * Longest stay accepted by availability checks and bookings, in nights.
+     * Checking a stay costs time per night under the room type's lock, so
+     * an unbounded stay would stall every booking of the type.
+     */
+    public static final int MAX_STAY_NIGHTS = 365;
+
     private final String name;
+    private final AvailabilityBackend backend;
     private final List<Room> rooms;
-    private final List<Reservation> reservations;
+    // Rooms indexed by number; the first room added with a number wins.
+    // Guarded by its own monitor.
+    private final IntHashMap<Room> roomsByNumber;
+    // Reservations indexed by number, so lookup and cancellation are O(1).
+    // Guarded by its own monitor; always acquired after a type stripe lock.
+    private final IntHashMap<Reservation> reservations;
+    // The same reservations ordered by arrival and by departure date, keyed
+    // by dateKey so that equal dates still give distinct keys. Guarded by
+    // the monitor of reservations.
+    private final NavigableMap<Long, Reservation> byArrival;
+    private final NavigableMap<Long, Reservation> byDeparture;
+    // One stripe per room type of this hotel, sorted by RoomType id, so
+    // finding a type's rooms is a binary search over a few entries and the
+    // table stays as small as the hotel however many types the process has
+    // seen. Replaced as a whole under stripesGuard when a type is added.
+    private volatile TypeStripe[] stripes;
+    private final Object stripesGuard;
+    private final ReservationNumberAllocator numbers;
+    private volatile ChainMutationListener listener;
+    // Null until the hotel joins a chain
+    private volatile BookingMetrics metrics;
+    private volatile PayerIndex payerIndex;
+    // Expiry schedule of active holds, created with the first hold. Guarded
+    // by holdGuard, which is only ever taken after a type stripe lock.
+    private TimingWheel<RoomHold> holdWheel;
+    private final Object holdGuard = new Object();
+    // Earliest time the wheel has a hold to expire, or a little before it after
+    // a cancellation; MAX_VALUE while no hold is active
+    private volatile long holdsDueMillis = Long.MAX_VALUE;
+    private volatile Clock clock = Clock.systemUTC();
 
     public Hotel(String name) {
+        this(name, AvailabilityBackend.INTERVAL_SCHEDULE);
+    }
+
+    public Hotel(String name, AvailabilityBackend backend) {
         if (name == null || name.isBlank()) {
             throw new IllegalArgumentException("Hotel name cannot be empty");
         }
+        if (backend == null) {
+            throw new IllegalArgumentException("Availability backend cannot be null");
+        }
         this.name = name;
-        this.rooms = new ArrayList<>();
-        this.reservations = new ArrayList<>();
+        this.backend = backend;
+        this.rooms = new CopyOnWriteArrayList<>();
+        this.roomsByNumber = new IntHashMap<>();
+        this.reservations = new IntHashMap<>();
+        this.byArrival = new TreeMap<>();
+        this.byDeparture = new TreeMap<>();
+        this.stripes = new TypeStripe[0];
+        this.stripesGuard = new Object();
+        this.numbers = new ReservationNumberAllocator(new ReservationNumberSequence(), 1);
+        this.listener = new ChainMutationListener() {
+        };
     }
 
     public void addRoom(Room room) {
@@ -32,46 +119,387 @@ public class Hotel {
             throw new IllegalArgumentException("Room cannot be null");
         }
         rooms.add(room);
+        synchronized (roomsByNumber) {
+            roomsByNumber.putIfAbsent(room.getNumber(), room);
+        }
+        TypeStripe stripe = stripeOrCreate(room.getRoomType());
+        stripe.lock.lock();
+        try {
+            stripe.rooms.add(room);
+            stripe.inventory.setCapacity(stripe.rooms.size());
+        } finally {
+            stripe.lock.unlock();
+        }
     }
 
     public List<Room> getRooms() {
         return Collections.unmodifiableList(rooms);
     }
 
+    /**
+     * The distinct room types of this hotel, in type id order.
+     */
+    public List<RoomType> getRoomTypes() {
+        List<RoomType> types = new ArrayList<>();
+        for (TypeStripe stripe : stripes) {
+            types.add(stripe.type);
+        }
+        return types;
+    }
+
+    public Optional<Room> getRoom(int number) {
+        synchronized (roomsByNumber) {
+            return Optional.ofNullable(roomsByNumber.get(number));
+        }
+    }
+
+    /**
+     * Returns the current reservations ordered by reservation number.
+     */
     public List<Reservation> getReservations() {
-        return Collections.unmodifiableList(reservations);
+        List<Reservation> result;
+        synchronized (reservations) {
+            result = reservations.values();
+        }
+        result.sort(Comparator.comparingInt(Reservation::getReservationNumber));
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Reservations arriving on a night in [from, to), ordered by arrival
+     * date and then by reservation number. Costs O(log n + k) for k results.
+     */
+    public List<Reservation> getArrivals(LocalDate from, LocalDate to) {
+        return dateWindow(byArrival, from, to);
+    }
+
+    /**
+     * Reservations departing on a day in [from, to), ordered by departure
+     * date and then by reservation number. Costs O(log n + k) for k results.
+     */
+    public List<Reservation> getDepartures(LocalDate from, LocalDate to) {
+        return dateWindow(byDeparture, from, to);
+    }
+
+    private List<Reservation> dateWindow(NavigableMap<Long, Reservation> index, LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (!to.isAfter(from)) {
+            return List.of();
+        }
+        synchronized (reservations) {
+            return List.copyOf(index.subMap(dateKey(from, 0), true, dateKey(to, 0), false).values());
+        }
+    }
+
+    /**
+     * Sorts by date, then by reservation number, which fills the low half as
+     * an unsigned int.
+     */
+    private static long dateKey(LocalDate date, int reservationNumber) {
+        return (date.toEpochDay() << 32) | (reservationNumber & 0xFFFF_FFFFL);
+    }
+
+    public Optional<Reservation> getReservation(int reservationNumber) {
+        synchronized (reservations) {
+            return Optional.ofNullable(reservations.get(reservationNumber));
+        }
     }
 
     public String getName() {
         return name;
     }
 
+    public AvailabilityBackend getAvailabilityBackend() {
+        return backend;
+    }
+
+    /**
+     * Sets how many reservation numbers this hotel takes from the shared
+     * sequence at a time. Larger blocks suit busy hotels.
+     */
+    public void setReservationNumberBlockSize(int blockSize) {
+        numbers.setBlockSize(blockSize);
+    }
+
+    /**
+     * Draws future reservation numbers from the given chain-wide sequence.
+     */
+    void bindReservationNumbers(ReservationNumberSequence sequence) {
+        numbers.rebind(sequence);
+    }
+
+    /**
+     * Reports reservation changes of this hotel to the owning chain.
+     */
+    void setMutationListener(ChainMutationListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Records availability checks in the owning chain's metrics.
+     */
+    void setMetrics(BookingMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Keeps the owning chain's payer index in step with this hotel's
+     * reservations, starting with the ones it already has.
+     */
+    void setPayerIndex(PayerIndex index) {
+        this.payerIndex = index;
+        List<TypeStripe> locked = lockAllStripes();
+        try {
+            List<Reservation> current;
+            synchronized (reservations) {
+                current = reservations.values();
+            }
+            for (Reservation reservation : current) {
+                index.add(this, reservation);
+            }
+        } finally {
+            unlockAll(locked);
+        }
+    }
+
     /**
      * Checks if a room of the given type is available for the given dates.
      * Availability requires checking both date overlaps and current room state.
+     * Every call is recorded in the chain's metrics.
      */
     public boolean available(LocalDate startDate, LocalDate endDate, RoomType roomType) {
-        return rooms.stream()
-                .filter(room -> room.getRoomType().equals(roomType))
-                .anyMatch(room -> isRoomAvailable(room, startDate, endDate));
+        BookingMetrics recorder = metrics;
+        long started = recorder == null ? BookingMetrics.DISABLED : recorder.start();
+        boolean found = hasAvailableRoom(startDate, endDate, roomType);
+        if (recorder != null) {
+            recorder.succeeded(Operation.AVAILABILITY, started);
+        }
+        return found;
     }
 
-    private boolean isRoomAvailable(Room room, LocalDate startDate, LocalDate endDate) {
-        // Check 1: Overlap with existing reservations for this room
-        for (Reservation res : reservations) {
-            if (res.getRoom().equals(room)) {
-                // If requested dates overlap with an existing reservation
-                // Standard overlap condition: (StartA < EndB) and (EndA > StartB)
-                // Assuming start date is inclusive and end date is exclusive (or checkout
-                // morning)
+    /**
+     * The check of {@link #available} without recording it, for callers
+     * that check on the way to a booking recorded as such.
+     */
+    boolean hasAvailableRoom(LocalDate startDate, LocalDate endDate, RoomType roomType) {
+        checkStay(startDate, endDate);
+        expireHolds();
+        TypeStripe stripe = stripeFor(roomType);
+        if (stripe == null) {
+            return false;
+        }
+        stripe.lock.lock();
+        try {
+            return findAvailableRoom(stripe, startDate, endDate) != null;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Counts the rooms of the given type that could be reserved for the dates.
+     */
+    public int availableCount(LocalDate startDate, LocalDate endDate, RoomType roomType) {
+        checkStay(startDate, endDate);
+        expireHolds();
+        TypeStripe stripe = stripeFor(roomType);
+        return stripe == null ? 0 : countAvailable(stripe, startDate, endDate);
+    }
+
+    /**
+     * Counts reservable rooms for the dates, per room type of this hotel.
+     * Types with no reservable room are included with a count of zero.
+     */
+    public Map<RoomType, Integer> availableCounts(LocalDate startDate, LocalDate endDate) {
+        checkStay(startDate, endDate);
+        expireHolds();
+        Map<RoomType, Integer> counts = new LinkedHashMap<>();
+        for (TypeStripe stripe : stripes) {
+            counts.put(stripe.type, countAvailable(stripe, startDate, endDate));
+        }
+        return counts;
+    }
 
-                // If the user wants STRICT day overlap:
-                // [10, 12] overlaps [11, 13]? Yes.
-                // 10 < 13 && 12 > 11. True.
-                if (startDate.isBefore(res.getEndDate()) && endDate.isAfter(res.getStartDate())) {
-                    return false;
+    private int countAvailable(TypeStripe stripe, LocalDate startDate, LocalDate endDate) {
+        stripe.lock.lock();
+        try {
+            int count = 0;
+            for (Room room : stripe.rooms) {
+                if (isRoomAvailable(stripe, room, startDate, endDate)) {
+                    count++;
                 }
             }
+            return count;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Rooms of the given type not covered by a stay on the given night. O(1).
+     */
+    public int remainingInventory(LocalDate night, RoomType roomType) {
+        if (night == null) {
+            throw new IllegalArgumentException("Night cannot be null");
+        }
+        expireHolds();
+        TypeStripe stripe = stripeFor(roomType);
+        if (stripe == null) {
+            return 0;
+        }
+        stripe.lock.lock();
+        try {
+            return stripe.inventory.remaining(night.toEpochDay());
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Remaining inventory of the given type for each night of [startDate, endDate).
+     */
+    public int[] remainingInventory(LocalDate startDate, LocalDate endDate, RoomType roomType) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        expireHolds();
+        TypeStripe stripe = stripeFor(roomType);
+        if (stripe == null) {
+            return new int[(int) Math.max(0, endDate.toEpochDay() - startDate.toEpochDay())];
+        }
+        stripe.lock.lock();
+        try {
+            return stripe.inventory.remaining(startDate.toEpochDay(), endDate.toEpochDay());
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Cheap pre-check against the per-night counters. A false result means
+     * {@link #available} is certainly false; a true result still needs the
+     * full check, because the counters ignore current room state.
+     */
+    public boolean hasInventory(LocalDate startDate, LocalDate endDate, RoomType roomType) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        expireHolds();
+        TypeStripe stripe = stripeFor(roomType);
+        if (stripe == null) {
+            return false;
+        }
+        stripe.lock.lock();
+        try {
+            return stripe.inventory.minRemaining(startDate.toEpochDay(), endDate.toEpochDay()) > 0;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the nights of [startDate, endDate) on which at least one room of
+     * the given type is free, as bit offsets from startDate. With the bitmap
+     * backend this ORs the rooms' calendars a word (64 nights) at a time.
+     */
+    public BitSet nightsWithAvailability(LocalDate startDate, LocalDate endDate, RoomType roomType) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        expireHolds();
+        int nights = (int) Math.max(0, endDate.toEpochDay() - startDate.toEpochDay());
+        long[] free = new long[(nights + 63) >>> 6];
+        TypeStripe stripe = stripeFor(roomType);
+        if (stripe == null || nights == 0) {
+            return BitSet.valueOf(free);
+        }
+        long startDay = startDate.toEpochDay();
+        stripe.lock.lock();
+        try {
+            for (Room room : stripe.rooms) {
+                if (room.getState() != RoomState.FREE || stripe.isHeld(room)) {
+                    continue;
+                }
+                if (backend == AvailabilityBackend.BITMAP_CALENDAR) {
+                    room.getCalendar().orFreeNights(startDay, nights, free);
+                } else {
+                    for (int i = 0; i < nights; i++) {
+                        LocalDate night = startDate.plusDays(i);
+                        if (room.getSchedule().isFree(night, night.plusDays(1))) {
+                            free[i >>> 6] |= 1L << i;
+                        }
+                    }
+                }
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        return BitSet.valueOf(free);
+    }
+
+    /**
+     * Charges rate for each night of [startDate, endDate) in rooms of the
+     * given type, instead of the type's flat cost.
+     */
+    public void setNightlyRate(RoomType roomType, LocalDate startDate, LocalDate endDate, Money rate) {
+        rateCalendar(roomType).setRate(startDate, endDate, rate);
+    }
+
+    /**
+     * Returns the nights of [startDate, endDate) to the type's flat cost.
+     */
+    public void clearNightlyRate(RoomType roomType, LocalDate startDate, LocalDate endDate) {
+        rateCalendar(roomType).clearRate(startDate, endDate);
+    }
+
+    /**
+     * Prices the stay in the room {@link #createReservation} would assign
+     * for these dates right now, or returns empty if no room is available.
+     * The price itself is O(1) in the length of the stay.
+     */
+    public Optional<Money> quote(LocalDate startDate, LocalDate endDate, RoomType roomType) {
+        expireHolds();
+        TypeStripe stripe = stripeFor(roomType);
+        if (stripe == null) {
+            return Optional.empty();
+        }
+        stripe.lock.lock();
+        try {
+            if (findAvailableRoom(stripe, startDate, endDate) == null) {
+                return Optional.empty();
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        return Optional.of(stripe.rates.price(startDate, endDate));
+    }
+
+    private RateCalendar rateCalendar(RoomType roomType) {
+        if (roomType == null) {
+            throw new IllegalArgumentException("Room type cannot be null");
+        }
+        TypeStripe stripe = stripeFor(roomType);
+        if (stripe == null) {
+            throw new HotelException("No room of type " + roomType.getKind() + " in " + name + ".");
+        }
+        return stripe.rates;
+    }
+
+    private Room findAvailableRoom(TypeStripe stripe, LocalDate startDate, LocalDate endDate) {
+        for (Room room : stripe.rooms) {
+            if (isRoomAvailable(stripe, room, startDate, endDate)) {
+                return room;
+            }
+        }
+        return null;
+    }
+
+    private boolean isRoomAvailable(TypeStripe stripe, Room room, LocalDate startDate, LocalDate endDate) {
+        // Check 1: Overlap with existing reservations for this room
+        if (!datesFree(room, startDate, endDate)) {
+            return false;
         }
 
         // Check 2: Current Room State
@@ -85,41 +513,840 @@ public class Hotel {
             return false;
         }
 
-        return true;
+        // Check 3: A held room is kept for its holder, whatever the dates,
+        // so that confirming the hold can always reserve it
+        return !stripe.isHeld(room);
+    }
+
+    private boolean datesFree(Room room, LocalDate startDate, LocalDate endDate) {
+        // The room's schedule holds every reservation made for it as a sorted,
+        // non-overlapping interval set, so this is a single floor lookup
+        // instead of a scan over all reservations of the hotel. The bitmap
+        // backend answers the same question with a range-of-bits test.
+        return backend == AvailabilityBackend.BITMAP_CALENDAR
+                ? room.getCalendar().isFree(startDate, endDate)
+                : room.getSchedule().isFree(startDate, endDate);
     }
 
     public Reservation createReservation(LocalDate startDate, LocalDate endDate, RoomType roomType,
             ReserverPayer payer) {
-        Optional<Room> availableRoom = rooms.stream()
-                .filter(room -> room.getRoomType().equals(roomType))
-                .filter(room -> isRoomAvailable(room, startDate, endDate))
-                .findFirst();
-
-        if (availableRoom.isEmpty()) {
+        checkStay(startDate, endDate);
+        expireHolds();
+        TypeStripe stripe = stripeFor(roomType);
+        if (stripe == null) {
             throw new HotelException("No available room of type " + roomType.getKind() + " for the given dates.");
         }
 
-        Room room = availableRoom.get();
-        // Generate a reservation number (1-based index)
-        int resNum = reservations.size() + 1;
+        // Check-then-act runs entirely under the type lock, so a room chosen
+        // here cannot be taken by a concurrent booking.
+        stripe.lock.lock();
+        try {
+            Room room = findAvailableRoom(stripe, startDate, endDate);
+            if (room == null) {
+                throw new HotelException("No available room of type " + roomType.getKind() + " for the given dates.");
+            }
+
+            return reserve(stripe, room, startDate, endDate, payer);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Books many stays in one call. Requests are grouped by room type and
+     * each group is resolved under a single acquisition of the type's lock,
+     * against one pass over its free rooms. A request that cannot be
+     * satisfied yields a failed result instead of an exception; results are
+     * returned in request order. The hotel name of each request is not
+     * checked here; {@link HotelChain#makeReservations} routes by it.
+     */
+    public List<ReservationResult> createReservations(List<ReservationRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Requests cannot be null");
+        }
+        expireHolds();
+        ReservationResult[] results = new ReservationResult[requests.size()];
+        Map<RoomType, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ReservationRequest request = requests.get(i);
+            if (request == null) {
+                throw new IllegalArgumentException("Request cannot be null");
+            }
+            if (nights(request.getStartDate(), request.getEndDate()) > MAX_STAY_NIGHTS) {
+                results[i] = ReservationResult.failure(request, "Stay cannot exceed " + MAX_STAY_NIGHTS + " nights.");
+                continue;
+            }
+            groups.computeIfAbsent(request.getRoomType(), type -> new ArrayList<>()).add(i);
+        }
+
+        for (Map.Entry<RoomType, List<Integer>> group : groups.entrySet()) {
+            TypeStripe stripe = stripeFor(group.getKey());
+            if (stripe == null) {
+                for (int i : group.getValue()) {
+                    results[i] = ReservationResult.failure(requests.get(i), "No room of type "
+                            + group.getKey().getKind() + " in " + name + ".");
+                }
+                continue;
+            }
+            stripe.lock.lock();
+            try {
+                // Rooms can only leave FREE by being reserved, which needs this lock
+                List<Room> candidates = new ArrayList<>();
+                for (Room room : stripe.rooms) {
+                    if (room.getState() == RoomState.FREE && !stripe.isHeld(room)) {
+                        candidates.add(room);
+                    }
+                }
+                for (int i : group.getValue()) {
+                    ReservationRequest request = requests.get(i);
+                    Room chosen = null;
+                    Iterator<Room> it = candidates.iterator();
+                    while (it.hasNext()) {
+                        Room room = it.next();
+                        if (datesFree(room, request.getStartDate(), request.getEndDate())) {
+                            chosen = room;
+                            it.remove();
+                            break;
+                        }
+                    }
+                    if (chosen == null) {
+                        results[i] = ReservationResult.failure(request, "No available room of type "
+                                + group.getKey().getKind() + " for the given dates.");
+                        continue;
+                    }
+                    try {
+                        results[i] = ReservationResult.success(request, reserve(stripe, chosen,
+                                request.getStartDate(), request.getEndDate(), request.getPayer()));
+                    } catch (HotelException e) {
+                        results[i] = ReservationResult.failure(request, e.getMessage());
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Reserves rooms for a group, all or nothing: the given number of rooms of
+     * each type, all for the same dates and payer. Only the stripes of the
+     * requested types are locked, in room type id order, so bookings of other
+     * types proceed and no lock order cycle can form. Every room is chosen
+     * before any is reserved; if a type is short, nothing is booked.
+     *
+     * @param roomCounts Rooms wanted per room type; every count positive.
+     * @return The reservations, grouped by type in the map's iteration order.
+     * @throws HotelException if the group cannot be accommodated in full.
+     */
+    public List<Reservation> createGroupReservation(LocalDate startDate, LocalDate endDate,
+            Map<RoomType, Integer> roomCounts, ReserverPayer payer) {
+        checkStay(startDate, endDate);
+        if (roomCounts == null || roomCounts.isEmpty()) {
+            throw new IllegalArgumentException("Group must request at least one room");
+        }
+        expireHolds();
+        List<TypeStripe> involved = new ArrayList<>(roomCounts.size());
+        for (Map.Entry<RoomType, Integer> entry : roomCounts.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null || entry.getValue() < 1) {
+                throw new IllegalArgumentException("Each room type needs a positive count");
+            }
+            TypeStripe stripe = stripeFor(entry.getKey());
+            if (stripe == null) {
+                throw new HotelException("No room of type " + entry.getKey().getKind() + " in " + name + ".");
+            }
+            involved.add(stripe);
+        }
+        List<TypeStripe> ordered = new ArrayList<>(involved);
+        ordered.sort(Comparator.comparingInt(stripe -> stripe.typeId));
+
+        // Map keys are distinct types, and distinct types never share a stripe
+        List<TypeStripe> locked = new ArrayList<>(ordered.size());
+        try {
+            for (TypeStripe stripe : ordered) {
+                stripe.lock.lock();
+                locked.add(stripe);
+            }
+            List<Room> chosen = new ArrayList<>();
+            List<TypeStripe> chosenStripes = new ArrayList<>();
+            int index = 0;
+            for (Map.Entry<RoomType, Integer> entry : roomCounts.entrySet()) {
+                TypeStripe stripe = involved.get(index++);
+                int wanted = entry.getValue();
+                for (Room room : stripe.rooms) {
+                    if (wanted == 0) {
+                        break;
+                    }
+                    if (isRoomAvailable(stripe, room, startDate, endDate)) {
+                        chosen.add(room);
+                        chosenStripes.add(stripe);
+                        wanted--;
+                    }
+                }
+                if (wanted > 0) {
+                    throw new HotelException("Only " + (entry.getValue() - wanted) + " of " + entry.getValue()
+                            + " rooms of type " + entry.getKey().getKind() + " available for the group.");
+                }
+            }
+
+            List<Reservation> group = new ArrayList<>(chosen.size());
+            for (Room room : chosen) {
+                group.add(new Reservation(numbers.next(), startDate, endDate, payer, room));
+            }
+            int done = 0;
+            try {
+                for (; done < group.size(); done++) {
+                    book(chosenStripes.get(done), chosen.get(done), group.get(done));
+                }
+            } catch (RuntimeException e) {
+                // Undo in reverse, including whatever part of the failed
+                // booking was applied before it threw. A listener failure
+                // must not stop the undo, so it is only attached to e.
+                for (int i = done; i >= 0; i--) {
+                    Reservation res = group.get(i);
+                    synchronized (res.getRoom()) {
+                        // Under the stripe lock only this group can have reserved the room
+                        if (res.getRoom().getState() == RoomState.RESERVED) {
+                            res.getRoom().cancelReservation();
+                            try {
+                                listener.reservationCancelled(this, res);
+                            } catch (RuntimeException listenerFailure) {
+                                e.addSuppressed(listenerFailure);
+                            }
+                        }
+                    }
+                    boolean recorded;
+                    synchronized (reservations) {
+                        recorded = reservations.get(res.getReservationNumber()) == res;
+                    }
+                    if (recorded) {
+                        releaseStay(chosenStripes.get(i), res);
+                    }
+                }
+                throw e;
+            }
+            return group;
+        } finally {
+            unlockAll(locked);
+        }
+    }
+
+    /**
+     * Rejects a stay without nights or longer than {@link #MAX_STAY_NIGHTS}.
+     */
+    private static void checkStay(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (!endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        if (nights(startDate, endDate) > MAX_STAY_NIGHTS) {
+            throw new IllegalArgumentException("Stay cannot exceed " + MAX_STAY_NIGHTS + " nights");
+        }
+    }
 
-        Reservation reservation = new Reservation(resNum, startDate, endDate, payer, room);
-        reservations.add(reservation);
+    private static long nights(LocalDate startDate, LocalDate endDate) {
+        return endDate.toEpochDay() - startDate.toEpochDay();
+    }
+
+    /**
+     * Reserves a room already chosen as available. The caller holds the lock
+     * of the room's type stripe.
+     */
+    private Reservation reserve(TypeStripe stripe, Room room, LocalDate startDate, LocalDate endDate,
+            ReserverPayer payer) {
+        // Numbers come from a monotonic sequence and are never reused
+        return book(stripe, room, new Reservation(numbers.next(), startDate, endDate, payer, room));
+    }
+
+    private Reservation book(TypeStripe stripe, Room room, Reservation reservation) {
+        recordStay(stripe, reservation);
 
         // Update Room State (This is the critical strict UML step)
-        // This will transition the room from FREE to RESERVED.
-        room.makeReservation();
+        // This will transition the room from FREE to RESERVED. The listener
+        // is told under the room's monitor so a check-in on this room cannot
+        // be reported ahead of the reservation.
+        synchronized (room) {
+            room.makeReservation();
+            listener.reservationCreated(this, reservation);
+        }
 
         return reservation;
     }
 
+    /**
+     * Enters a reservation into the room's dates, the index and the per-night
+     * counters, without touching the room's state. The caller holds the lock
+     * of the room's type stripe.
+     */
+    private void recordStay(TypeStripe stripe, Reservation reservation) {
+        LocalDate startDate = reservation.getStartDate();
+        LocalDate endDate = reservation.getEndDate();
+        // The inventory refuses nights too far from those already booked, so
+        // it goes first, before anything that would need undoing
+        stripe.inventory.book(startDate.toEpochDay(), endDate.toEpochDay());
+        try {
+            bookNights(reservation.getRoom(), startDate, endDate);
+        } catch (RuntimeException e) {
+            stripe.inventory.release(startDate.toEpochDay(), endDate.toEpochDay());
+            throw e;
+        }
+        int number = reservation.getReservationNumber();
+        synchronized (reservations) {
+            reservations.put(number, reservation);
+            byArrival.put(dateKey(startDate, number), reservation);
+            byDeparture.put(dateKey(endDate, number), reservation);
+        }
+        PayerIndex index = payerIndex;
+        if (index != null) {
+            index.add(this, reservation);
+        }
+    }
+
+    /**
+     * Re-creates a reservation with a known number, as recorded by a journal
+     * or snapshot. The room must be FREE and its dates unbooked. Future
+     * reservation numbers are advanced past the restored one.
+     */
+    public Reservation restoreReservation(int reservationNumber, LocalDate startDate, LocalDate endDate,
+            int roomNumber, ReserverPayer payer) {
+        Room room = getRoom(roomNumber)
+                .orElseThrow(() -> new HotelException("Room " + roomNumber + " not found in " + name));
+        TypeStripe stripe = stripeFor(room.getRoomType());
+        stripe.lock.lock();
+        try {
+            synchronized (reservations) {
+                if (reservations.containsKey(reservationNumber)) {
+                    throw new HotelException("Reservation #" + reservationNumber + " already exists.");
+                }
+            }
+            if (!isRoomAvailable(stripe, room, startDate, endDate)) {
+                throw new HotelException("Room " + roomNumber + " is not available for restored reservation #"
+                        + reservationNumber + ".");
+            }
+            numbers.advancePast(reservationNumber);
+            return book(stripe, room, new Reservation(reservationNumber, startDate, endDate, payer, room));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Copies the rooms, their states and the reservations of this hotel as
+     * one consistent image. All room type locks are held while the references
+     * are copied, so bookings pause only for the copy and not while the image
+     * is written out. Rooms keep the order they were added in; reservations
+     * come in the table order of the number-keyed index, which is no
+     * particular order, so sort them by number if order matters.
+     */
+    public HotelImage captureImage() {
+        List<TypeStripe> locked = lockAllStripes();
+        try {
+            List<Room> roomCopy = new ArrayList<>(rooms);
+            List<RoomState> states = new ArrayList<>(roomCopy.size());
+            List<Guest> occupants = new ArrayList<>(roomCopy.size());
+            for (Room room : roomCopy) {
+                // Every transition, check-in and check-out included, runs under
+                // the stripe lock held here, so states cannot change; the room
+                // monitor, taken after the stripe lock as everywhere, pairs the
+                // state with its occupant the way the transitions wrote them
+                synchronized (room) {
+                    states.add(room.getState());
+                    occupants.add(room.getOccupant());
+                }
+            }
+            List<Reservation> reservationCopy;
+            synchronized (reservations) {
+                reservationCopy = reservations.values();
+            }
+            return new HotelImage(name, backend, roomCopy, states, occupants, reservationCopy, true);
+        } finally {
+            unlockAll(locked);
+        }
+    }
+
+    /**
+     * Loads an image into this hotel, which must not have any rooms yet.
+     * Rooms are put straight into their recorded states and listeners are
+     * not notified. The rooms and reservations of an image taken with
+     * {@link #captureImage()} are copied, since they still belong to the
+     * captured hotel; those of other images are taken over, see
+     * {@link HotelImage}. Add the hotel to its chain first, so that future
+     * reservation numbers continue after the restored ones.
+     */
+    public void restoreImage(HotelImage image) {
+        if (image == null) {
+            throw new IllegalArgumentException("Image cannot be null");
+        }
+        if (!rooms.isEmpty()) {
+            throw new HotelException("Hotel " + name + " already has rooms.");
+        }
+        // Rooms go in with one copy per list instead of one per room
+        List<Room> imageRooms = image.getRooms();
+        List<Reservation> imageReservations = image.getReservations();
+        if (image.isLive()) {
+            Map<Room, Room> copies = new IdentityHashMap<>();
+            List<Room> roomCopies = new ArrayList<>(imageRooms.size());
+            for (Room room : imageRooms) {
+                Room copy = new Room(room.getNumber(), room.getRoomType());
+                copies.put(room, copy);
+                roomCopies.add(copy);
+            }
+            List<Reservation> reservationCopies = new ArrayList<>(imageReservations.size());
+            for (Reservation res : imageReservations) {
+                Room copy = copies.get(res.getRoom());
+                if (copy == null) {
+                    throw new HotelException("Reservation #" + res.getReservationNumber()
+                            + " refers to a room outside the image.");
+                }
+                reservationCopies.add(new Reservation(res.getReservationNumber(), res.getStartDate(),
+                        res.getEndDate(), res.getPayer(), copy));
+            }
+            imageRooms = roomCopies;
+            imageReservations = reservationCopies;
+        }
+        Map<RoomType, List<Room>> byType = new LinkedHashMap<>();
+        synchronized (roomsByNumber) {
+            for (int i = 0; i < imageRooms.size(); i++) {
+                Room room = imageRooms.get(i);
+                room.restoreState(image.getRoomStates().get(i), image.getOccupants().get(i));
+                roomsByNumber.putIfAbsent(room.getNumber(), room);
+                byType.computeIfAbsent(room.getRoomType(), type -> new ArrayList<>()).add(room);
+            }
+        }
+        rooms.addAll(imageRooms);
+        for (Map.Entry<RoomType, List<Room>> entry : byType.entrySet()) {
+            TypeStripe stripe = stripeOrCreate(entry.getKey());
+            stripe.lock.lock();
+            try {
+                stripe.rooms.addAll(entry.getValue());
+                stripe.inventory.setCapacity(stripe.rooms.size());
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+
+        int highest = 0;
+        List<TypeStripe> locked = lockAllStripes();
+        try {
+            for (Reservation res : imageReservations) {
+                Room room = res.getRoom();
+                synchronized (roomsByNumber) {
+                    if (roomsByNumber.get(room.getNumber()) != room) {
+                        throw new HotelException("Reservation #" + res.getReservationNumber()
+                                + " refers to a room outside the image.");
+                    }
+                }
+                synchronized (reservations) {
+                    if (reservations.containsKey(res.getReservationNumber())) {
+                        throw new HotelException("Reservation #" + res.getReservationNumber() + " already exists.");
+                    }
+                }
+                if (!datesFree(room, res.getStartDate(), res.getEndDate())) {
+                    throw new HotelException("Reservation #" + res.getReservationNumber()
+                            + " overlaps another stay in room " + room.getNumber() + ".");
+                }
+                recordStay(stripeFor(room.getRoomType()), res);
+                highest = Math.max(highest, res.getReservationNumber());
+            }
+        } finally {
+            unlockAll(locked);
+        }
+        numbers.advancePast(highest);
+    }
+
     public void cancelReservation(int reservationNumber) {
-        Reservation res = reservations.stream()
-                .filter(r -> r.getReservationNumber() == reservationNumber)
-                .findFirst()
+        Reservation res = getReservation(reservationNumber)
                 .orElseThrow(() -> new HotelException("Reservation #" + reservationNumber + " not found."));
+        TypeStripe stripe = stripeFor(res.getRoom().getRoomType());
 
-        reservations.remove(res);
-        res.getRoom().cancelReservation();
+        stripe.lock.lock();
+        try {
+            // A concurrent cancellation may have won the race for this number
+            synchronized (reservations) {
+                if (!reservations.containsKey(reservationNumber)) {
+                    throw new HotelException("Reservation #" + reservationNumber + " not found.");
+                }
+            }
+            // Transition the room first, so a room that cannot be cancelled
+            // (e.g. already checked in) leaves the reservation in place
+            boolean cancelled = false;
+            try {
+                synchronized (res.getRoom()) {
+                    res.getRoom().cancelReservation();
+                    cancelled = true;
+                    listener.reservationCancelled(this, res);
+                }
+            } finally {
+                // A throwing listener must not leave a free room booked
+                if (cancelled) {
+                    releaseStay(stripe, res);
+                }
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a reservation from the index, its room's dates and the
+     * per-night counters; the reverse of {@link #recordStay}. The caller holds
+     * the lock of the room's type stripe.
+     */
+    private void releaseStay(TypeStripe stripe, Reservation res) {
+        int number = res.getReservationNumber();
+        synchronized (reservations) {
+            reservations.remove(number);
+            byArrival.remove(dateKey(res.getStartDate(), number));
+            byDeparture.remove(dateKey(res.getEndDate(), number));
+        }
+        PayerIndex index = payerIndex;
+        if (index != null) {
+            index.remove(this, res);
+        }
+        releaseNights(res.getRoom(), res.getStartDate(), res.getEndDate());
+        stripe.inventory.release(res.getStartDate().toEpochDay(), res.getEndDate().toEpochDay());
+    }
+
+    private void bookNights(Room room, LocalDate startDate, LocalDate endDate) {
+        if (backend == AvailabilityBackend.BITMAP_CALENDAR) {
+            OccupancyCalendar calendar = room.getCalendar();
+            // Past nights can no longer be sold; dropping them keeps the
+            // bitmap to a rolling horizon from today
+            calendar.advanceTo(LocalDate.now(clock));
+            calendar.mark(startDate, endDate);
+        } else {
+            room.getSchedule().book(startDate, endDate);
+        }
+    }
+
+    private void releaseNights(Room room, LocalDate startDate, LocalDate endDate) {
+        if (backend == AvailabilityBackend.BITMAP_CALENDAR) {
+            room.getCalendar().clear(startDate, endDate);
+        } else {
+            room.getSchedule().release(startDate);
+        }
+    }
+
+    /**
+     * Sets the clock hold expiry is measured against. Affects holds placed
+     * from now on and the expiry of those already placed. With the bitmap
+     * backend it also sets the day before which room calendars drop nights.
+     */
+    public void setHoldClock(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.clock = clock;
+    }
+
+    /**
+     * Sets aside a room of the given type for the dates, for ttl, without
+     * creating a reservation. Until the hold is confirmed, released or
+     * expires, the room and its held nights count as taken for every
+     * availability check and booking.
+     *
+     * @throws HotelException if no room of the type is available.
+     */
+    public RoomHold placeHold(LocalDate startDate, LocalDate endDate, RoomType roomType, Duration ttl) {
+        checkStay(startDate, endDate);
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Hold time must be positive");
+        }
+        expireHolds();
+        TypeStripe stripe = stripeFor(roomType);
+        if (stripe == null) {
+            throw new HotelException("No available room of type " + roomType.getKind() + " for the given dates.");
+        }
+        stripe.lock.lock();
+        try {
+            Room room = findAvailableRoom(stripe, startDate, endDate);
+            if (room == null) {
+                throw new HotelException("No available room of type " + roomType.getKind() + " for the given dates.");
+            }
+            RoomHold hold = new RoomHold(this, room, startDate, endDate, clock.millis() + ttl.toMillis());
+            stripe.inventory.book(startDate.toEpochDay(), endDate.toEpochDay());
+            bookNights(room, startDate, endDate);
+            stripe.hold(room, hold);
+            synchronized (holdGuard) {
+                if (holdWheel == null) {
+                    holdWheel = new TimingWheel<>(HOLD_TICK_MILLIS, HOLD_WHEEL_SIZE, clock.millis());
+                }
+                hold.timeout = holdWheel.schedule(hold, hold.getExpiresAtMillis());
+                holdsDueMillis = holdWheel.nextDeadlineMillis();
+            }
+            return hold;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Turns an active hold into a reservation of the held room.
+     *
+     * @throws HotelException if the hold has expired or was already confirmed
+     *                        or released.
+     */
+    public Reservation confirmHold(RoomHold hold, ReserverPayer payer) {
+        if (hold == null || hold.getHotel() != this) {
+            throw new IllegalArgumentException("Hold does not belong to " + name);
+        }
+        expireHolds();
+        TypeStripe stripe = stripeFor(hold.getRoom().getRoomType());
+        stripe.lock.lock();
+        try {
+            if (hold.getStatus() != RoomHold.Status.ACTIVE) {
+                throw new HotelException("Hold on room " + hold.getRoom().getNumber() + " is "
+                        + hold.getStatus().name().toLowerCase(Locale.ROOT) + ".");
+            }
+            // Expiry is swept a tick at a time; the deadline itself is exact
+            boolean lapsed = clock.millis() >= hold.getExpiresAtMillis();
+            dropHold(stripe, hold);
+            if (lapsed) {
+                hold.setStatus(RoomHold.Status.EXPIRED);
+                throw new HotelException("Hold on room " + hold.getRoom().getNumber() + " has expired.");
+            }
+            try {
+                Reservation reservation = reserve(stripe, hold.getRoom(), hold.getStartDate(), hold.getEndDate(),
+                        payer);
+                hold.setStatus(RoomHold.Status.CONFIRMED);
+                return reservation;
+            } catch (RuntimeException e) {
+                hold.setStatus(RoomHold.Status.RELEASED);
+                throw e;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Gives up an active hold, returning its room at once.
+     *
+     * @return false if the hold was no longer active.
+     */
+    public boolean releaseHold(RoomHold hold) {
+        if (hold == null || hold.getHotel() != this) {
+            throw new IllegalArgumentException("Hold does not belong to " + name);
+        }
+        TypeStripe stripe = stripeFor(hold.getRoom().getRoomType());
+        stripe.lock.lock();
+        try {
+            if (hold.getStatus() != RoomHold.Status.ACTIVE) {
+                return false;
+            }
+            dropHold(stripe, hold);
+            hold.setStatus(RoomHold.Status.RELEASED);
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Number of holds not yet confirmed, released or expired.
+     */
+    public int getHoldCount() {
+        synchronized (holdGuard) {
+            return holdWheel == null ? 0 : holdWheel.size();
+        }
+    }
+
+    /**
+     * Releases every hold whose time is up. Every availability check and
+     * booking calls this first, so an expired hold never blocks a room; until
+     * the earliest active hold is due it costs a volatile read and a clock
+     * read. Hold expiry is swept in ticks of {@value #HOLD_TICK_MILLIS} ms,
+     * each visiting only the holds hashed to it.
+     *
+     * @return the number of holds expired.
+     */
+    public int expireHolds() {
+        long due = holdsDueMillis;
+        if (due == Long.MAX_VALUE) {
+            return 0;
+        }
+        long now = clock.millis();
+        if (now < due) {
+            return 0;
+        }
+        List<RoomHold> expired = new ArrayList<>();
+        synchronized (holdGuard) {
+            holdWheel.advance(now, expired::add);
+            holdsDueMillis = holdWheel.nextDeadlineMillis();
+        }
+        // Stripe locks come before holdGuard, so release outside it
+        for (RoomHold hold : expired) {
+            TypeStripe stripe = stripeFor(hold.getRoom().getRoomType());
+            stripe.lock.lock();
+            try {
+                // A confirm or release may have got in between
+                if (hold.getStatus() == RoomHold.Status.ACTIVE) {
+                    dropHold(stripe, hold);
+                    hold.setStatus(RoomHold.Status.EXPIRED);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return expired.size();
+    }
+
+    /**
+     * Returns a held room and its nights, and takes the hold off the expiry
+     * wheel if it is still there. The caller holds the room's type stripe
+     * lock.
+     */
+    private void dropHold(TypeStripe stripe, RoomHold hold) {
+        stripe.unhold(hold.getRoom());
+        releaseNights(hold.getRoom(), hold.getStartDate(), hold.getEndDate());
+        stripe.inventory.release(hold.getStartDate().toEpochDay(), hold.getEndDate().toEpochDay());
+        synchronized (holdGuard) {
+            if (holdWheel.cancel(hold.timeout)) {
+                holdsDueMillis = holdWheel.nextDeadlineMillis();
+            }
+        }
+    }
+
+    /**
+     * Takes every type stripe lock of the hotel and returns the action that
+     * releases them. Until then no reservation of the hotel is made or
+     * cancelled and no guest checks in or out, see
+     * {@link HotelChain#callPaused}. Must be released by the calling thread.
+     */
+    Runnable pauseMutations() {
+        List<TypeStripe> locked = lockAllStripes();
+        return () -> unlockAll(locked);
+    }
+
+    /**
+     * Runs a check-in or check-out of the room under its type stripe lock
+     * and its monitor, which orders it with bookings of the room and with
+     * {@link #pauseMutations}.
+     */
+    void changeStay(Room room, Runnable change) {
+        TypeStripe stripe = stripeFor(room.getRoomType());
+        stripe.lock.lock();
+        try {
+            synchronized (room) {
+                change.run();
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Locks every room type stripe in room type id order, the one order in
+     * which more than one stripe lock may be held.
+     */
+    private List<TypeStripe> lockAllStripes() {
+        List<TypeStripe> ordered = new ArrayList<>();
+        for (TypeStripe stripe : stripes) {
+            stripe.lock.lock();
+            ordered.add(stripe);
+        }
+        return ordered;
+    }
+
+    private static void unlockAll(List<TypeStripe> locked) {
+        for (int i = locked.size() - 1; i >= 0; i--) {
+            locked.get(i).lock.unlock();
+        }
+    }
+
+    private TypeStripe stripeFor(RoomType roomType) {
+        if (roomType == null) {
+            return null;
+        }
+        TypeStripe[] table = stripes;
+        int index = indexOf(table, roomType.getId());
+        return index >= 0 ? table[index] : null;
+    }
+
+    private TypeStripe stripeOrCreate(RoomType roomType) {
+        TypeStripe stripe = stripeFor(roomType);
+        if (stripe != null) {
+            return stripe;
+        }
+        synchronized (stripesGuard) {
+            TypeStripe[] table = stripes;
+            int index = indexOf(table, roomType.getId());
+            if (index >= 0) {
+                return table[index];
+            }
+            int insertAt = -index - 1;
+            TypeStripe[] grown = new TypeStripe[table.length + 1];
+            System.arraycopy(table, 0, grown, 0, insertAt);
+            System.arraycopy(table, insertAt, grown, insertAt + 1, table.length - insertAt);
+            grown[insertAt] = new TypeStripe(roomType);
+            stripes = grown;
+            return grown[insertAt];
+        }
+    }
+
+    /**
+     * Binary search of a stripe table for a room type id.
+     *
+     * @return the index of the stripe, or {@code -(insertion point) - 1}.
+     */
+    private static int indexOf(TypeStripe[] table, int typeId) {
+        int low = 0;
+        int high = table.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = table[mid].typeId;
+            if (midId < typeId) {
+                low = mid + 1;
+            } else if (midId > typeId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Rooms of one {@link RoomType} id and the lock that serialises booking
+     * decisions for them. Room schedules and the per-night inventory are only
+     * read or written while holding this lock; the rate calendar manages its
+     * own publication.
+     */
+    private static final class TypeStripe {
+        private final RoomType type;
+        private final int typeId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<Room> rooms = new CopyOnWriteArrayList<>();
+        private final DailyInventory inventory = new DailyInventory();
+        private final RateCalendar rates;
+        // Active holds by room number; null until the first hold
+        private IntHashMap<RoomHold> holds;
+
+        TypeStripe(RoomType type) {
+            this.type = type;
+            this.typeId = type.getId();
+            this.rates = new RateCalendar(type.getCost());
+        }
+
+        boolean isHeld(Room room) {
+            if (holds == null) {
+                return false;
+            }
+            RoomHold hold = holds.get(room.getNumber());
+            return hold != null && hold.getRoom() == room;
+        }
+
+        void hold(Room room, RoomHold hold) {
+            if (holds == null) {
+                holds = new IntHashMap<>();
+            }
+            holds.put(room.getNumber(), hold);
+        }
+
+        void unhold(Room room) {
+            holds.remove(room.getNumber());
+        }
     }
 }
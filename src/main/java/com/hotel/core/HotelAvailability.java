@@ -0,0 +1,57 @@
+package com.hotel.core;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomType;
+
+/**
+ * Reservable room counts per {@link RoomType} for one hotel and date range,
+ * as returned by a chain-wide availability search.
+ */
+public class HotelAvailability {
+    private final String hotelName;
+    private final Map<RoomType, Integer> counts;
+
+    public HotelAvailability(String hotelName, Map<RoomType, Integer> counts) {
+        if (hotelName == null || hotelName.isBlank()) {
+            throw new IllegalArgumentException("Hotel name cannot be empty");
+        }
+        if (counts == null) {
+            throw new IllegalArgumentException("Counts cannot be null");
+        }
+        this.hotelName = hotelName;
+        this.counts = Collections.unmodifiableMap(counts);
+    }
+
+    public String getHotelName() {
+        return hotelName;
+    }
+
+    public Map<RoomType, Integer> getCounts() {
+        return counts;
+    }
+
+    public int getAvailableCount(RoomType roomType) {
+        return counts.getOrDefault(roomType, 0);
+    }
+
+    /**
+     * Total reservable rooms over every type of the given kind.
+     */
+    public int getAvailableCount(RoomKind kind) {
+        int total = 0;
+        for (Map.Entry<RoomType, Integer> entry : counts.entrySet()) {
+            if (entry.getKey().getKind() == kind) {
+                total += entry.getValue();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return hotelName + " " + counts;
+    }
+}
@@ -1,9 +1,25 @@
 package com.hotel.core;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import com.hotel.domain.CreditCard;
 import com.hotel.domain.Guest;
@@ -11,78 +27,656 @@ import com.hotel.domain.Identity;
 import com.hotel.domain.Reservation;
 import com.hotel.domain.ReserverPayer;
 import com.hotel.domain.Room;
+import com.hotel.domain.RoomKind;
 import com.hotel.domain.RoomType;
 import com.hotel.exception.HotelException;
+import com.hotel.metrics.BookingMetrics;
+import com.hotel.metrics.Operation;
 
+/**
+ * Entry point for chain-wide operations. Safe for concurrent use; booking
+ * consistency is enforced by each {@link Hotel}.
+ * <p>
+ * Besides the blocking operations, the {@code submit} methods hand a command
+ * to the owning hotel's shard and return a future. Each hotel's shard runs its
+ * commands one at a time in submission order on the shard executor, so
+ * independent hotels proceed in parallel without contending for locks, and
+ * commands for one hotel keep their order. The two styles can be mixed; the
+ * hotel's own locks still keep mixed use consistent.
+ */
 public class HotelChain {
+    /** Chains with fewer hotels than this are searched on the calling thread. */
+    public static final int DEFAULT_PARALLEL_SEARCH_THRESHOLD = 64;
+
     private final String name;
     private final List<Hotel> hotels;
+    // Hotels indexed by case-folded name; the first hotel added with a name wins
+    private final Map<String, Hotel> hotelsByName;
+    // Payers by identity, so a returning customer is found in O(1); the
+    // list keeps creation order for getPayers and snapshots
+    private final Map<Identity, ReserverPayer> payersById;
+    private final PayerIndex reservationsByPayer;
     private final List<ReserverPayer> payers;
+    private final ReservationNumberSequence reservationNumbers;
+    private volatile int parallelSearchThreshold;
+    private volatile ForkJoinPool searchPool;
+    private final List<ChainMutationListener> listeners;
+    private final ChainMutationListener dispatcher;
+    private final BookingMetrics metrics;
+    private final Map<Hotel, HotelShard> shards;
+    private volatile Executor shardExecutor;
 
     public HotelChain(String name) {
         if (name == null || name.isBlank()) {
 			throw new IllegalArgumentException("Chain name cannot be empty");
 		}
         this.name = name;
-        this.hotels = new ArrayList<>();
-        this.payers = new ArrayList<>();
+        this.hotels = new CopyOnWriteArrayList<>();
+        this.hotelsByName = new ConcurrentHashMap<>();
+        this.payersById = new ConcurrentHashMap<>();
+        this.reservationsByPayer = new PayerIndex();
+        this.payers = Collections.synchronizedList(new ArrayList<>());
+        this.reservationNumbers = new ReservationNumberSequence();
+        this.parallelSearchThreshold = DEFAULT_PARALLEL_SEARCH_THRESHOLD;
+        this.searchPool = ForkJoinPool.commonPool();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.dispatcher = new Dispatcher();
+        this.metrics = new BookingMetrics();
+        this.shards = new ConcurrentHashMap<>();
+        // Not the common pool: a batch may block on a journal flush, and
+        // searches fan out on the common pool
+        this.shardExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("hotel-shard-", 0).factory());
     }
 
     public void addHotel(Hotel hotel) {
         if (hotel == null) {
 			throw new IllegalArgumentException("Hotel cannot be null");
 		}
+        hotel.bindReservationNumbers(reservationNumbers);
+        hotel.setMutationListener(dispatcher);
+        hotel.setMetrics(metrics);
+        hotel.setPayerIndex(reservationsByPayer);
         hotels.add(hotel);
+        hotelsByName.putIfAbsent(nameKey(hotel.getName()), hotel);
+    }
+
+    public String getName() {
+        return name;
     }
 
     public List<Hotel> getHotels() {
         return Collections.unmodifiableList(hotels);
     }
 
+    /**
+     * Looks a hotel up by name, ignoring case.
+     */
+    public Optional<Hotel> getHotel(String hotelName) {
+        return hotelName == null ? Optional.empty() : Optional.ofNullable(hotelsByName.get(nameKey(hotelName)));
+    }
+
+    /**
+     * Counters and latency histograms of this chain's operations and of its
+     * hotels' availability checks. Disabled until
+     * {@link BookingMetrics#setEnabled(boolean)} is called.
+     */
+    public BookingMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Registers a listener for every change applied to this chain, e.g. a
+     * journal. See {@link ChainMutationListener} for the calling contract.
+     */
+    public void addMutationListener(ChainMutationListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+
+    public void removeMutationListener(ChainMutationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sets the hotel count at which searches fan out, and the size each fork
+     * is split down to. Must be at least 1.
+     */
+    public void setParallelSearchThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Parallel search threshold must be positive");
+        }
+        this.parallelSearchThreshold = threshold;
+    }
+
+    public void setSearchPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Search pool cannot be null");
+        }
+        this.searchPool = pool;
+    }
+
+    /**
+     * Sets the executor hotel shards drain their mailboxes on. Shards already
+     * draining finish their current batch on the previous executor. By
+     * default every drain runs on a virtual thread of its own.
+     */
+    public void setShardExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Shard executor cannot be null");
+        }
+        this.shardExecutor = executor;
+    }
+
+    /**
+     * Reservable room counts per room type for every hotel in the chain, in
+     * hotel order. Large chains are searched in parallel on the search pool.
+     */
+    public List<HotelAvailability> searchAvailability(LocalDate start, LocalDate end) {
+        long started = metrics.start();
+        Hotel[] snapshot = hotels.toArray(new Hotel[0]);
+        HotelAvailability[] results = new HotelAvailability[snapshot.length];
+        int threshold = parallelSearchThreshold;
+        AvailabilitySearch search = new AvailabilitySearch(snapshot, results, 0, snapshot.length, start, end, threshold);
+        if (snapshot.length < threshold) {
+            search.compute();
+        } else {
+            searchPool.invoke(search);
+        }
+        metrics.succeeded(Operation.SEARCH_AVAILABILITY, started);
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    /**
+     * Hotels with at least one reservable room of the given kind, in hotel order.
+     */
+    public List<HotelAvailability> searchAvailability(LocalDate start, LocalDate end, RoomKind kind) {
+        List<HotelAvailability> matches = new ArrayList<>();
+        for (HotelAvailability availability : searchAvailability(start, end)) {
+            if (availability.getAvailableCount(kind) > 0) {
+                matches.add(availability);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Reservations arriving in [from, to) across the chain, by hotel name in
+     * hotel order; hotels without arrivals are left out. Each hotel answers
+     * from its arrival index, see {@link Hotel#getArrivals}.
+     */
+    public Map<String, List<Reservation>> getArrivals(LocalDate from, LocalDate to) {
+        Map<String, List<Reservation>> arrivals = new LinkedHashMap<>();
+        for (Hotel hotel : hotels) {
+            List<Reservation> found = hotel.getArrivals(from, to);
+            if (!found.isEmpty()) {
+                arrivals.put(hotel.getName(), found);
+            }
+        }
+        return Collections.unmodifiableMap(arrivals);
+    }
+
+    /**
+     * Reservations departing in [from, to) across the chain, by hotel name in
+     * hotel order; hotels without departures are left out.
+     */
+    public Map<String, List<Reservation>> getDepartures(LocalDate from, LocalDate to) {
+        Map<String, List<Reservation>> departures = new LinkedHashMap<>();
+        for (Hotel hotel : hotels) {
+            List<Reservation> found = hotel.getDepartures(from, to);
+            if (!found.isEmpty()) {
+                departures.put(hotel.getName(), found);
+            }
+        }
+        return Collections.unmodifiableMap(departures);
+    }
+
+    /**
+     * Returns a copy of the payers created through this chain, in creation order.
+     */
+    public List<ReserverPayer> getPayers() {
+        synchronized (payers) {
+            return List.copyOf(payers);
+        }
+    }
+
+    /**
+     * The number the chain-wide sequence hands out next. Every lower number
+     * has been used or skipped.
+     */
+    public int getNextReservationNumber() {
+        return reservationNumbers.peek();
+    }
+
+    /**
+     * Makes sure the chain never hands out a reservation number below next,
+     * e.g. after loading a snapshot that recorded the sequence position.
+     */
+    public void skipReservationNumbersBelow(int next) {
+        if (next < 1) {
+            throw new IllegalArgumentException("Reservation number must be positive");
+        }
+        reservationNumbers.advancePast(next - 1);
+    }
+
+    /**
+     * Returns the payer registered for the identity, creating it with the
+     * given card if there is none. A returning customer gets the payer it
+     * was first created as, card included. Listeners are told about a new
+     * payer before any other thread can find it, so a reservation for the
+     * payer can never be journaled ahead of the payer itself.
+     */
     public ReserverPayer createReserverPayer(Identity id, CreditCard cc) {
         ReserverPayer payer = new ReserverPayer(id, cc);
-        payers.add(payer);
+        ReserverPayer existing = payersById.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (payers) {
+            existing = payersById.get(id);
+            if (existing != null) {
+                return existing;
+            }
+            dispatcher.payerCreated(payer);
+            payers.add(payer);
+            payersById.put(id, payer);
+        }
+        dispatcher.afterMutation();
         return payer;
     }
 
+    /**
+     * Calls action with the chain's hotels while none of them can change:
+     * every hotel's type locks are held, hotel after hotel, so no
+     * reservation is made or cancelled and no guest checks in or out until
+     * action returns. Every mutation a listener has been told about has
+     * finished, and none has started, which gives snapshots a cut that
+     * matches a journal position. Payers can still be created. Keep action
+     * short; it stops every booking in the chain.
+     */
+    public <T> T callPaused(Function<List<Hotel>, T> action) {
+        List<Hotel> snapshot = List.copyOf(hotels);
+        List<Runnable> resumes = new ArrayList<>(snapshot.size());
+        try {
+            for (Hotel hotel : snapshot) {
+                resumes.add(hotel.pauseMutations());
+            }
+            return action.apply(snapshot);
+        } finally {
+            for (int i = resumes.size() - 1; i >= 0; i--) {
+                resumes.get(i).run();
+            }
+        }
+    }
+
+    public Optional<ReserverPayer> findPayer(Identity id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(payersById.get(id));
+    }
+
+    /**
+     * Current reservations paid for by the identity across the chain, by
+     * hotel name. Hotels come in the order of their lowest reservation
+     * number, reservations by number. Served from a chain-wide index, so the
+     * cost depends only on the identity's own reservations.
+     */
+    public Map<String, List<Reservation>> findReservations(Identity id) {
+        return reservationsByPayer.find(id);
+    }
+
     public Reservation makeReservation(String hotelName, LocalDate start, LocalDate end, RoomType roomType, ReserverPayer payer) {
-        Hotel hotel = findHotel(hotelName);
-        if (hotel.available(start, end, roomType)) {
-            return hotel.createReservation(start, end, roomType, payer);
-        } else {
-            throw new HotelException("Room not available in " + hotelName);
+        long started = metrics.start();
+        try {
+            Reservation reservation = reserve(findHotel(hotelName), start, end, roomType, payer);
+            dispatcher.afterMutation();
+            metrics.succeeded(Operation.MAKE_RESERVATION, started);
+            return reservation;
+        } catch (HotelException e) {
+            metrics.failed(Operation.MAKE_RESERVATION, failureKey(hotelName), started);
+            throw e;
+        }
+    }
+
+    /**
+     * Holds a room in the named hotel for ttl; see {@link Hotel#placeHold}.
+     * Holds are not journaled: a restarted chain starts without any.
+     */
+    public RoomHold placeHold(String hotelName, LocalDate start, LocalDate end, RoomType roomType, Duration ttl) {
+        return findHotel(hotelName).placeHold(start, end, roomType, ttl);
+    }
+
+    /**
+     * Turns a hold into a reservation, counted and journaled like any other
+     * reservation made through the chain.
+     */
+    public Reservation confirmHold(RoomHold hold, ReserverPayer payer) {
+        if (hold == null) {
+            throw new IllegalArgumentException("Hold cannot be null");
+        }
+        String hotelName = hold.getHotel().getName();
+        long started = metrics.start();
+        try {
+            if (findHotel(hotelName) != hold.getHotel()) {
+                throw new HotelException("Hold was not placed in this chain");
+            }
+            Reservation reservation = hold.getHotel().confirmHold(hold, payer);
+            dispatcher.afterMutation();
+            metrics.succeeded(Operation.MAKE_RESERVATION, started);
+            return reservation;
+        } catch (HotelException e) {
+            metrics.failed(Operation.MAKE_RESERVATION, failureKey(hotelName), started);
+            throw e;
+        }
+    }
+
+    public boolean releaseHold(RoomHold hold) {
+        if (hold == null) {
+            throw new IllegalArgumentException("Hold cannot be null");
         }
+        return hold.getHotel().releaseHold(hold);
+    }
+
+    /**
+     * Books a group into one hotel all or nothing; see
+     * {@link Hotel#createGroupReservation}.
+     */
+    public List<Reservation> makeGroupReservation(String hotelName, LocalDate start, LocalDate end,
+            Map<RoomType, Integer> roomCounts, ReserverPayer payer) {
+        long started = metrics.start();
+        try {
+            List<Reservation> group = findHotel(hotelName).createGroupReservation(start, end, roomCounts, payer);
+            dispatcher.afterMutation();
+            metrics.succeeded(Operation.GROUP_RESERVATION, started);
+            return Collections.unmodifiableList(group);
+        } catch (HotelException e) {
+            metrics.failed(Operation.GROUP_RESERVATION, failureKey(hotelName), started);
+            throw e;
+        }
+    }
+
+    /**
+     * Makes many reservations in one call. Requests are grouped by hotel and
+     * each hotel resolves its share in a single pass per room type (see
+     * {@link Hotel#createReservations}). Individual failures, including
+     * unknown hotels, are reported in the results instead of thrown; results
+     * are returned in request order.
+     */
+    public List<ReservationResult> makeReservations(List<ReservationRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Requests cannot be null");
+        }
+        long started = metrics.start();
+        ReservationResult[] results = new ReservationResult[requests.size()];
+        Map<Hotel, List<Integer>> groups = new LinkedHashMap<>();
+        Map<String, Hotel> resolved = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ReservationRequest request = requests.get(i);
+            if (request == null) {
+                throw new IllegalArgumentException("Request cannot be null");
+            }
+            Hotel hotel = resolved.computeIfAbsent(nameKey(request.getHotelName()), hotelsByName::get);
+            if (hotel == null) {
+                results[i] = ReservationResult.failure(request, "Hotel not found: " + request.getHotelName());
+            } else {
+                groups.computeIfAbsent(hotel, h -> new ArrayList<>()).add(i);
+            }
+        }
+
+        for (Map.Entry<Hotel, List<Integer>> group : groups.entrySet()) {
+            List<ReservationRequest> share = new ArrayList<>(group.getValue().size());
+            for (int i : group.getValue()) {
+                share.add(requests.get(i));
+            }
+            List<ReservationResult> hotelResults = group.getKey().createReservations(share);
+            for (int j = 0; j < share.size(); j++) {
+                results[group.getValue().get(j)] = hotelResults.get(j);
+            }
+        }
+        dispatcher.afterMutation();
+        metrics.succeeded(Operation.BATCH_RESERVATION, started);
+        return Collections.unmodifiableList(Arrays.asList(results));
     }
 
     public void cancelReservation(String hotelName, int reservationNumber) {
-        Hotel hotel = findHotel(hotelName);
-        hotel.cancelReservation(reservationNumber);
+        long started = metrics.start();
+        try {
+            findHotel(hotelName).cancelReservation(reservationNumber);
+            dispatcher.afterMutation();
+            metrics.succeeded(Operation.CANCEL_RESERVATION, started);
+        } catch (HotelException e) {
+            metrics.failed(Operation.CANCEL_RESERVATION, failureKey(hotelName), started);
+            throw e;
+        }
     }
 
     public void checkInGuest(String hotelName, int roomNumber, Guest guest) {
-        Hotel hotel = findHotel(hotelName);
-        Room room = hotel.getRooms().stream()
-                .filter(r -> r.getNumber() == roomNumber)
-                .findFirst()
-                .orElseThrow(() -> new HotelException("Room " + roomNumber + " not found in " + hotelName));
-
-        room.checkInGuest(guest);
+        long started = metrics.start();
+        try {
+            checkIn(findHotel(hotelName), roomNumber, guest);
+            dispatcher.afterMutation();
+            metrics.succeeded(Operation.CHECK_IN, started);
+        } catch (HotelException e) {
+            metrics.failed(Operation.CHECK_IN, failureKey(hotelName), started);
+            throw e;
+        }
     }
 
     public void checkOutGuest(String hotelName, int roomNumber) {
-        Hotel hotel = findHotel(hotelName);
-        Room room = hotel.getRooms().stream()
-                .filter(r -> r.getNumber() == roomNumber)
-                .findFirst()
-                .orElseThrow(() -> new HotelException("Room " + roomNumber + " not found in " + hotelName));
+        long started = metrics.start();
+        try {
+            checkOut(findHotel(hotelName), roomNumber);
+            dispatcher.afterMutation();
+            metrics.succeeded(Operation.CHECK_OUT, started);
+        } catch (HotelException e) {
+            metrics.failed(Operation.CHECK_OUT, failureKey(hotelName), started);
+            throw e;
+        }
+    }
+
+    /**
+     * Queues a reservation on the hotel's shard. The future fails with a
+     * {@link HotelException} if the hotel is unknown or has no room.
+     */
+    public CompletableFuture<Reservation> submitReservation(String hotelName, LocalDate start, LocalDate end,
+            RoomType roomType, ReserverPayer payer) {
+        return submit(hotelName, Operation.MAKE_RESERVATION, hotel -> reserve(hotel, start, end, roomType, payer));
+    }
+
+    public CompletableFuture<Void> submitCancellation(String hotelName, int reservationNumber) {
+        return submit(hotelName, Operation.CANCEL_RESERVATION, hotel -> {
+            hotel.cancelReservation(reservationNumber);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> submitCheckIn(String hotelName, int roomNumber, Guest guest) {
+        return submit(hotelName, Operation.CHECK_IN, hotel -> {
+            checkIn(hotel, roomNumber, guest);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> submitCheckOut(String hotelName, int roomNumber) {
+        return submit(hotelName, Operation.CHECK_OUT, hotel -> {
+            checkOut(hotel, roomNumber);
+            return null;
+        });
+    }
+
+    /**
+     * Routes a command to the shard owning the named hotel. Metrics time the
+     * command itself; the shard's listener wait is shared by its whole batch.
+     */
+    private <T> CompletableFuture<T> submit(String hotelName, Operation operation,
+            Function<Hotel, T> command) {
+        Hotel hotel = hotelName == null ? null : hotelsByName.get(nameKey(hotelName));
+        if (hotel == null) {
+            metrics.failed(operation, BookingMetrics.UNKNOWN_HOTEL, metrics.start());
+            return CompletableFuture.failedFuture(new HotelException("Hotel not found: " + hotelName));
+        }
+        HotelShard shard = shards.computeIfAbsent(hotel,
+                h -> new HotelShard(() -> shardExecutor, dispatcher::afterMutation));
+        return shard.submit(timed(operation, hotel.getName(), () -> command.apply(hotel)));
+    }
+
+    private <T> Supplier<T> timed(Operation operation, String hotelName, Supplier<T> action) {
+        return () -> {
+            long started = metrics.start();
+            try {
+                T result = action.get();
+                metrics.succeeded(operation, started);
+                return result;
+            } catch (HotelException e) {
+                metrics.failed(operation, hotelName, started);
+                throw e;
+            }
+        };
+    }
+
+    private Reservation reserve(Hotel hotel, LocalDate start, LocalDate end, RoomType roomType, ReserverPayer payer) {
+        // The per-night counters reject sold-out dates before any room is examined
+        if (hotel.hasInventory(start, end, roomType) && hotel.hasAvailableRoom(start, end, roomType)) {
+            return hotel.createReservation(start, end, roomType, payer);
+        }
+        throw new HotelException("Room not available in " + hotel.getName());
+    }
+
+    private void checkIn(Hotel hotel, int roomNumber, Guest guest) {
+        Room room = findRoom(hotel, roomNumber);
+        hotel.changeStay(room, () -> {
+            room.checkInGuest(guest);
+            dispatcher.guestCheckedIn(hotel, room, guest);
+        });
+    }
 
-        room.checkOutGuest();
+    private void checkOut(Hotel hotel, int roomNumber) {
+        Room room = findRoom(hotel, roomNumber);
+        hotel.changeStay(room, () -> {
+            room.checkOutGuest();
+            dispatcher.guestCheckedOut(hotel, room);
+        });
     }
 
     private Hotel findHotel(String name) {
-        return hotels.stream()
-                .filter(h -> h.getName().equalsIgnoreCase(name))
-                .findFirst()
-                .orElseThrow(() -> new HotelException("Hotel not found: " + name));
+        Hotel hotel = name == null ? null : hotelsByName.get(nameKey(name));
+        if (hotel == null) {
+            throw new HotelException("Hotel not found: " + name);
+        }
+        return hotel;
+    }
+
+    private Room findRoom(Hotel hotel, int roomNumber) {
+        return hotel.getRoom(roomNumber)
+                .orElseThrow(() -> new HotelException("Room " + roomNumber + " not found in " + hotel.getName()));
+    }
+
+    /**
+     * The name a failure is counted under: the registered hotel's own name,
+     * so any spelling of one hotel shares its counter, or a single bucket
+     * for names of no hotel, so callers cannot grow the metrics without bound.
+     */
+    private String failureKey(String hotelName) {
+        Hotel hotel = hotelName == null ? null : hotelsByName.get(nameKey(hotelName));
+        return hotel == null ? BookingMetrics.UNKNOWN_HOTEL : hotel.getName();
+    }
+
+    /**
+     * Folds a hotel name to its lookup key by upper- then lower-casing the
+     * whole string in the root locale. This is close to, but not the same
+     * as, String.equalsIgnoreCase, which compares one char at a time: a
+     * mapping that changes length folds differently, so "Straße" and
+     * "STRASSE" share a key although equalsIgnoreCase tells them apart.
+     */
+    private static String nameKey(String name) {
+        return name.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits the hotel range in half until it is below the threshold, then
+     * counts each hotel of the range into its slot of the shared result array.
+     */
+    private static final class AvailabilitySearch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Hotel[] hotels;
+        private final transient HotelAvailability[] results;
+        private final int from;
+        private final int to;
+        private final transient LocalDate start;
+        private final transient LocalDate end;
+        private final int threshold;
+
+        AvailabilitySearch(Hotel[] hotels, HotelAvailability[] results, int from, int to,
+                LocalDate start, LocalDate end, int threshold) {
+            this.hotels = hotels;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    results[i] = new HotelAvailability(hotels[i].getName(), hotels[i].availableCounts(start, end));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new AvailabilitySearch(hotels, results, from, mid, start, end, threshold),
+                    new AvailabilitySearch(hotels, results, mid, to, start, end, threshold));
+        }
+    }
+
+    /**
+     * Fans each change out to the registered listeners. Hotels of the chain
+     * report to this object directly.
+     */
+    private final class Dispatcher implements ChainMutationListener {
+        @Override
+        public void payerCreated(ReserverPayer payer) {
+            for (ChainMutationListener listener : listeners) {
+                listener.payerCreated(payer);
+            }
+        }
+
+        @Override
+        public void reservationCreated(Hotel hotel, Reservation reservation) {
+            for (ChainMutationListener listener : listeners) {
+                listener.reservationCreated(hotel, reservation);
+            }
+        }
+
+        @Override
+        public void reservationCancelled(Hotel hotel, Reservation reservation) {
+            for (ChainMutationListener listener : listeners) {
+                listener.reservationCancelled(hotel, reservation);
+            }
+        }
+
+        @Override
+        public void guestCheckedIn(Hotel hotel, Room room, Guest guest) {
+            for (ChainMutationListener listener : listeners) {
+                listener.guestCheckedIn(hotel, room, guest);
+            }
+        }
+
+        @Override
+        public void guestCheckedOut(Hotel hotel, Room room) {
+            for (ChainMutationListener listener : listeners) {
+                listener.guestCheckedOut(hotel, room);
+            }
+        }
+
+        @Override
+        public void afterMutation() {
+            for (ChainMutationListener listener : listeners) {
+                listener.afterMutation();
+            }
+        }
     }
 }
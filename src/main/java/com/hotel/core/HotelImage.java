@@ -0,0 +1,98 @@
+package com.hotel.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.hotel.domain.Guest;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomState;
+
+/**
+ * Point-in-time copy of a hotel: its rooms with their state and occupant,
+ * and its reservations. Produced by {@link Hotel#captureImage()} and loaded
+ * with {@link Hotel#restoreImage(HotelImage)}. Room states and occupants are
+ * held beside the rooms, at the same index, because the rooms themselves
+ * keep changing after the image is taken.
+ * <p>
+ * An image from {@link Hotel#captureImage()} holds the captured hotel's live
+ * rooms, so restoring it copies every room and reservation. The rooms of an
+ * image built with the public constructor, for example by a snapshot
+ * decoder, are taken over as they are by the hotel that restores it and must
+ * not belong to any other hotel.
+ */
+public final class HotelImage {
+    private final String hotelName;
+    private final AvailabilityBackend backend;
+    private final List<Room> rooms;
+    private final List<RoomState> roomStates;
+    private final List<Guest> occupants;
+    private final List<Reservation> reservations;
+    // The rooms belong to a live hotel and must be copied on restore
+    private final boolean live;
+
+    public HotelImage(String hotelName, AvailabilityBackend backend, List<Room> rooms, List<RoomState> roomStates,
+            List<Guest> occupants, List<Reservation> reservations) {
+        this(hotelName, backend, rooms, roomStates, occupants, reservations, false);
+    }
+
+    HotelImage(String hotelName, AvailabilityBackend backend, List<Room> rooms, List<RoomState> roomStates,
+            List<Guest> occupants, List<Reservation> reservations, boolean live) {
+        if (hotelName == null || hotelName.isBlank()) {
+            throw new IllegalArgumentException("Hotel name cannot be empty");
+        }
+        if (backend == null) {
+            throw new IllegalArgumentException("Availability backend cannot be null");
+        }
+        if (rooms == null || roomStates == null || occupants == null || reservations == null) {
+            throw new IllegalArgumentException("Image contents cannot be null");
+        }
+        if (roomStates.size() != rooms.size() || occupants.size() != rooms.size()) {
+            throw new IllegalArgumentException("Every room needs exactly one state and occupant entry");
+        }
+        this.hotelName = hotelName;
+        this.backend = backend;
+        // Occupants may be null, which rules out List.copyOf
+        this.rooms = Collections.unmodifiableList(new ArrayList<>(rooms));
+        this.roomStates = Collections.unmodifiableList(new ArrayList<>(roomStates));
+        this.occupants = Collections.unmodifiableList(new ArrayList<>(occupants));
+        this.reservations = Collections.unmodifiableList(new ArrayList<>(reservations));
+        this.live = live;
+    }
+
+    public String getHotelName() {
+        return hotelName;
+    }
+
+    public AvailabilityBackend getBackend() {
+        return backend;
+    }
+
+    public List<Room> getRooms() {
+        return rooms;
+    }
+
+    /**
+     * State of each room when the image was taken, in room order.
+     */
+    public List<RoomState> getRoomStates() {
+        return roomStates;
+    }
+
+    /**
+     * Occupant of each room when the image was taken, in room order; null
+     * for rooms that were not occupied.
+     */
+    public List<Guest> getOccupants() {
+        return occupants;
+    }
+
+    public List<Reservation> getReservations() {
+        return reservations;
+    }
+
+    boolean isLive() {
+        return live;
+    }
+}
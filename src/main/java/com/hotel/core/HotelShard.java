@@ -0,0 +1,131 @@
+package com.hotel.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Mailbox of commands for one hotel, executed one at a time in submission
+ * order.
+ * <p>
+ * At most one drain of the mailbox is scheduled on the executor at any time,
+ * so commands of one hotel never run concurrently and the hotel's locks are
+ * uncontended as long as all writes arrive through its shard. A drain runs up
+ * to {@link #BATCH_SIZE} commands, then calls afterBatch once for all of them
+ * (for a journal, one flush wait instead of one per command) before
+ * completing their futures. A busy shard yields its thread after each batch
+ * so other hotels sharing the executor are not starved.
+ * <p>
+ * A shard never stays stuck: if the executor rejects a drain, the queued
+ * commands fail with the rejection and the next submit tries again, and a
+ * command or afterBatch throwing even an Error only fails the futures of its
+ * batch.
+ */
+final class HotelShard {
+    static final int BATCH_SIZE = 64;
+
+    private final Supplier<Executor> executor;
+    private final Runnable afterBatch;
+    private final Queue<Command<?>> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // Only touched by the running drain, which the scheduled flag keeps exclusive
+    private final List<Command<?>> batch = new ArrayList<>(BATCH_SIZE);
+
+    HotelShard(Supplier<Executor> executor, Runnable afterBatch) {
+        this.executor = executor;
+        this.afterBatch = afterBatch;
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<T> action) {
+        Command<T> command = new Command<>(action);
+        mailbox.add(command);
+        schedule();
+        return command.future;
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.get().execute(this::drain);
+            } catch (RuntimeException e) {
+                // Commands queued from now on schedule their own drain
+                scheduled.set(false);
+                Command<?> command;
+                while ((command = mailbox.poll()) != null) {
+                    command.future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            boolean mutated = false;
+            Command<?> command;
+            while (batch.size() < BATCH_SIZE && (command = mailbox.poll()) != null) {
+                mutated |= command.run();
+                batch.add(command);
+            }
+            Throwable afterFailure = null;
+            if (mutated) {
+                try {
+                    afterBatch.run();
+                } catch (Throwable e) {
+                    afterFailure = e;
+                }
+            }
+            for (Command<?> done : batch) {
+                done.complete(afterFailure);
+            }
+        } finally {
+            batch.clear();
+            scheduled.set(false);
+            // A command queued after the last poll must not be left waiting
+            if (!mailbox.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * One queued action with its outcome, held until the batch completes.
+     */
+    private static final class Command<T> {
+        final Supplier<T> action;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        T result;
+        Throwable failure;
+
+        Command(Supplier<T> action) {
+            this.action = action;
+        }
+
+        /**
+         * Runs the action; returns true if it succeeded.
+         */
+        boolean run() {
+            try {
+                result = action.get();
+                return true;
+            } catch (Throwable e) {
+                failure = e;
+                return false;
+            }
+        }
+
+        void complete(Throwable afterFailure) {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else if (afterFailure != null) {
+                future.completeExceptionally(afterFailure);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+}
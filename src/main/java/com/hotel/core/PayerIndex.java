@@ -0,0 +1,83 @@
+package com.hotel.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.hotel.domain.Identity;
+import com.hotel.domain.Reservation;
+
+/**
+ * Reservations of every hotel in a chain by the identity of their payer.
+ * <p>
+ * Hotels update it together with their own reservation index, so it holds
+ * exactly the reservations the hotels hold, restored ones included. A lookup
+ * touches only the identity's own reservations, whatever the size of the
+ * chain. Each identity's reservations are kept per hotel by reservation
+ * number: numbers are only unique within a hotel, since a hotel that joins a
+ * chain keeps the numbers it already handed out. Adds and removes for one
+ * identity go through compute, so an emptied entry is never dropped under a
+ * concurrent add.
+ */
+final class PayerIndex {
+    private final Map<Identity, Map<Hotel, ConcurrentSkipListMap<Integer, Reservation>>> byPayer =
+            new ConcurrentHashMap<>();
+
+    void add(Hotel hotel, Reservation reservation) {
+        byPayer.compute(reservation.getPayer().getId(), (id, byHotel) -> {
+            Map<Hotel, ConcurrentSkipListMap<Integer, Reservation>> result =
+                    byHotel != null ? byHotel : new ConcurrentHashMap<>();
+            result.computeIfAbsent(hotel, h -> new ConcurrentSkipListMap<>())
+                    .put(reservation.getReservationNumber(), reservation);
+            return result;
+        });
+    }
+
+    /**
+     * Removes the reservation if it is the one indexed for its hotel and
+     * number; an entry that has since been replaced is left alone.
+     */
+    void remove(Hotel hotel, Reservation reservation) {
+        byPayer.computeIfPresent(reservation.getPayer().getId(), (id, byHotel) -> {
+            byHotel.computeIfPresent(hotel, (h, entries) -> {
+                // Reservation.equals compares numbers only
+                if (entries.get(reservation.getReservationNumber()) == reservation) {
+                    entries.remove(reservation.getReservationNumber());
+                }
+                return entries.isEmpty() ? null : entries;
+            });
+            return byHotel.isEmpty() ? null : byHotel;
+        });
+    }
+
+    /**
+     * The identity's reservations by hotel name. Hotels come in the order of
+     * their lowest reservation number, reservations by number.
+     */
+    Map<String, List<Reservation>> find(Identity id) {
+        Map<Hotel, ConcurrentSkipListMap<Integer, Reservation>> byHotel = id == null ? null : byPayer.get(id);
+        if (byHotel == null) {
+            return Map.of();
+        }
+        List<Map.Entry<Hotel, List<Reservation>>> groups = new ArrayList<>();
+        for (Map.Entry<Hotel, ConcurrentSkipListMap<Integer, Reservation>> entry : byHotel.entrySet()) {
+            List<Reservation> reservations = new ArrayList<>(entry.getValue().values());
+            if (!reservations.isEmpty()) {
+                groups.add(Map.entry(entry.getKey(), reservations));
+            }
+        }
+        groups.sort(Comparator.comparingInt(group -> group.getValue().get(0).getReservationNumber()));
+        Map<String, List<Reservation>> result = new LinkedHashMap<>();
+        for (Map.Entry<Hotel, List<Reservation>> group : groups) {
+            // Two hotels of one name share a list, as they share a name lookup
+            result.computeIfAbsent(group.getKey().getName(), name -> new ArrayList<>()).addAll(group.getValue());
+        }
+        result.replaceAll((name, reservations) -> Collections.unmodifiableList(reservations));
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -0,0 +1,150 @@
+package com.hotel.core;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import com.hotel.domain.Money;
+
+/**
+ * Nightly rates for one room type of a hotel, keyed by epoch day. Nights
+ * without an explicit rate cost the base rate, normally the room type's
+ * {@link com.hotel.domain.RoomType#getCost() cost}.
+ * <p>
+ * Explicit rates are kept in minor units in a primitive array, together with
+ * prefix sums of the rates and of the nights left at the base rate, so the
+ * price of any stay is two subtractions regardless of its length. Rates
+ * change rarely and are read on every quote: a change rebuilds the arrays
+ * and publishes them in one volatile write, so {@link #price} never locks.
+ */
+public class RateCalendar {
+    private final Money baseRate;
+    private volatile Table table;
+
+    public RateCalendar(Money baseRate) {
+        if (baseRate == null) {
+            throw new IllegalArgumentException("Base rate cannot be null");
+        }
+        this.baseRate = baseRate;
+    }
+
+    public Money getBaseRate() {
+        return baseRate;
+    }
+
+    /**
+     * Charges rate for each night of [startDate, endDate).
+     *
+     * @param rate Must be in the base rate's currency and a whole number of
+     *             its minor unit.
+     */
+    public synchronized void setRate(LocalDate startDate, LocalDate endDate, Money rate) {
+        if (rate == null) {
+            throw new IllegalArgumentException("Rate cannot be null");
+        }
+        if (!rate.getCurrency().equals(baseRate.getCurrency())) {
+            throw new IllegalArgumentException("Rate must be in " + baseRate.getCurrency().getCurrencyCode());
+        }
+        if (!rate.hasExactMinorUnits()) {
+            throw new IllegalArgumentException("Rate must be a whole number of minor units");
+        }
+        update(startDate, endDate, rate.getMinorUnits());
+    }
+
+    /**
+     * Returns the nights of [startDate, endDate) to the base rate.
+     */
+    public synchronized void clearRate(LocalDate startDate, LocalDate endDate) {
+        update(startDate, endDate, Table.BASE);
+    }
+
+    /**
+     * The rate charged for the given night.
+     */
+    public Money rate(LocalDate night) {
+        if (night == null) {
+            throw new IllegalArgumentException("Night cannot be null");
+        }
+        Table current = table;
+        long day = night.toEpochDay();
+        if (current == null || day < current.baseDay || day >= current.endDay()) {
+            return baseRate;
+        }
+        long minor = current.rates[(int) (day - current.baseDay)];
+        return minor == Table.BASE ? baseRate : Money.ofMinorUnits(minor, baseRate.getCurrency());
+    }
+
+    /**
+     * Total price of the stay [startDate, endDate). O(1).
+     */
+    public Money price(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        long startDay = startDate.toEpochDay();
+        long nights = Math.max(0, endDate.toEpochDay() - startDay);
+        Table current = table;
+        if (current == null) {
+            return baseRate.times(nights);
+        }
+        long from = Math.min(Math.max(startDay, current.baseDay), current.endDay());
+        long to = Math.max(Math.min(startDay + nights, current.endDay()), from);
+        int lo = (int) (from - current.baseDay);
+        int hi = (int) (to - current.baseDay);
+        long explicit = current.rateSums[hi] - current.rateSums[lo];
+        long baseNights = nights - (to - from) + (current.baseNights[hi] - current.baseNights[lo]);
+        Money total = baseRate.times(baseNights);
+        return explicit == 0 ? total : total.plus(Money.ofMinorUnits(explicit, baseRate.getCurrency()));
+    }
+
+    private void update(LocalDate startDate, LocalDate endDate, long minor) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        long startDay = startDate.toEpochDay();
+        long endDay = endDate.toEpochDay();
+        if (endDay <= startDay) {
+            return;
+        }
+        Table current = table;
+        long baseDay = current == null ? startDay : Math.min(current.baseDay, startDay);
+        long lastDay = current == null ? endDay : Math.max(current.endDay(), endDay);
+        long[] rates = new long[Math.toIntExact(lastDay - baseDay)];
+        Arrays.fill(rates, Table.BASE);
+        if (current != null) {
+            System.arraycopy(current.rates, 0, rates, (int) (current.baseDay - baseDay), current.rates.length);
+        }
+        Arrays.fill(rates, (int) (startDay - baseDay), (int) (endDay - baseDay), minor);
+        table = new Table(baseDay, rates);
+    }
+
+    /**
+     * Immutable rate window with its prefix sums; replaced as a whole.
+     */
+    private static final class Table {
+        // Marks a night charged at the base rate; explicit rates are never negative
+        static final long BASE = -1L;
+
+        final long baseDay;
+        final long[] rates;
+        // rateSums[i] is the sum of explicit rates of the first i nights,
+        // baseNights[i] the count of base-rate nights among them
+        final long[] rateSums;
+        final int[] baseNights;
+
+        Table(long baseDay, long[] rates) {
+            this.baseDay = baseDay;
+            this.rates = rates;
+            this.rateSums = new long[rates.length + 1];
+            this.baseNights = new int[rates.length + 1];
+            for (int i = 0; i < rates.length; i++) {
+                boolean base = rates[i] == BASE;
+                rateSums[i + 1] = base ? rateSums[i] : Math.addExact(rateSums[i], rates[i]);
+                baseNights[i + 1] = baseNights[i] + (base ? 1 : 0);
+            }
+        }
+
+        long endDay() {
+            return baseDay + rates.length;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.hotel.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-hotel front end to a shared {@link ReservationNumberSequence}. The
+ * allocator takes numbers from the sequence in blocks and hands them out
+ * locally, so a busy hotel touches the shared counter once per block rather
+ * than once per booking.
+ * <p>
+ * The current block is packed into one AtomicLong (next number in the high
+ * half, exclusive limit in the low half) and advanced by CAS. If two threads
+ * refill at the same time, the losing thread's block is skipped. Numbers stay
+ * unique and increasing; they are just not dense.
+ */
+public class ReservationNumberAllocator {
+    private volatile ReservationNumberSequence sequence;
+    private volatile int blockSize;
+    private final AtomicLong block;
+
+    public ReservationNumberAllocator(ReservationNumberSequence sequence, int blockSize) {
+        if (sequence == null) {
+            throw new IllegalArgumentException("Sequence cannot be null");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.sequence = sequence;
+        this.blockSize = blockSize;
+        this.block = new AtomicLong(pack(0, 0));
+    }
+
+    public int next() {
+        while (true) {
+            long current = block.get();
+            int next = (int) (current >>> 32);
+            int limit = (int) current;
+            if (next < limit) {
+                if (block.compareAndSet(current, pack(next + 1, limit))) {
+                    return next;
+                }
+                continue;
+            }
+            int size = blockSize;
+            int first = sequence.nextBlock(size);
+            if (block.compareAndSet(current, pack(first + 1, first + size))) {
+                return first;
+            }
+        }
+    }
+
+    /**
+     * Makes sure every number this allocator hands out from now on is
+     * greater than number, as for a reservation restored with a known
+     * number. The shared sequence is advanced past it, and the rest of the
+     * current block is skipped up to it.
+     */
+    public void advancePast(int number) {
+        sequence.advancePast(number);
+        while (true) {
+            long current = block.get();
+            int next = (int) (current >>> 32);
+            int limit = (int) current;
+            if (next > number || next >= limit) {
+                return;
+            }
+            // An empty block makes the next call refill from the sequence
+            long skipped = number + 1 < limit ? pack(number + 1, limit) : pack(0, 0);
+            if (block.compareAndSet(current, skipped)) {
+                return;
+            }
+        }
+    }
+
+    public ReservationNumberSequence getSequence() {
+        return sequence;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public void setBlockSize(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Switches to another sequence, discarding the rest of the current block.
+     * The new sequence is first advanced past every number this allocator has
+     * handed out, so numbers keep increasing across the switch. Intended for
+     * setup, before the hotel takes bookings from several threads.
+     */
+    public synchronized void rebind(ReservationNumberSequence newSequence) {
+        if (newSequence == null) {
+            throw new IllegalArgumentException("Sequence cannot be null");
+        }
+        newSequence.advancePast(sequence.peek() - 1);
+        sequence = newSequence;
+        block.set(pack(0, 0));
+    }
+
+    private static long pack(int next, int limit) {
+        return ((long) next << 32) | (limit & 0xFFFFFFFFL);
+    }
+}
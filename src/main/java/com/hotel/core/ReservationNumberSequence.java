@@ -0,0 +1,59 @@
+package com.hotel.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.hotel.exception.HotelException;
+
+/**
+ * Lock-free source of reservation numbers shared by every hotel of a chain.
+ * Numbers are handed out in increasing order and are never reused, so a
+ * cancelled booking can never make its number point at another booking.
+ */
+public class ReservationNumberSequence {
+    private final AtomicLong next;
+
+    public ReservationNumberSequence() {
+        this(1);
+    }
+
+    public ReservationNumberSequence(int first) {
+        if (first < 1) {
+            throw new IllegalArgumentException("First reservation number must be positive");
+        }
+        this.next = new AtomicLong(first);
+    }
+
+    public int next() {
+        return nextBlock(1);
+    }
+
+    /**
+     * Reserves size consecutive numbers in one atomic step.
+     *
+     * @return the first number of the block.
+     */
+    public int nextBlock(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        long first = next.getAndAdd(size);
+        if (first + size > Integer.MAX_VALUE) {
+            throw new HotelException("Reservation numbers exhausted.");
+        }
+        return (int) first;
+    }
+
+    /**
+     * Makes sure every number handed out from now on is greater than number.
+     */
+    public void advancePast(int number) {
+        next.accumulateAndGet((long) number + 1, Math::max);
+    }
+
+    /**
+     * Returns the number the next allocation will start at.
+     */
+    public int peek() {
+        return (int) Math.min(next.get(), Integer.MAX_VALUE);
+    }
+}
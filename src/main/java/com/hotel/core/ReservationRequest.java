@@ -0,0 +1,62 @@
+package com.hotel.core;
+
+import java.time.LocalDate;
+
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.RoomType;
+
+/**
+ * One entry of a batch reservation, with the same arguments as
+ * {@link HotelChain#makeReservation}.
+ */
+public class ReservationRequest {
+    private final String hotelName;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final RoomType roomType;
+    private final ReserverPayer payer;
+
+    public ReservationRequest(String hotelName, LocalDate startDate, LocalDate endDate, RoomType roomType,
+            ReserverPayer payer) {
+        if (hotelName == null || hotelName.isBlank()) {
+            throw new IllegalArgumentException("Hotel name cannot be empty");
+        }
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        if (roomType == null) {
+            throw new IllegalArgumentException("RoomType cannot be null");
+        }
+        if (payer == null) {
+            throw new IllegalArgumentException("Payer cannot be null");
+        }
+        this.hotelName = hotelName;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.roomType = roomType;
+        this.payer = payer;
+    }
+
+    public String getHotelName() {
+        return hotelName;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public ReserverPayer getPayer() {
+        return payer;
+    }
+}
@@ -0,0 +1,59 @@
+package com.hotel.core;
+
+import java.util.Optional;
+
+import com.hotel.domain.Reservation;
+
+/**
+ * Outcome of one {@link ReservationRequest} in a batch: either the created
+ * reservation or the reason it could not be made.
+ */
+public class ReservationResult {
+    private final ReservationRequest request;
+    private final Reservation reservation;
+    private final String failureReason;
+
+    private ReservationResult(ReservationRequest request, Reservation reservation, String failureReason) {
+        if (request == null) {
+            throw new IllegalArgumentException("Request cannot be null");
+        }
+        this.request = request;
+        this.reservation = reservation;
+        this.failureReason = failureReason;
+    }
+
+    public static ReservationResult success(ReservationRequest request, Reservation reservation) {
+        if (reservation == null) {
+            throw new IllegalArgumentException("Reservation cannot be null");
+        }
+        return new ReservationResult(request, reservation, null);
+    }
+
+    public static ReservationResult failure(ReservationRequest request, String reason) {
+        if (reason == null || reason.isBlank()) {
+            throw new IllegalArgumentException("Failure reason cannot be empty");
+        }
+        return new ReservationResult(request, null, reason);
+    }
+
+    public ReservationRequest getRequest() {
+        return request;
+    }
+
+    public boolean isSuccess() {
+        return reservation != null;
+    }
+
+    public Optional<Reservation> getReservation() {
+        return Optional.ofNullable(reservation);
+    }
+
+    public Optional<String> getFailureReason() {
+        return Optional.ofNullable(failureReason);
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "Reserved #" + reservation.getReservationNumber() : "Failed: " + failureReason;
+    }
+}
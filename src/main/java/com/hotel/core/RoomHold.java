@@ -0,0 +1,74 @@
+package com.hotel.core;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import com.hotel.domain.Room;
+import com.hotel.util.TimingWheel;
+
+/**
+ * A room set aside for a stay for a limited time, e.g. while the guest pays.
+ * A hold is not a reservation: the room stays FREE, but neither the room nor
+ * its held nights can be booked by anyone else until the hold is confirmed,
+ * released or expires. Created by {@link Hotel#placeHold}.
+ */
+public final class RoomHold {
+
+    public enum Status {
+        ACTIVE, CONFIRMED, RELEASED, EXPIRED
+    }
+
+    private final Hotel hotel;
+    private final Room room;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long expiresAtMillis;
+    // Written under the room's type lock; volatile so getStatus can read it anywhere
+    private volatile Status status = Status.ACTIVE;
+    // Guarded by the hotel's hold wheel
+    TimingWheel.Timeout<RoomHold> timeout;
+
+    RoomHold(Hotel hotel, Room room, LocalDate startDate, LocalDate endDate, long expiresAtMillis) {
+        this.hotel = hotel;
+        this.room = room;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public Hotel getHotel() {
+        return hotel;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public Instant getExpiresAt() {
+        return Instant.ofEpochMilli(expiresAtMillis);
+    }
+
+    long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    /**
+     * Current status. An ACTIVE hold past its expiry reads ACTIVE until the
+     * hotel next looks at its holds.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    void setStatus(Status status) {
+        this.status = status;
+    }
+}
@@ -23,6 +23,18 @@ public class Address {
         this.zipCode = zipCode;
     }
 
+    public String getStreet() {
+        return street;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getZipCode() {
+        return zipCode;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
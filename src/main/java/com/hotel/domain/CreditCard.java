@@ -23,6 +23,14 @@ public class CreditCard {
         this.cvv = cvv;
     }
 
+    public String getNumber() {
+        return number;
+    }
+
+    public String getExpiryDate() {
+        return expiryDate;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
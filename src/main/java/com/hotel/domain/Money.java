@@ -2,11 +2,28 @@ package com.hotel.domain;
 
 import java.math.BigDecimal;
 import java.util.Currency;
-import java.util.Objects;
 
-public class Money {
-    private final BigDecimal amount;
+/**
+ * A non-negative amount in one currency.
+ * <p>
+ * Every Money whose amount fits the currency's minor unit (cents for USD)
+ * keeps it as a long count of minor units. Arithmetic and comparison between
+ * such values run on those longs, and their {@link BigDecimal} amount is
+ * only created when first asked for, so plus and times allocate nothing but
+ * the result. Hot loops can stay allocation-free by summing
+ * {@link #getMinorUnits()} directly and converting once with
+ * {@link #ofMinorUnits(long, Currency)}. Amounts finer than the minor unit,
+ * or too large for a long, fall back to BigDecimal arithmetic. Equality
+ * compares numeric value, so 10 and 10.00 of a currency are equal.
+ */
+public class Money implements Comparable<Money> {
+    // Created on first use for values held in minor units. BigDecimal is
+    // immutable, so a racy first write publishes safely.
+    private BigDecimal amount;
     private final Currency currency;
+    // Amount in minor units; only meaningful when minorExact is true
+    private final long minorUnits;
+    private final boolean minorExact;
 
     public Money(BigDecimal amount, Currency currency) {
         if (amount == null || amount.compareTo(BigDecimal.ZERO) < 0) {
@@ -17,16 +34,172 @@ public class Money {
         }
         this.amount = amount;
         this.currency = currency;
+        long minor = 0L;
+        boolean exact = false;
+        int digits = currency.getDefaultFractionDigits();
+        if (digits >= 0) {
+            try {
+                minor = amount.movePointRight(digits).longValueExact();
+                exact = true;
+            } catch (ArithmeticException e) {
+                // Finer than the minor unit or beyond a long: BigDecimal only
+            }
+        }
+        this.minorUnits = minor;
+        this.minorExact = exact;
+    }
+
+    private Money(long minorUnits, Currency currency) {
+        this.currency = currency;
+        this.minorUnits = minorUnits;
+        this.minorExact = true;
+    }
+
+    /**
+     * Creates money from a count of the currency's minor unit, e.g. cents.
+     * The amount gets the currency's default scale.
+     */
+    public static Money ofMinorUnits(long minorUnits, Currency currency) {
+        if (minorUnits < 0) {
+            throw new IllegalArgumentException("Amount must be non-negative");
+        }
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency must be non-null");
+        }
+        if (currency.getDefaultFractionDigits() < 0) {
+            throw new IllegalArgumentException("Currency " + currency.getCurrencyCode() + " has no minor unit");
+        }
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * Sums amounts of one currency. Values held in minor units are added as
+     * longs, so the only allocation is the result.
+     *
+     * @throws IllegalArgumentException if amounts is empty or mixes currencies.
+     */
+    public static Money sum(Iterable<Money> amounts) {
+        if (amounts == null) {
+            throw new IllegalArgumentException("Amounts cannot be null");
+        }
+        Money first = null;
+        long minor = 0L;
+        BigDecimal slow = null;
+        for (Money money : amounts) {
+            if (money == null) {
+                throw new IllegalArgumentException("Amount cannot be null");
+            }
+            if (first == null) {
+                first = money;
+            } else {
+                first.requireSameCurrency(money);
+            }
+            if (slow == null && money.minorExact) {
+                long next = minor + money.minorUnits;
+                // Both operands are non-negative, so overflow shows up as a negative sum
+                if (next >= 0) {
+                    minor = next;
+                    continue;
+                }
+            }
+            if (slow == null) {
+                slow = BigDecimal.valueOf(minor, Math.max(first.currency.getDefaultFractionDigits(), 0));
+            }
+            slow = slow.add(money.getAmount());
+        }
+        if (first == null) {
+            throw new IllegalArgumentException("Cannot sum an empty list of amounts");
+        }
+        return slow == null ? new Money(minor, first.currency) : new Money(slow, first.currency);
     }
 
     public BigDecimal getAmount() {
-        return amount;
+        BigDecimal result = amount;
+        if (result == null) {
+            // Only Money held in minor units starts without an amount
+            result = BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+            amount = result;
+        }
+        return result;
     }
 
     public Currency getCurrency() {
         return currency;
     }
 
+    /**
+     * True if the amount is a whole number of the currency's minor unit that
+     * fits in a long, i.e. {@link #getMinorUnits()} will not throw.
+     */
+    public boolean hasExactMinorUnits() {
+        return minorExact;
+    }
+
+    /**
+     * Returns the amount as a count of the currency's minor unit, e.g. cents.
+     *
+     * @throws ArithmeticException if the amount cannot be expressed exactly.
+     */
+    public long getMinorUnits() {
+        if (!minorExact) {
+            throw new ArithmeticException(getAmount() + " " + currency.getCurrencyCode()
+                    + " is not a whole number of minor units");
+        }
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        if (minorExact && other.minorExact) {
+            long sum = minorUnits + other.minorUnits;
+            if (sum >= 0) {
+                return new Money(sum, currency);
+            }
+        }
+        return new Money(getAmount().add(other.getAmount()), currency);
+    }
+
+    /**
+     * Multiplies the amount, e.g. a nightly rate by a number of nights.
+     */
+    public Money times(long factor) {
+        if (factor < 0) {
+            throw new IllegalArgumentException("Factor cannot be negative");
+        }
+        if (minorExact) {
+            long high = Math.multiplyHigh(minorUnits, factor);
+            long product = minorUnits * factor;
+            if (high == 0 && product >= 0) {
+                return new Money(product, currency);
+            }
+        }
+        return new Money(getAmount().multiply(BigDecimal.valueOf(factor)), currency);
+    }
+
+    /**
+     * Orders amounts of the same currency by value.
+     *
+     * @throws IllegalArgumentException if the currencies differ.
+     */
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        if (minorExact && other.minorExact) {
+            return Long.compare(minorUnits, other.minorUnits);
+        }
+        return getAmount().compareTo(other.getAmount());
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Money cannot be null");
+        }
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency.getCurrencyCode() + " and "
+                    + other.currency.getCurrencyCode());
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -36,16 +209,24 @@ public class Money {
 			return false;
 		}
         Money money = (Money) o;
-        return Objects.equals(amount, money.amount) && Objects.equals(currency, money.currency);
+        if (!currency.equals(money.currency)) {
+            return false;
+        }
+        if (minorExact != money.minorExact) {
+            // Equal values are either both representable in minor units or both not
+            return false;
+        }
+        return minorExact ? minorUnits == money.minorUnits : getAmount().compareTo(money.getAmount()) == 0;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(amount, currency);
+        int valueHash = minorExact ? Long.hashCode(minorUnits) : getAmount().stripTrailingZeros().hashCode();
+        return 31 * valueHash + currency.hashCode();
     }
 
     @Override
     public String toString() {
-        return amount + " " + currency.getSymbol();
+        return getAmount() + " " + currency.getSymbol();
     }
 }
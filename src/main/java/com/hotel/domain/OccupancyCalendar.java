@@ -0,0 +1,190 @@
+package com.hotel.domain;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Bitmap of booked nights for a single room, one bit per night keyed by
+ * {@link LocalDate#toEpochDay()}. Bit 0 of word 0 is the night of
+ * {@code baseDay}; the bitmap grows on demand to cover every marked night,
+ * and {@link #advanceTo(LocalDate)} drops whole words that have passed. The
+ * owning hotel advances it to the current day before each booking, so it
+ * covers a rolling horizon from today to the latest booked night, plus any
+ * stay booked in the past. Its size is not limited here; the hotel's
+ * per-night inventory limits how far apart booked nights can be.
+ * <p>
+ * A stay [start, end) occupies the nights start .. end - 1, so a stay with
+ * no nights occupies nothing. Nights before the horizon are reported free.
+ */
+public class OccupancyCalendar {
+    /** Two years of nights, rounded up to whole words. */
+    public static final int DEFAULT_HORIZON_DAYS = 768;
+
+    private long baseDay;
+    private long[] words;
+    private final int initialWords;
+
+    public OccupancyCalendar() {
+        this(DEFAULT_HORIZON_DAYS);
+    }
+
+    public OccupancyCalendar(int horizonDays) {
+        if (horizonDays <= 0) {
+            throw new IllegalArgumentException("Horizon must be positive");
+        }
+        this.initialWords = (horizonDays + 63) >>> 6;
+        this.baseDay = Long.MIN_VALUE;
+    }
+
+    public boolean isFree(LocalDate startDate, LocalDate endDate) {
+        return isFree(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /**
+     * Returns true if none of the nights [startDay, endDay) is booked.
+     */
+    public boolean isFree(long startDay, long endDay) {
+        if (words == null) {
+            return true;
+        }
+        long from = Math.max(startDay, baseDay);
+        long to = Math.min(endDay, baseDay + ((long) words.length << 6));
+        for (long day = from; day < to; ) {
+            int word = (int) ((day - baseDay) >>> 6);
+            int bit = (int) ((day - baseDay) & 63);
+            int count = (int) Math.min(64 - bit, to - day);
+            if ((words[word] & rangeMask(bit, count)) != 0) {
+                return false;
+            }
+            day += count;
+        }
+        return true;
+    }
+
+    public void mark(LocalDate startDate, LocalDate endDate) {
+        mark(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /**
+     * Marks the nights [startDay, endDay) as booked.
+     */
+    public void mark(long startDay, long endDay) {
+        if (endDay <= startDay) {
+            return;
+        }
+        ensureCovers(startDay, endDay);
+        apply(Math.max(startDay, baseDay), endDay, true);
+    }
+
+    public void clear(LocalDate startDate, LocalDate endDate) {
+        clear(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /**
+     * Marks the nights [startDay, endDay) as free.
+     */
+    public void clear(long startDay, long endDay) {
+        if (words == null || endDay <= startDay) {
+            return;
+        }
+        long to = Math.min(endDay, baseDay + ((long) words.length << 6));
+        apply(Math.max(startDay, baseDay), to, false);
+    }
+
+    /**
+     * Returns the booked-night bits for the 64 nights starting at startDay,
+     * with bit i set if night startDay + i is booked. Reads across word
+     * boundaries so callers can combine calendars word by word.
+     */
+    public long occupiedBits(long startDay) {
+        if (words == null) {
+            return 0L;
+        }
+        long offset = startDay - baseDay;
+        long result = 0L;
+        // Walk at most two source words; anything outside the bitmap is free.
+        for (int part = 0; part < 2; part++) {
+            long wordIndex = Math.floorDiv(offset, 64) + part;
+            if (wordIndex < 0 || wordIndex >= words.length) {
+                continue;
+            }
+            int shift = Math.floorMod(offset, 64);
+            long word = words[(int) wordIndex];
+            if (part == 0) {
+                result |= word >>> shift;
+            } else if (shift != 0) {
+                result |= word << (64 - shift);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ORs the free-night bits of the window [startDay, startDay + nights) into
+     * acc, where bit i of acc[i / 64] stands for night startDay + i.
+     */
+    public void orFreeNights(long startDay, int nights, long[] acc) {
+        for (int w = 0; w < acc.length && (w << 6) < nights; w++) {
+            int remaining = nights - (w << 6);
+            long valid = remaining >= 64 ? -1L : (1L << remaining) - 1;
+            acc[w] |= ~occupiedBits(startDay + ((long) w << 6)) & valid;
+        }
+    }
+
+    /**
+     * Drops every whole word that lies before the given date.
+     */
+    public void advanceTo(LocalDate date) {
+        if (words == null) {
+            return;
+        }
+        long drop = Math.floorDiv(date.toEpochDay() - baseDay, 64);
+        if (drop <= 0) {
+            return;
+        }
+        if (drop >= words.length) {
+            Arrays.fill(words, 0L);
+            baseDay = Math.floorDiv(date.toEpochDay(), 64) * 64;
+            return;
+        }
+        int shift = (int) drop;
+        System.arraycopy(words, shift, words, 0, words.length - shift);
+        Arrays.fill(words, words.length - shift, words.length, 0L);
+        baseDay += (long) shift << 6;
+    }
+
+    private void apply(long from, long to, boolean set) {
+        for (long day = from; day < to; ) {
+            int word = (int) ((day - baseDay) >>> 6);
+            int bit = (int) ((day - baseDay) & 63);
+            int count = (int) Math.min(64 - bit, to - day);
+            long mask = rangeMask(bit, count);
+            words[word] = set ? words[word] | mask : words[word] & ~mask;
+            day += count;
+        }
+    }
+
+    private void ensureCovers(long startDay, long endDay) {
+        if (words == null) {
+            baseDay = Math.floorDiv(startDay, 64) * 64;
+            words = new long[initialWords];
+        }
+        if (startDay < baseDay) {
+            // Grow backwards to cover an earlier stay
+            int extra = (int) ((baseDay - Math.floorDiv(startDay, 64) * 64) >>> 6);
+            long[] grown = new long[words.length + extra];
+            System.arraycopy(words, 0, grown, extra, words.length);
+            words = grown;
+            baseDay -= (long) extra << 6;
+        }
+        long neededWords = ((endDay - baseDay) + 63) >>> 6;
+        if (neededWords > words.length) {
+            words = Arrays.copyOf(words, (int) Math.max(neededWords, (long) words.length << 1));
+        }
+    }
+
+    private static long rangeMask(int bit, int count) {
+        long bits = count == 64 ? -1L : (1L << count) - 1;
+        return bits << bit;
+    }
+}
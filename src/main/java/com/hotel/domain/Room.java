@@ -6,8 +6,13 @@ import com.hotel.exception.HotelException;
 public class Room {
     private final int number;
     private final RoomType roomType;
-    private RoomState state;
-    private Guest occupant;
+    // Transitions are synchronized; volatile lets readers see them without locking
+    private volatile RoomState state;
+    private volatile Guest occupant;
+    // Created on first use, so a room only carries the structure its
+    // hotel's availability backend asks for
+    private volatile RoomSchedule schedule;
+    private volatile OccupancyCalendar calendar;
 
     public Room(int number, RoomType roomType) {
         if (roomType == null) {
@@ -34,10 +39,48 @@ public class Room {
         return occupant;
     }
 
+    /**
+     * Booked stays for this room, maintained by the owning hotel under its
+     * per-room-type lock when it uses the interval availability backend.
+     * Created on first call.
+     */
+    public RoomSchedule getSchedule() {
+        RoomSchedule current = schedule;
+        if (current == null) {
+            synchronized (this) {
+                current = schedule;
+                if (current == null) {
+                    current = new RoomSchedule();
+                    schedule = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Booked nights for this room as a bitmap. Only maintained by hotels that
+     * use the bitmap availability backend. Created on first call; its bits
+     * are allocated on first booking.
+     */
+    public OccupancyCalendar getCalendar() {
+        OccupancyCalendar current = calendar;
+        if (current == null) {
+            synchronized (this) {
+                current = calendar;
+                if (current == null) {
+                    current = new OccupancyCalendar();
+                    calendar = current;
+                }
+            }
+        }
+        return current;
+    }
+
     /**
      * Transitions state from FREE to RESERVED.
      */
-    public void makeReservation() {
+    public synchronized void makeReservation() {
         if (state != RoomState.FREE) {
             throw new HotelException(
                     String.format("Room %d is not free (current state: %s). Cannot make reservation.", number, state));
@@ -48,7 +91,7 @@ public class Room {
     /**
      * Transitions state from RESERVED to FREE.
      */
-    public void cancelReservation() {
+    public synchronized void cancelReservation() {
         if (state != RoomState.RESERVED) {
             throw new HotelException(String
                     .format("Room %d is not reserved (current state: %s). Cannot cancel reservation.", number, state));
@@ -61,7 +104,7 @@ public class Room {
      * 
      * @param guest The guest checking in.
      */
-    public void checkInGuest(Guest guest) {
+    public synchronized void checkInGuest(Guest guest) {
         if (state != RoomState.RESERVED) {
             throw new HotelException(
                     String.format("Room %d must be reserved before check-in (current state: %s).", number, state));
@@ -76,7 +119,7 @@ public class Room {
     /**
      * Transitions state from OCCUPIED to FREE.
      */
-    public void checkOutGuest() {
+    public synchronized void checkOutGuest() {
         if (state != RoomState.OCCUPIED) {
             throw new HotelException(
                     String.format("Room %d is not occupied (current state: %s). Cannot check out.", number, state));
@@ -85,6 +128,25 @@ public class Room {
         this.occupant = null;
     }
 
+    /**
+     * Puts the room straight into a recorded state, bypassing the transition
+     * rules. Only meant for rebuilding a room from a snapshot before it is
+     * used.
+     *
+     * @param occupant The guest in the room; required for OCCUPIED and
+     *                 ignored otherwise.
+     */
+    public synchronized void restoreState(RoomState state, Guest occupant) {
+        if (state == null) {
+            throw new IllegalArgumentException("State cannot be null");
+        }
+        if (state == RoomState.OCCUPIED && occupant == null) {
+            throw new IllegalArgumentException("An occupied room needs an occupant");
+        }
+        this.state = state;
+        this.occupant = state == RoomState.OCCUPIED ? occupant : null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -0,0 +1,75 @@
+package com.hotel.domain;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.hotel.exception.HotelException;
+
+/**
+ * Sorted, non-overlapping set of booked stays for a single room.
+ * Stays are half-open intervals [start, end) keyed by their start date, so
+ * an overlap check only has to look at the stay that starts closest before
+ * the requested end date.
+ */
+public class RoomSchedule {
+    private final TreeMap<LocalDate, LocalDate> stays;
+
+    public RoomSchedule() {
+        this.stays = new TreeMap<>();
+    }
+
+    /**
+     * Returns true if no booked stay overlaps [startDate, endDate).
+     * Uses the same overlap condition as the reservation scan it replaces:
+     * (StartA < EndB) and (EndA > StartB).
+     *
+     * @throws IllegalArgumentException unless endDate is after startDate.
+     */
+    public boolean isFree(LocalDate startDate, LocalDate endDate) {
+        checkStay(startDate, endDate);
+        // Stays do not overlap, so the latest one starting before endDate
+        // also has the latest end of all stays starting before endDate.
+        Map.Entry<LocalDate, LocalDate> candidate = stays.lowerEntry(endDate);
+        return candidate == null || !candidate.getValue().isAfter(startDate);
+    }
+
+    /**
+     * Records the stay [startDate, endDate). Accepts exactly the stays
+     * {@link #isFree} reports free.
+     *
+     * @throws IllegalArgumentException unless endDate is after startDate.
+     */
+    public void book(LocalDate startDate, LocalDate endDate) {
+        if (!isFree(startDate, endDate)) {
+            throw new HotelException("Stay " + startDate + " to " + endDate + " overlaps an existing booking.");
+        }
+        stays.put(startDate, endDate);
+    }
+
+    /**
+     * Removes the stay that starts on startDate.
+     *
+     * @return true if a stay was removed.
+     */
+    public boolean release(LocalDate startDate) {
+        return stays.remove(startDate) != null;
+    }
+
+    public int size() {
+        return stays.size();
+    }
+
+    /**
+     * A stay has at least one night; with none, two stays could share a
+     * start date, which is the key of the stay.
+     */
+    private static void checkStay(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (!endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+    }
+}
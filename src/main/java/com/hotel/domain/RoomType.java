@@ -5,6 +5,9 @@ import java.util.Objects;
 public class RoomType {
     private final RoomKind kind;
     private final Money cost;
+    // Registry id plus one, so the default of zero means not yet looked up.
+    // Equal types share an id, so a racing lookup writes the same value.
+    private int idPlusOne;
 
     public RoomType(RoomKind kind, Money cost) {
         if (kind == null) {
@@ -25,6 +28,19 @@ public class RoomType {
         return cost;
     }
 
+    /**
+     * Dense id of this type in the {@link RoomTypeRegistry}, shared by all
+     * equal room types. Looked up once per instance and cached.
+     */
+    public int getId() {
+        int cached = idPlusOne;
+        if (cached == 0) {
+            cached = RoomTypeRegistry.idOf(this) + 1;
+            idPlusOne = cached;
+        }
+        return cached - 1;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,74 @@
+package com.hotel.domain;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide table of canonical {@link RoomType}s. Each distinct room type
+ * (by kind and cost) is assigned a dense int id on first sight, starting at
+ * zero, so per-type data can be ordered and looked up by
+ * {@link RoomType#getId()} instead of hash maps keyed by deep equality.
+ * <p>
+ * Ids are never reused or released: the registry holds one entry per
+ * distinct room type the process has ever seen, including types of hotels
+ * long gone, and ids keep growing with them. Do not size per-hotel tables
+ * by id; a hotel keeps its per-type data in a table as large as its own
+ * types, sorted by id. Safe for concurrent use.
+ */
+public final class RoomTypeRegistry {
+    private static final ConcurrentHashMap<RoomType, Integer> IDS = new ConcurrentHashMap<>();
+    private static final Object LOCK = new Object();
+    // Canonical instance per id; replaced, never mutated, once published
+    private static volatile RoomType[] byId = new RoomType[0];
+
+    private RoomTypeRegistry() {
+    }
+
+    /**
+     * Returns the id of the given room type, registering it if it has not
+     * been seen before. Equal room types always get the same id.
+     */
+    public static int idOf(RoomType roomType) {
+        if (roomType == null) {
+            throw new IllegalArgumentException("Room type cannot be null");
+        }
+        Integer id = IDS.get(roomType);
+        if (id != null) {
+            return id;
+        }
+        synchronized (LOCK) {
+            id = IDS.get(roomType);
+            if (id == null) {
+                id = byId.length;
+                RoomType[] grown = Arrays.copyOf(byId, id + 1);
+                grown[id] = roomType;
+                byId = grown;
+                IDS.put(roomType, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Returns the first registered instance equal to roomType, registering
+     * roomType itself if it is new.
+     */
+    public static RoomType canonical(RoomType roomType) {
+        return byId(idOf(roomType));
+    }
+
+    public static RoomType byId(int id) {
+        RoomType[] table = byId;
+        if (id < 0 || id >= table.length) {
+            throw new IllegalArgumentException("Unknown room type id " + id);
+        }
+        return table[id];
+    }
+
+    /**
+     * Number of ids handed out so far; every id is below this.
+     */
+    public static int size() {
+        return byId.length;
+    }
+}
@@ -0,0 +1,14 @@
+package com.hotel.events;
+
+/**
+ * Receives room state transitions on a subscription's own thread.
+ */
+@FunctionalInterface
+public interface RoomEventConsumer {
+
+    /**
+     * Handles one event. The event object is reused for the next call; see
+     * {@link RoomStateEvent}.
+     */
+    void onEvent(RoomStateEvent event);
+}
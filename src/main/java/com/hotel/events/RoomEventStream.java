@@ -0,0 +1,251 @@
+package com.hotel.events;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import com.hotel.core.ChainMutationListener;
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.domain.Guest;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomState;
+
+/**
+ * Stream of every room state transition of a {@link HotelChain}, published
+ * through a preallocated ring buffer.
+ * <p>
+ * Register the stream with {@link HotelChain#addMutationListener} and attach
+ * consumers with {@link #subscribe}. Each subscription drains the ring on its
+ * own daemon thread. Publishing claims a slot with a CAS and writes a few
+ * primitive fields; it never allocates and never waits for consumers. A
+ * consumer that falls more than the ring's capacity behind skips the events
+ * it missed and counts them as dropped. With no subscription attached,
+ * publishing is a single volatile read.
+ * <p>
+ * Events of one room are published while the room is locked, so they appear
+ * in the stream in the order the room went through them.
+ */
+public class RoomEventStream implements ChainMutationListener {
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    // Slot sequence while a producer is writing it
+    private static final long WRITING = Long.MIN_VALUE;
+    private static final long EMPTY = -1L;
+    private static final RoomState[] STATES = RoomState.values();
+    private static final long MAX_IDLE_PARK_NANOS = 1_000_000L;
+
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+    // Sequence of the event held by each slot, published last
+    private final AtomicLongArray slotSequences;
+    private final long[] timestamps;
+    private final String[] hotelNames;
+    private final int[] roomNumbers;
+    private final byte[] fromStates;
+    private final byte[] toStates;
+    private final int[] reservationNumbers;
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    public RoomEventStream() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Number of slots; a power of two.
+     */
+    public RoomEventStream(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two of at least 2");
+        }
+        this.mask = capacity - 1;
+        this.slotSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slotSequences.set(i, EMPTY);
+        }
+        this.timestamps = new long[capacity];
+        this.hotelNames = new String[capacity];
+        this.roomNumbers = new int[capacity];
+        this.fromStates = new byte[capacity];
+        this.toStates = new byte[capacity];
+        this.reservationNumbers = new int[capacity];
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Number of events published so far, including any no consumer saw.
+     */
+    public long getPublishedCount() {
+        return cursor.get();
+    }
+
+    /**
+     * Starts delivering events published from now on to consumer, on a new
+     * daemon thread. Close the subscription to stop it.
+     */
+    public Subscription subscribe(RoomEventConsumer consumer) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+        Subscription subscription = new Subscription(consumer, cursor.get());
+        subscriberCount.incrementAndGet();
+        subscription.thread.start();
+        return subscription;
+    }
+
+    @Override
+    public void reservationCreated(Hotel hotel, Reservation reservation) {
+        publish(hotel, reservation.getRoom(), RoomState.FREE, RoomState.RESERVED, reservation.getReservationNumber());
+    }
+
+    @Override
+    public void reservationCancelled(Hotel hotel, Reservation reservation) {
+        publish(hotel, reservation.getRoom(), RoomState.RESERVED, RoomState.FREE, reservation.getReservationNumber());
+    }
+
+    @Override
+    public void guestCheckedIn(Hotel hotel, Room room, Guest guest) {
+        publish(hotel, room, RoomState.RESERVED, RoomState.OCCUPIED, 0);
+    }
+
+    @Override
+    public void guestCheckedOut(Hotel hotel, Room room) {
+        publish(hotel, room, RoomState.OCCUPIED, RoomState.FREE, 0);
+    }
+
+    /**
+     * Publishes one transition. Returns at once when nobody is subscribed.
+     */
+    public void publish(Hotel hotel, Room room, RoomState from, RoomState to, int reservationNumber) {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        long sequence = cursor.getAndIncrement();
+        int slot = (int) (sequence & mask);
+        // Take the slot from whatever older event it holds. A producer a
+        // whole lap ahead may already own it, in which case this event is
+        // stale for every consumer and is dropped.
+        while (true) {
+            long held = slotSequences.get(slot);
+            if (held >= sequence) {
+                return;
+            }
+            if (held != WRITING && slotSequences.compareAndSet(slot, held, WRITING)) {
+                break;
+            }
+            Thread.onSpinWait();
+        }
+        timestamps[slot] = System.currentTimeMillis();
+        hotelNames[slot] = hotel.getName();
+        roomNumbers[slot] = room.getNumber();
+        fromStates[slot] = (byte) from.ordinal();
+        toStates[slot] = (byte) to.ordinal();
+        reservationNumbers[slot] = reservationNumber;
+        slotSequences.set(slot, sequence);
+    }
+
+    /**
+     * A consumer attached to the stream, with its delivery thread.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final RoomEventConsumer consumer;
+        private final Thread thread;
+        private final RoomStateEvent event = new RoomStateEvent();
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile boolean running = true;
+        private long next;
+
+        private Subscription(RoomEventConsumer consumer, long first) {
+            this.consumer = consumer;
+            this.next = first;
+            this.thread = new Thread(this::drain, "room-events-" + threadIds.incrementAndGet());
+            this.thread.setDaemon(true);
+        }
+
+        public long getDeliveredCount() {
+            return delivered.get();
+        }
+
+        /**
+         * Events this consumer skipped because it fell a full ring behind.
+         */
+        public long getDroppedCount() {
+            return dropped.get();
+        }
+
+        /**
+         * Stops delivery and waits for the delivery thread to finish its
+         * current event.
+         */
+        @Override
+        public synchronized void close() {
+            if (!running) {
+                return;
+            }
+            running = false;
+            subscriberCount.decrementAndGet();
+            LockSupport.unpark(thread);
+            if (Thread.currentThread() != thread) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void drain() {
+            long idleNanos = 1_000L;
+            while (running) {
+                long published = cursor.get();
+                if (next >= published) {
+                    LockSupport.parkNanos(idleNanos);
+                    idleNanos = Math.min(idleNanos * 2, MAX_IDLE_PARK_NANOS);
+                    continue;
+                }
+                idleNanos = 1_000L;
+                long oldest = published - (mask + 1);
+                if (next < oldest) {
+                    dropped.addAndGet(oldest - next);
+                    next = oldest;
+                }
+                int slot = (int) (next & mask);
+                long held = slotSequences.get(slot);
+                if (held < next) {
+                    // Claimed but not yet written; the producer is mid-publish
+                    Thread.onSpinWait();
+                    continue;
+                }
+                if (held > next) {
+                    dropped.incrementAndGet();
+                    next++;
+                    continue;
+                }
+                event.set(held, timestamps[slot], hotelNames[slot], roomNumbers[slot], STATES[fromStates[slot]],
+                        STATES[toStates[slot]], reservationNumbers[slot]);
+                // The fields must still belong to the same event after the copy
+                VarHandle.acquireFence();
+                if (slotSequences.get(slot) != held) {
+                    dropped.incrementAndGet();
+                    next++;
+                    continue;
+                }
+                next++;
+                try {
+                    consumer.onEvent(event);
+                } catch (RuntimeException e) {
+                    // A failing consumer must not stop its own subscription
+                }
+                delivered.incrementAndGet();
+            }
+        }
+    }
+}
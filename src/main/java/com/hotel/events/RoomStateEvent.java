@@ -0,0 +1,86 @@
+package com.hotel.events;
+
+import com.hotel.domain.RoomState;
+
+/**
+ * One room state transition, as seen by a {@link RoomEventConsumer}.
+ * <p>
+ * Each subscription reuses a single instance for every event it delivers,
+ * so the booking path never allocates. Read what you need inside
+ * {@link RoomEventConsumer#onEvent}, or take a {@link #copy()}.
+ */
+public final class RoomStateEvent {
+    private long sequence;
+    private long timestampMillis;
+    private String hotelName;
+    private int roomNumber;
+    private RoomState from;
+    private RoomState to;
+    private int reservationNumber;
+
+    RoomStateEvent() {
+    }
+
+    void set(long sequence, long timestampMillis, String hotelName, int roomNumber, RoomState from, RoomState to,
+            int reservationNumber) {
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.hotelName = hotelName;
+        this.roomNumber = roomNumber;
+        this.from = from;
+        this.to = to;
+        this.reservationNumber = reservationNumber;
+    }
+
+    /**
+     * Position of the event in the stream. Gaps mean events were dropped
+     * because this consumer fell too far behind.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getHotelName() {
+        return hotelName;
+    }
+
+    public int getRoomNumber() {
+        return roomNumber;
+    }
+
+    public RoomState getFrom() {
+        return from;
+    }
+
+    public RoomState getTo() {
+        return to;
+    }
+
+    /**
+     * The reservation behind a reserve or cancel transition, or 0 for
+     * check-in and check-out.
+     */
+    public int getReservationNumber() {
+        return reservationNumber;
+    }
+
+    public RoomStateEvent copy() {
+        RoomStateEvent copy = new RoomStateEvent();
+        copy.set(sequence, timestampMillis, hotelName, roomNumber, from, to, reservationNumber);
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return "RoomStateEvent{" +
+                "sequence=" + sequence +
+                ", hotel=" + hotelName +
+                ", room=" + roomNumber +
+                ", " + from + "->" + to +
+                '}';
+    }
+}
@@ -4,4 +4,8 @@ public class HotelException extends RuntimeException {
     public HotelException(String message) {
         super(message);
     }
+
+    public HotelException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -0,0 +1,114 @@
+package com.hotel.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call counters, failure counters and latency histograms per
+ * {@link Operation}, plus failure counters per hotel.
+ * <p>
+ * Callers bracket an operation with {@link #start()} and
+ * {@link #succeeded} or {@link #failed}. While metrics are disabled
+ * {@code start()} returns {@link #DISABLED} without reading the clock and
+ * the completion calls return on that value, so the cost is one volatile
+ * read. Recording uses striped adders and lock-free histograms only.
+ */
+public class BookingMetrics {
+    /** Start token handed out while recording is disabled. */
+    public static final long DISABLED = Long.MIN_VALUE;
+    /** Hotel name that failures for names of no known hotel are counted under. */
+    public static final String UNKNOWN_HOTEL = "(unknown)";
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private volatile boolean enabled;
+    private final LongAdder[] calls;
+    private final LongAdder[] failures;
+    private final LatencyHistogram[] latencies;
+    private final ConcurrentHashMap<String, LongAdder> hotelFailures;
+
+    public BookingMetrics() {
+        this.calls = new LongAdder[OPERATIONS.length];
+        this.failures = new LongAdder[OPERATIONS.length];
+        this.latencies = new LatencyHistogram[OPERATIONS.length];
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            calls[i] = new LongAdder();
+            failures[i] = new LongAdder();
+            latencies[i] = new LatencyHistogram();
+        }
+        this.hotelFailures = new ConcurrentHashMap<>();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the start time of an operation, or {@link #DISABLED}.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : DISABLED;
+    }
+
+    public void succeeded(Operation operation, long started) {
+        if (started == DISABLED) {
+            return;
+        }
+        record(operation, started);
+    }
+
+    /**
+     * Records a failed operation, charging the failure to hotelName when it
+     * is given. Every distinct name gets a counter of its own, so callers
+     * pass a registered hotel's canonical name or {@link #UNKNOWN_HOTEL},
+     * never a name taken straight from a request.
+     */
+    public void failed(Operation operation, String hotelName, long started) {
+        if (started == DISABLED) {
+            return;
+        }
+        record(operation, started);
+        failures[operation.ordinal()].increment();
+        if (hotelName != null) {
+            hotelFailures.computeIfAbsent(hotelName, name -> new LongAdder()).increment();
+        }
+    }
+
+    private void record(Operation operation, long started) {
+        int index = operation.ordinal();
+        calls[index].increment();
+        latencies[index].record(Math.max(0L, System.nanoTime() - started));
+    }
+
+    /**
+     * Copies every counter and histogram. Operations still running are not
+     * included; the copy is not atomic across counters.
+     */
+    public MetricsSnapshot snapshot() {
+        Map<Operation, MetricsSnapshot.OperationStats> operations = new EnumMap<>(Operation.class);
+        for (Operation operation : OPERATIONS) {
+            int index = operation.ordinal();
+            operations.put(operation, new MetricsSnapshot.OperationStats(calls[index].sum(),
+                    failures[index].sum(), latencies[index].snapshot()));
+        }
+        Map<String, Long> failuresByHotel = new TreeMap<>();
+        hotelFailures.forEach((name, count) -> failuresByHotel.put(name, count.sum()));
+        return new MetricsSnapshot(operations, failuresByHotel);
+    }
+
+    public void reset() {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            calls[i].reset();
+            failures[i].reset();
+            latencies[i].reset();
+        }
+        hotelFailures.clear();
+    }
+}
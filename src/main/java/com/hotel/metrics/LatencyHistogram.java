@@ -0,0 +1,91 @@
+package com.hotel.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of non-negative values, typically
+ * latencies in nanoseconds.
+ * <p>
+ * As in an HDR histogram, values are grouped by their highest set bit and
+ * each such power-of-two range is split into {@value #SUB_BUCKETS} equal
+ * sub-buckets, so every recorded value is kept to within about 3%. The whole
+ * long range fits in a fixed array of counters. Recording is one bucket index
+ * computation and a few atomic increments, so concurrent recorders never
+ * block each other.
+ */
+public class LatencyHistogram {
+    static final int SUB_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BITS;
+    // Values below SUB_BUCKETS each get an exact bucket; every higher power
+    // of two (2^5 .. 2^62) gets SUB_BUCKETS more
+    static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value cannot be negative");
+        }
+        counts.incrementAndGet(bucketOf(value));
+        total.increment();
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Copies the current counts. Values recorded concurrently may or may not
+     * be included.
+     */
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new HistogramSnapshot(copy, count, sum.sum(), max.get());
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0L);
+        }
+        total.reset();
+        sum.reset();
+        max.set(0L);
+    }
+
+    public long getCount() {
+        return total.sum();
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BITS;
+        int offset = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + offset;
+    }
+
+    /**
+     * Highest value that falls into the given bucket.
+     */
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long offset = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        long lowest = (SUB_BUCKETS + offset) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,96 @@
+package com.hotel.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of {@link BookingMetrics}.
+ */
+public final class MetricsSnapshot {
+    private final Map<Operation, OperationStats> operations;
+    private final Map<String, Long> hotelFailures;
+
+    MetricsSnapshot(Map<Operation, OperationStats> operations, Map<String, Long> hotelFailures) {
+        this.operations = Collections.unmodifiableMap(new EnumMap<>(operations));
+        this.hotelFailures = Collections.unmodifiableMap(new LinkedHashMap<>(hotelFailures));
+    }
+
+    public OperationStats get(Operation operation) {
+        return operations.get(operation);
+    }
+
+    public Map<Operation, OperationStats> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Failed operations per hotel name, in name order.
+     */
+    public Map<String, Long> getHotelFailures() {
+        return hotelFailures;
+    }
+
+    /**
+     * Renders the snapshot as one {@code key value} line per metric, with
+     * latencies in microseconds, for logs or a scrape endpoint.
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<Operation, OperationStats> entry : operations.entrySet()) {
+            String name = entry.getKey().name().toLowerCase(Locale.ROOT);
+            OperationStats stats = entry.getValue();
+            HistogramSnapshot latency = stats.getLatency();
+            line(out, name + "_calls", stats.getCalls());
+            line(out, name + "_failures", stats.getFailures());
+            line(out, name + "_latency_p50_us", latency.valueAtPercentile(50) / 1_000L);
+            line(out, name + "_latency_p99_us", latency.valueAtPercentile(99) / 1_000L);
+            line(out, name + "_latency_max_us", latency.getMax() / 1_000L);
+        }
+        for (Map.Entry<String, Long> entry : hotelFailures.entrySet()) {
+            out.append("hotel_failures{hotel=\"").append(escapeLabel(entry.getKey())).append("\"} ")
+                    .append(entry.getValue()).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Escapes a label value the way the text exposition format expects.
+     */
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static void line(StringBuilder out, String key, long value) {
+        out.append(key).append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Counters and latency distribution of one operation.
+     */
+    public static final class OperationStats {
+        private final long calls;
+        private final long failures;
+        private final HistogramSnapshot latency;
+
+        OperationStats(long calls, long failures, HistogramSnapshot latency) {
+            this.calls = calls;
+            this.failures = failures;
+            this.latency = latency;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public HistogramSnapshot getLatency() {
+            return latency;
+        }
+    }
+}
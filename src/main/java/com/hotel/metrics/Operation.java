@@ -0,0 +1,15 @@
+package com.hotel.metrics;
+
+/**
+ * Booking operations measured by {@link BookingMetrics}.
+ */
+public enum Operation {
+    AVAILABILITY,
+    SEARCH_AVAILABILITY,
+    MAKE_RESERVATION,
+    BATCH_RESERVATION,
+    GROUP_RESERVATION,
+    CANCEL_RESERVATION,
+    CHECK_IN,
+    CHECK_OUT;
+}
@@ -0,0 +1,512 @@
+package com.hotel.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import com.hotel.core.ChainMutationListener;
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.domain.Address;
+import com.hotel.domain.CreditCard;
+import com.hotel.domain.Guest;
+import com.hotel.domain.Identity;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.Room;
+import com.hotel.exception.HotelException;
+
+/**
+ * Append-only binary journal of {@link HotelChain} mutations.
+ * <p>
+ * Register an open journal with {@link HotelChain#addMutationListener}. Each
+ * change is encoded into a memory buffer while the affected room is still
+ * locked, so the journal order matches the order in which changes to a room
+ * were applied. A single flusher thread writes whatever has accumulated and
+ * fsyncs it once (group commit). A mutating thread returns only after the
+ * flush that covers its record, so every call that returned is durable, and
+ * concurrent callers share one fsync.
+ * <p>
+ * Once a write or fsync fails the journal is broken: every later append and
+ * sync throws at once rather than buffering records that can never become
+ * durable. As for any throwing {@link ChainMutationListener}, the change
+ * being appended has already been applied in memory and stays applied; only
+ * the caller is told it failed.
+ * <p>
+ * Records are framed as {@code [int length][int crc32][body]}. Replay stops
+ * at the first torn or corrupt record, and {@link #open} truncates such a
+ * tail before appending. The journal holds mutations only. Replay it into a
+ * chain that already has the same hotels and rooms, before attaching a new
+ * journal. To recover from a {@link ChainSnapshot}, replay only the records
+ * after the {@link #position} the snapshot was cut at, see
+ * {@link ChainSnapshot#recover}. Card numbers are written masked to their
+ * last four digits, and expiry dates and security codes not at all, so
+ * replayed cards can identify a card but not charge it.
+ */
+public class ChainJournal implements ChainMutationListener, AutoCloseable {
+    static final byte PAYER = 1;
+    static final byte RESERVE = 2;
+    static final byte CANCEL = 3;
+    static final byte CHECK_IN = 4;
+    static final byte CHECK_OUT = 5;
+
+    private static final int HEADER_BYTES = 8;
+    static final String MASKED_CVV = "***";
+    static final String MASKED_EXPIRY = "**/**";
+
+    private final FileChannel channel;
+    private final Thread flusher;
+    // A ReentrantLock rather than a monitor, so that virtual threads
+    // waiting for a flush do not pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    // Guarded by lock
+    private byte[] pending = new byte[64 * 1024];
+    private int pendingSize;
+    private long appended;
+    // File offset just past the last appended record
+    private long position;
+    private long durable;
+    private IOException failure;
+    private boolean closed;
+
+    private ChainJournal(FileChannel channel, long position) {
+        this.channel = channel;
+        this.position = position;
+        this.flusher = new Thread(this::flushLoop, "chain-journal-flusher");
+        this.flusher.setDaemon(true);
+    }
+
+    /**
+     * Opens the journal for appending, creating it if needed and cutting off
+     * any torn record left by a crash.
+     */
+    public static ChainJournal open(Path path) throws IOException {
+        long valid = Files.exists(path) ? scan(path, null) : 0L;
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ);
+        channel.truncate(valid);
+        channel.position(valid);
+        ChainJournal journal = new ChainJournal(channel, valid);
+        journal.flusher.start();
+        return journal;
+    }
+
+    /**
+     * Applies every intact record of the journal to the chain.
+     *
+     * @return the number of records applied.
+     */
+    public static int replay(Path path, HotelChain chain) throws IOException {
+        return replay(path, chain, 0L);
+    }
+
+    /**
+     * Applies the intact records that start at or after the given file
+     * position, as returned by {@link #position}, to the chain.
+     *
+     * @return the number of records applied.
+     * @throws HotelException if the position is not the start of a record of
+     *                        this journal.
+     */
+    public static int replay(Path path, HotelChain chain, long fromPosition) throws IOException {
+        if (chain == null) {
+            throw new IllegalArgumentException("Chain cannot be null");
+        }
+        if (fromPosition < 0) {
+            throw new IllegalArgumentException("Journal position cannot be negative");
+        }
+        if (!Files.exists(path)) {
+            if (fromPosition > 0) {
+                throw new HotelException("Journal " + path + " does not exist.");
+            }
+            return 0;
+        }
+        Replayer replayer = new Replayer(chain, fromPosition);
+        scan(path, replayer);
+        if (!replayer.reachedStart) {
+            throw new HotelException("Journal " + path + " has no record at position " + fromPosition + ".");
+        }
+        return replayer.applied;
+    }
+
+    @Override
+    public void payerCreated(ReserverPayer payer) {
+        append(PAYER, out -> writePayer(out, payer));
+    }
+
+    @Override
+    public void reservationCreated(Hotel hotel, Reservation reservation) {
+        append(RESERVE, out -> {
+            out.writeUTF(hotel.getName());
+            out.writeInt(reservation.getReservationNumber());
+            out.writeLong(reservation.getStartDate().toEpochDay());
+            out.writeLong(reservation.getEndDate().toEpochDay());
+            out.writeInt(reservation.getRoom().getNumber());
+            writePayer(out, reservation.getPayer());
+        });
+    }
+
+    @Override
+    public void reservationCancelled(Hotel hotel, Reservation reservation) {
+        append(CANCEL, out -> {
+            out.writeUTF(hotel.getName());
+            out.writeInt(reservation.getReservationNumber());
+        });
+    }
+
+    @Override
+    public void guestCheckedIn(Hotel hotel, Room room, Guest guest) {
+        append(CHECK_IN, out -> {
+            out.writeUTF(hotel.getName());
+            out.writeInt(room.getNumber());
+            out.writeUTF(guest.getName());
+            out.writeUTF(guest.getAddressDetails().getStreet());
+            out.writeUTF(guest.getAddressDetails().getCity());
+            out.writeUTF(guest.getAddressDetails().getZipCode());
+            out.writeBoolean(guest.getId() != null);
+            if (guest.getId() != null) {
+                writeIdentity(out, guest.getId());
+            }
+        });
+    }
+
+    @Override
+    public void guestCheckedOut(Hotel hotel, Room room) {
+        append(CHECK_OUT, out -> {
+            out.writeUTF(hotel.getName());
+            out.writeInt(room.getNumber());
+        });
+    }
+
+    /**
+     * File offset just past the last record appended so far, whether or not
+     * it has been flushed. Replaying from this position skips every record
+     * appended before the call.
+     */
+    public long position() {
+        lock.lock();
+        try {
+            return position;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the flush covering every record appended so far.
+     */
+    @Override
+    public void afterMutation() {
+        sync();
+    }
+
+    public void sync() {
+        lock.lock();
+        try {
+            long target = appended;
+            while (durable < target && failure == null) {
+                try {
+                    changed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new HotelException("Interrupted while waiting for journal flush.", e);
+                }
+            }
+            if (failure != null && durable < target) {
+                throw new HotelException("Journal write failed.", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes outstanding records and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private void append(byte type, Body body) {
+        byte[] record = encode(type, body);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new HotelException("Journal is closed.");
+            }
+            if (failure != null) {
+                throw new HotelException("Journal write failed.", failure);
+            }
+            if (pendingSize + record.length > pending.length) {
+                byte[] grown = new byte[Math.max(pending.length * 2, pendingSize + record.length)];
+                System.arraycopy(pending, 0, grown, 0, pendingSize);
+                pending = grown;
+            }
+            System.arraycopy(record, 0, pending, pendingSize, record.length);
+            pendingSize += record.length;
+            position += record.length;
+            appended++;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        // Two buffers swap roles so appenders never wait on disk I/O
+        byte[] spare = new byte[pending.length];
+        while (true) {
+            byte[] batch;
+            int batchSize;
+            long batchEnd;
+            lock.lock();
+            try {
+                while (pendingSize == 0 && !closed) {
+                    try {
+                        changed.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (pendingSize == 0) {
+                    return;
+                }
+                batch = pending;
+                batchSize = pendingSize;
+                batchEnd = appended;
+                pending = spare.length >= batch.length ? spare : new byte[batch.length];
+                pendingSize = 0;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(batch, 0, batchSize);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                lock.lock();
+                try {
+                    failure = e;
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+            lock.lock();
+            try {
+                durable = batchEnd;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            spare = batch;
+        }
+    }
+
+    static byte[] encode(byte type, Body body) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(type);
+            body.write(out);
+            out.flush();
+            byte[] record = bytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(record, HEADER_BYTES, record.length - HEADER_BYTES);
+            ByteBuffer header = ByteBuffer.wrap(record, 0, HEADER_BYTES);
+            header.putInt(record.length - HEADER_BYTES);
+            header.putInt((int) crc.getValue());
+            return record;
+        } catch (IOException e) {
+            throw new HotelException("Could not encode journal record.", e);
+        }
+    }
+
+    /**
+     * Walks the intact records of the file, handing each body to the
+     * replayer if one is given.
+     *
+     * @return the length of the intact prefix of the file.
+     */
+    private static long scan(Path path, Replayer replayer) throws IOException {
+        long valid = 0;
+        try (InputStream raw = Files.newInputStream(path);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 64 * 1024))) {
+            while (true) {
+                int length;
+                int checksum;
+                byte[] body;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0) {
+                        break;
+                    }
+                    body = new byte[length];
+                    in.readFully(body);
+                } catch (EOFException e) {
+                    break;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                if (replayer != null) {
+                    replayer.accept(valid, body);
+                }
+                valid += HEADER_BYTES + length;
+            }
+        }
+        if (replayer != null && valid == replayer.fromPosition) {
+            replayer.reachedStart = true;
+        }
+        return valid;
+    }
+
+    static void writeIdentity(DataOutputStream out, Identity identity) throws IOException {
+        out.writeUTF(identity.getType());
+        out.writeUTF(identity.getIdNumber());
+    }
+
+    static Identity readIdentity(DataInputStream in) throws IOException {
+        return new Identity(in.readUTF(), in.readUTF());
+    }
+
+    static void writePayer(DataOutputStream out, ReserverPayer payer) throws IOException {
+        writeIdentity(out, payer.getId());
+        out.writeUTF(maskNumber(payer.getCreditCardDetails().getNumber()));
+    }
+
+    static ReserverPayer readPayer(DataInputStream in) throws IOException {
+        Identity identity = readIdentity(in);
+        return new ReserverPayer(identity, maskedCard(in.readUTF()));
+    }
+
+    /**
+     * The card number as persisted: every digit but the last four replaced,
+     * keeping the length.
+     */
+    static String maskNumber(String number) {
+        int keep = Math.min(4, number.length());
+        return "*".repeat(number.length() - keep) + number.substring(number.length() - keep);
+    }
+
+    /**
+     * A card rebuilt from a persisted masked number, with placeholder expiry
+     * date and security code.
+     */
+    static CreditCard maskedCard(String maskedNumber) {
+        return new CreditCard(maskedNumber, MASKED_EXPIRY, MASKED_CVV);
+    }
+
+    /**
+     * Applies decoded records from a start position on to a chain, reusing
+     * one payer instance per identity, the chain's own where it has one.
+     */
+    private static final class Replayer {
+        private final HotelChain chain;
+        private final long fromPosition;
+        private final Map<Identity, ReserverPayer> payers = new HashMap<>();
+        private boolean reachedStart;
+        private int applied;
+
+        Replayer(HotelChain chain, long fromPosition) {
+            this.chain = chain;
+            this.fromPosition = fromPosition;
+        }
+
+        void accept(long offset, byte[] body) throws IOException {
+            if (offset == fromPosition) {
+                reachedStart = true;
+            } else if (offset > fromPosition && !reachedStart) {
+                throw new HotelException("Journal has no record at position " + fromPosition + ".");
+            }
+            if (reachedStart) {
+                apply(body);
+            }
+        }
+
+        void apply(byte[] body) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+            byte type = in.readByte();
+            switch (type) {
+                case PAYER -> {
+                    ReserverPayer payer = readPayer(in);
+                    payers.put(payer.getId(),
+                            chain.createReserverPayer(payer.getId(), payer.getCreditCardDetails()));
+                }
+                case RESERVE -> {
+                    String hotelName = in.readUTF();
+                    Hotel hotel = chain.getHotel(hotelName)
+                            .orElseThrow(() -> new HotelException("Hotel not found: " + hotelName));
+                    int number = in.readInt();
+                    LocalDate start = LocalDate.ofEpochDay(in.readLong());
+                    LocalDate end = LocalDate.ofEpochDay(in.readLong());
+                    int roomNumber = in.readInt();
+                    ReserverPayer recorded = readPayer(in);
+                    ReserverPayer payer = payers.computeIfAbsent(recorded.getId(),
+                            id -> chain.findPayer(id).orElse(recorded));
+                    hotel.restoreReservation(number, start, end, roomNumber, payer);
+                }
+                case CANCEL -> chain.cancelReservation(in.readUTF(), in.readInt());
+                case CHECK_IN -> {
+                    String hotelName = in.readUTF();
+                    int roomNumber = in.readInt();
+                    String guestName = in.readUTF();
+                    Address address = new Address(in.readUTF(), in.readUTF(), in.readUTF());
+                    Identity identity = in.readBoolean() ? readIdentity(in) : null;
+                    chain.checkInGuest(hotelName, roomNumber, new Guest(guestName, address, identity));
+                }
+                case CHECK_OUT -> chain.checkOutGuest(in.readUTF(), in.readInt());
+                default -> throw new HotelException("Unknown journal record type " + type + ".");
+            }
+            applied++;
+        }
+    }
+}
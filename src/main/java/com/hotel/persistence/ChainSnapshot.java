@@ -0,0 +1,452 @@
+package com.hotel.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import com.hotel.core.AvailabilityBackend;
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.core.HotelImage;
+import com.hotel.domain.Address;
+import com.hotel.domain.CreditCard;
+import com.hotel.domain.Guest;
+import com.hotel.domain.Identity;
+import com.hotel.domain.Money;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.Room;
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomState;
+import com.hotel.domain.RoomType;
+import com.hotel.exception.HotelException;
+import com.hotel.util.IntHashMap;
+
+/**
+ * Compact binary image of a whole {@link HotelChain}: hotels, rooms with
+ * their state and occupant, room types, payers, reservations and the
+ * position of the reservation number sequence.
+ * <p>
+ * {@link #write} captures every hotel with {@link Hotel#captureImage()} at
+ * one cut taken with {@link HotelChain#callPaused}: bookings pause only while
+ * references are copied, and encoding and disk I/O run without any lock, so
+ * a snapshot can be taken in the background while bookings continue. Given
+ * the chain's journal, the snapshot also records the journal position of
+ * the cut, and {@link #recover} replays only the records after it. The file
+ * is written to a temporary sibling and moved into place, so a crash never
+ * leaves a half-written snapshot under the target name.
+ * <p>
+ * Every string, {@link Money} and {@link RoomType} is stored once in a table
+ * and referenced by index, so {@link #load} shares one instance per distinct
+ * value across the whole chain. Loading reads a memory-mapped view of the
+ * file and verifies a trailing CRC32 first. As with {@link ChainJournal},
+ * card numbers are stored masked to their last four digits, and expiry
+ * dates and security codes not at all.
+ * <p>
+ * Layout, big-endian: magic, version, string table, money table, room type
+ * table, then the chain name, sequence position, journal position (-1 for
+ * none), payers and hotels, and a
+ * CRC32 of everything before it.
+ */
+public final class ChainSnapshot {
+    private static final int MAGIC = 0x48435331; // "HCS1"
+    private static final int VERSION = 3;
+    private static final long NO_JOURNAL = -1L;
+
+    private ChainSnapshot() {
+    }
+
+    /**
+     * Writes a snapshot of the chain to path, replacing any previous file.
+     * The snapshot is not tied to a journal; use
+     * {@link #write(HotelChain, ChainJournal, Path)} to recover from both.
+     */
+    public static void write(HotelChain chain, Path path) throws IOException {
+        write(chain, null, path);
+    }
+
+    /**
+     * Writes a snapshot of the chain to path, replacing any previous file,
+     * and records the position of the chain's journal at the cut. The
+     * journal is flushed up to that position first, so it always covers the
+     * snapshot.
+     */
+    public static void write(HotelChain chain, ChainJournal journal, Path path) throws IOException {
+        if (chain == null) {
+            throw new IllegalArgumentException("Chain cannot be null");
+        }
+        Cut cut = chain.callPaused(hotels -> {
+            // The position first: a payer created during the cut is either
+            // in the list or journaled after the position, or both
+            long position = journal == null ? NO_JOURNAL : journal.position();
+            List<ReserverPayer> registered = chain.getPayers();
+            List<HotelImage> images = new ArrayList<>(hotels.size());
+            for (Hotel hotel : hotels) {
+                images.add(hotel.captureImage());
+            }
+            return new Cut(position, chain.getNextReservationNumber(), registered, images);
+        });
+        if (journal != null) {
+            journal.sync();
+        }
+
+        Encoder encoder = new Encoder();
+        encoder.writeBody(chain.getName(), cut.nextNumber, cut.journalPosition, cut.payers, cut.images);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CRC32 crc = new CRC32();
+            OutputStream raw = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(
+                    new CheckedOutputStream(new BufferedOutputStream(raw, 64 * 1024), crc));
+            encoder.writeTo(out);
+            out.flush();
+            ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES).putInt((int) crc.getValue()).flip();
+            while (trailer.hasRemaining()) {
+                channel.write(trailer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Builds a new chain from a snapshot alone.
+     */
+    public static HotelChain load(Path path) throws IOException {
+        return decode(path).chain;
+    }
+
+    /**
+     * Builds a new chain from a snapshot written with a journal, then
+     * replays the journal records appended after the snapshot's cut.
+     *
+     * @throws HotelException if the snapshot was written without a journal.
+     */
+    public static HotelChain recover(Path snapshot, Path journal) throws IOException {
+        Decoder decoded = decode(snapshot);
+        if (decoded.journalPosition == NO_JOURNAL) {
+            throw new HotelException("Snapshot " + snapshot + " was not written with a journal.");
+        }
+        ChainJournal.replay(journal, decoded.chain, decoded.journalPosition);
+        return decoded.chain;
+    }
+
+    private static Decoder decode(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 3L * Integer.BYTES || size > Integer.MAX_VALUE) {
+                throw new HotelException("Snapshot " + path + " has an invalid size.");
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int bodyLength = (int) size - Integer.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(map.slice(0, bodyLength));
+            if ((int) crc.getValue() != map.getInt(bodyLength)) {
+                throw new HotelException("Snapshot " + path + " is corrupt.");
+            }
+            try {
+                Decoder decoder = new Decoder(map.slice(0, bodyLength));
+                decoder.readChain();
+                return decoder;
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+                throw new HotelException("Snapshot " + path + " is malformed.", e);
+            }
+        }
+    }
+
+    /**
+     * What {@link #write} copies at its cut.
+     */
+    private static final class Cut {
+        final long journalPosition;
+        final int nextNumber;
+        final List<ReserverPayer> payers;
+        final List<HotelImage> images;
+
+        Cut(long journalPosition, int nextNumber, List<ReserverPayer> payers, List<HotelImage> images) {
+            this.journalPosition = journalPosition;
+            this.nextNumber = nextNumber;
+            this.payers = payers;
+            this.images = images;
+        }
+    }
+
+    /**
+     * Collects the value tables while the body is encoded, then writes the
+     * tables ahead of the body so the reader meets every value before it is
+     * referenced.
+     */
+    private static final class Encoder {
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final List<String> stringTable = new ArrayList<>();
+        private final Map<Money, Integer> moneys = new HashMap<>();
+        private final List<Money> moneyTable = new ArrayList<>();
+        private final Map<RoomType, Integer> types = new HashMap<>();
+        private final List<RoomType> typeTable = new ArrayList<>();
+        private final ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(64 * 1024);
+        private final DataOutputStream body = new DataOutputStream(bodyBytes);
+
+        void writeBody(String chainName, int nextNumber, long journalPosition, List<ReserverPayer> registered,
+                List<HotelImage> images) throws IOException {
+            body.writeInt(string(chainName));
+            body.writeInt(nextNumber);
+            body.writeLong(journalPosition);
+
+            // Payers first, so reservations can refer to them by index
+            Map<ReserverPayer, Integer> payers = new IdentityHashMap<>();
+            List<ReserverPayer> payerTable = new ArrayList<>();
+            for (ReserverPayer payer : registered) {
+                if (payers.putIfAbsent(payer, payerTable.size()) == null) {
+                    payerTable.add(payer);
+                }
+            }
+            int registeredCount = payerTable.size();
+            for (HotelImage image : images) {
+                for (Reservation res : image.getReservations()) {
+                    if (payers.putIfAbsent(res.getPayer(), payerTable.size()) == null) {
+                        payerTable.add(res.getPayer());
+                    }
+                }
+            }
+            body.writeInt(payerTable.size());
+            body.writeInt(registeredCount);
+            for (ReserverPayer payer : payerTable) {
+                writeIdentity(payer.getId());
+                body.writeInt(string(ChainJournal.maskNumber(payer.getCreditCardDetails().getNumber())));
+            }
+
+            body.writeInt(images.size());
+            for (HotelImage image : images) {
+                body.writeInt(string(image.getHotelName()));
+                body.writeInt(string(image.getBackend().name()));
+                List<Room> rooms = image.getRooms();
+                body.writeInt(rooms.size());
+                for (int i = 0; i < rooms.size(); i++) {
+                    Room room = rooms.get(i);
+                    body.writeInt(room.getNumber());
+                    body.writeInt(type(room.getRoomType()));
+                    body.writeInt(string(image.getRoomStates().get(i).name()));
+                    Guest occupant = image.getOccupants().get(i);
+                    body.writeBoolean(occupant != null);
+                    if (occupant != null) {
+                        writeGuest(occupant);
+                    }
+                }
+                body.writeInt(image.getReservations().size());
+                for (Reservation res : image.getReservations()) {
+                    body.writeInt(res.getReservationNumber());
+                    body.writeLong(res.getStartDate().toEpochDay());
+                    body.writeLong(res.getEndDate().toEpochDay());
+                    body.writeInt(res.getRoom().getNumber());
+                    body.writeInt(payers.get(res.getPayer()));
+                }
+            }
+            body.flush();
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            // Room types intern moneys and moneys intern strings, so encode
+            // the tables in that order before writing them in reverse.
+            ByteArrayOutputStream typeBytes = new ByteArrayOutputStream();
+            DataOutputStream typeOut = new DataOutputStream(typeBytes);
+            typeOut.writeInt(typeTable.size());
+            for (RoomType type : typeTable) {
+                typeOut.writeInt(string(type.getKind().name()));
+                typeOut.writeInt(money(type.getCost()));
+            }
+            ByteArrayOutputStream moneyBytes = new ByteArrayOutputStream();
+            DataOutputStream moneyOut = new DataOutputStream(moneyBytes);
+            moneyOut.writeInt(moneyTable.size());
+            for (Money money : moneyTable) {
+                moneyOut.writeInt(string(money.getCurrency().getCurrencyCode()));
+                moneyOut.writeInt(money.getAmount().scale());
+                byte[] unscaled = money.getAmount().unscaledValue().toByteArray();
+                moneyOut.writeInt(unscaled.length);
+                moneyOut.write(unscaled);
+            }
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(stringTable.size());
+            for (String value : stringTable) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(utf8.length);
+                out.write(utf8);
+            }
+            moneyBytes.writeTo(out);
+            typeBytes.writeTo(out);
+            bodyBytes.writeTo(out);
+        }
+
+        private void writeIdentity(Identity identity) throws IOException {
+            body.writeInt(string(identity.getType()));
+            body.writeInt(string(identity.getIdNumber()));
+        }
+
+        private void writeGuest(Guest guest) throws IOException {
+            body.writeInt(string(guest.getName()));
+            body.writeInt(string(guest.getAddressDetails().getStreet()));
+            body.writeInt(string(guest.getAddressDetails().getCity()));
+            body.writeInt(string(guest.getAddressDetails().getZipCode()));
+            body.writeBoolean(guest.getId() != null);
+            if (guest.getId() != null) {
+                writeIdentity(guest.getId());
+            }
+        }
+
+        private int string(String value) {
+            return strings.computeIfAbsent(value, v -> {
+                stringTable.add(v);
+                return stringTable.size() - 1;
+            });
+        }
+
+        private int money(Money value) {
+            return moneys.computeIfAbsent(value, v -> {
+                moneyTable.add(v);
+                return moneyTable.size() - 1;
+            });
+        }
+
+        private int type(RoomType value) {
+            return types.computeIfAbsent(value, v -> {
+                typeTable.add(v);
+                return typeTable.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Reads the tables into arrays and resolves every later reference
+     * against them.
+     */
+    private static final class Decoder {
+        private final ByteBuffer in;
+        private String[] strings;
+        private Money[] moneys;
+        private RoomType[] types;
+        HotelChain chain;
+        long journalPosition;
+
+        Decoder(ByteBuffer in) {
+            this.in = in;
+        }
+
+        void readChain() {
+            if (in.getInt() != MAGIC) {
+                throw new HotelException("Not a hotel chain snapshot.");
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new HotelException("Unsupported snapshot version " + version + ".");
+            }
+            strings = new String[in.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] utf8 = new byte[in.getInt()];
+                in.get(utf8);
+                strings[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+            moneys = new Money[in.getInt()];
+            for (int i = 0; i < moneys.length; i++) {
+                Currency currency = Currency.getInstance(string());
+                int scale = in.getInt();
+                byte[] unscaled = new byte[in.getInt()];
+                in.get(unscaled);
+                moneys[i] = new Money(new BigDecimal(new BigInteger(unscaled), scale), currency);
+            }
+            types = new RoomType[in.getInt()];
+            for (int i = 0; i < types.length; i++) {
+                RoomKind kind = RoomKind.valueOf(string());
+                types[i] = new RoomType(kind, moneys[in.getInt()]);
+            }
+
+            chain = new HotelChain(string());
+            int nextNumber = in.getInt();
+            journalPosition = in.getLong();
+            ReserverPayer[] payers = new ReserverPayer[in.getInt()];
+            int registeredCount = in.getInt();
+            for (int i = 0; i < payers.length; i++) {
+                Identity identity = readIdentity();
+                CreditCard card = ChainJournal.maskedCard(string());
+                payers[i] = i < registeredCount ? chain.createReserverPayer(identity, card)
+                        : new ReserverPayer(identity, card);
+            }
+
+            int hotelCount = in.getInt();
+            for (int h = 0; h < hotelCount; h++) {
+                String hotelName = string();
+                AvailabilityBackend backend = AvailabilityBackend.valueOf(string());
+                int roomCount = in.getInt();
+                List<Room> rooms = new ArrayList<>(roomCount);
+                List<RoomState> states = new ArrayList<>(roomCount);
+                List<Guest> occupants = new ArrayList<>(roomCount);
+                IntHashMap<Room> roomsByNumber = new IntHashMap<>(roomCount);
+                for (int r = 0; r < roomCount; r++) {
+                    Room room = new Room(in.getInt(), types[in.getInt()]);
+                    rooms.add(room);
+                    states.add(RoomState.valueOf(string()));
+                    occupants.add(in.get() != 0 ? readGuest() : null);
+                    roomsByNumber.putIfAbsent(room.getNumber(), room);
+                }
+                int reservationCount = in.getInt();
+                List<Reservation> reservations = new ArrayList<>(reservationCount);
+                for (int r = 0; r < reservationCount; r++) {
+                    int number = in.getInt();
+                    LocalDate start = LocalDate.ofEpochDay(in.getLong());
+                    LocalDate end = LocalDate.ofEpochDay(in.getLong());
+                    int roomNumber = in.getInt();
+                    Room room = roomsByNumber.get(roomNumber);
+                    if (room == null) {
+                        throw new HotelException("Reservation #" + number + " refers to unknown room " + roomNumber
+                                + " in " + hotelName + ".");
+                    }
+                    reservations.add(new Reservation(number, start, end, payers[in.getInt()], room));
+                }
+                Hotel hotel = new Hotel(hotelName, backend);
+                // Bind the hotel to the chain's sequence before restoring
+                chain.addHotel(hotel);
+                hotel.restoreImage(new HotelImage(hotelName, backend, rooms, states, occupants, reservations));
+            }
+            chain.skipReservationNumbersBelow(nextNumber);
+        }
+
+        private Identity readIdentity() {
+            return new Identity(string(), string());
+        }
+
+        private Guest readGuest() {
+            String guestName = string();
+            Address address = new Address(string(), string(), string());
+            Identity identity = in.get() != 0 ? readIdentity() : null;
+            return new Guest(guestName, address, identity);
+        }
+
+        private String string() {
+            return strings[in.getInt()];
+        }
+    }
+}
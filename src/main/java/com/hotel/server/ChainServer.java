@@ -0,0 +1,261 @@
+package com.hotel.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.hotel.core.HotelChain;
+import com.hotel.exception.HotelException;
+import com.hotel.persistence.ChainJournal;
+import com.hotel.persistence.ChainSnapshot;
+
+/**
+ * TCP front end for a {@link HotelChain}, speaking the line protocol of
+ * {@link CommandHandler}.
+ * <p>
+ * Every connection is served by its own virtual thread, so thousands of
+ * mostly idle clients cost a few kilobytes each rather than a platform
+ * thread apiece, and the handling code can simply block on the socket. A
+ * connection reads one request line, writes one response line and flushes;
+ * clients may pipeline. The chain itself is thread-safe, so connections share
+ * it without further coordination. A request line longer than
+ * {@link #MAX_LINE_LENGTH} characters is discarded unread and answered with
+ * an error, so one client cannot exhaust memory.
+ * <p>
+ * Run standalone with
+ * {@code ChainServer <port> <snapshot-file> <journal-file> [chain-name]} to
+ * serve a chain recovered from a {@link ChainSnapshot} and its
+ * {@link ChainJournal}, or a new empty chain if there is no snapshot yet.
+ * Every mutation is journaled before it is answered.
+ */
+public class ChainServer implements AutoCloseable {
+    /**
+     * Longest request line accepted, in characters, excluding the line end.
+     */
+    public static final int MAX_LINE_LENGTH = 8_192;
+
+    private static final String DEFAULT_CHAIN_NAME = "Hotel Chain";
+    private static final int BACKLOG = 4_096;
+    private static final long MIN_ACCEPT_BACKOFF_MILLIS = 10;
+    private static final long MAX_ACCEPT_BACKOFF_MILLIS = 1_000;
+
+    private final ServerSocket serverSocket;
+    private final CommandHandler handler;
+    private final Thread acceptor;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong acceptedCount = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * Binds to the loopback address and starts accepting connections.
+     *
+     * @param port Port to listen on; 0 picks a free one.
+     */
+    public ChainServer(HotelChain chain, int port) throws IOException {
+        this(chain, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    public ChainServer(HotelChain chain, InetSocketAddress address) throws IOException {
+        if (address == null) {
+            throw new IllegalArgumentException("Address cannot be null");
+        }
+        this.handler = new CommandHandler(chain);
+        this.serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(address, BACKLOG);
+        this.acceptor = Thread.ofVirtual().name("chain-server-acceptor").start(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Number of connections currently open.
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Number of connections accepted since the server started.
+     */
+    public long getAcceptedCount() {
+        return acceptedCount.get();
+    }
+
+    /**
+     * Stops accepting, closes every open connection and waits for the
+     * acceptor to exit.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (Socket socket : connections) {
+            closeQuietly(socket);
+        }
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acceptLoop() {
+        long backoffMillis = 0;
+        while (running) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (!running || serverSocket.isClosed()) {
+                    return;
+                }
+                // Typically out of file descriptors; retrying at once would only spin
+                backoffMillis = Math.min(Math.max(backoffMillis * 2, MIN_ACCEPT_BACKOFF_MILLIS),
+                        MAX_ACCEPT_BACKOFF_MILLIS);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                continue;
+            }
+            backoffMillis = 0;
+            acceptedCount.incrementAndGet();
+            connections.add(socket);
+            if (!running) {
+                // close() may have swept the set before this socket joined it
+                closeQuietly(socket);
+                return;
+            }
+            Thread.ofVirtual().name("chain-server-connection").start(() -> serve(socket));
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            StringBuilder buffer = new StringBuilder();
+            String line;
+            while ((line = readLine(in, buffer)) != null) {
+                if (line.length() > MAX_LINE_LENGTH) {
+                    skipLine(in);
+                    out.write(CommandHandler.ERR + "\tRequest longer than " + MAX_LINE_LENGTH + " characters");
+                } else {
+                    out.write(handler.handle(line));
+                }
+                out.write('\n');
+                // Only flush once the client has no further pipelined request buffered
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // Peer reset or server shutdown; the connection is simply over
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    /**
+     * Reads one line ended by {@code \n} or {@code \r\n}, or the rest of the
+     * stream at its end. Stops reading after {@link #MAX_LINE_LENGTH} + 1
+     * characters, returning a line that is too long without its remainder.
+     *
+     * @return The line, or null at the end of the stream.
+     */
+    private static String readLine(Reader in, StringBuilder buffer) throws IOException {
+        buffer.setLength(0);
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            buffer.append((char) c);
+            if (buffer.length() > MAX_LINE_LENGTH) {
+                return buffer.toString();
+            }
+        }
+        if (c == -1 && buffer.length() == 0) {
+            return null;
+        }
+        int end = buffer.length();
+        if (end > 0 && buffer.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return buffer.substring(0, end);
+    }
+
+    private static void skipLine(Reader in) throws IOException {
+        int c;
+        do {
+            c = in.read();
+        } while (c != -1 && c != '\n');
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already broken; nothing left to release
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length != 3 && args.length != 4) {
+            throw new IllegalArgumentException(
+                    "Usage: ChainServer <port> <snapshot-file> <journal-file> [chain-name]");
+        }
+        Path snapshotPath = Path.of(args[1]);
+        Path journalPath = Path.of(args[2]);
+        HotelChain chain = recoverOrCreate(snapshotPath, journalPath, args.length == 4 ? args[3] : DEFAULT_CHAIN_NAME);
+        try (ChainJournal journal = ChainJournal.open(journalPath)) {
+            chain.addMutationListener(journal);
+            // Checkpoint at once, so the snapshot records where the journal
+            // continues even if it was written without one
+            ChainSnapshot.write(chain, journal, snapshotPath);
+            serve(chain, Integer.parseInt(args[0]));
+        }
+    }
+
+    /**
+     * Recovers the chain from its snapshot and journal, or from the snapshot
+     * alone while the journal has no records. Without a snapshot a fresh
+     * deployment starts from an empty chain with the given name; a journal
+     * without its snapshot cannot be replayed and is refused.
+     */
+    static HotelChain recoverOrCreate(Path snapshotPath, Path journalPath, String chainName) throws IOException {
+        boolean journaled = Files.exists(journalPath) && Files.size(journalPath) > 0;
+        if (!Files.exists(snapshotPath)) {
+            if (journaled) {
+                throw new HotelException("Journal " + journalPath + " has records but snapshot " + snapshotPath
+                        + " is missing.");
+            }
+            return new HotelChain(chainName);
+        }
+        return journaled ? ChainSnapshot.recover(snapshotPath, journalPath) : ChainSnapshot.load(snapshotPath);
+    }
+
+    private static void serve(HotelChain chain, int port) throws IOException, InterruptedException {
+        try (ChainServer server = new ChainServer(chain, port)) {
+            System.out.println("Serving " + chain.getName() + " on port " + server.getPort());
+            server.acceptor.join();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.hotel.server;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.domain.Address;
+import com.hotel.domain.CreditCard;
+import com.hotel.domain.Guest;
+import com.hotel.domain.Identity;
+import com.hotel.domain.Reservation;
+import com.hotel.domain.ReserverPayer;
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomType;
+import com.hotel.exception.HotelException;
+
+/**
+ * Executes one line of the {@link ChainServer} protocol against a
+ * {@link HotelChain} and returns the response line.
+ * <p>
+ * Requests and responses are single lines of TAB-separated fields. Dates are
+ * ISO-8601 ({@code 2030-01-31}) and room kinds are {@link RoomKind} names.
+ * <pre>
+ * PAYER     idType idNumber cardNumber expiry cvv  -> OK
+ * AVAIL     hotel start end                        -> OK kind=count ...
+ * MAKE      hotel start end kind idType idNumber   -> OK reservationNumber roomNumber
+ * CANCEL    hotel reservationNumber                -> OK
+ * CHECKIN   hotel roomNumber guestName idType idNumber street city postcode -> OK
+ * CHECKOUT  hotel roomNumber                       -> OK
+ * </pre>
+ * Stays must end after they start and last at most
+ * {@link Hotel#MAX_STAY_NIGHTS} nights. Any failure answers
+ * {@code ERR <message>}. A payer must be registered with
+ * PAYER before MAKE can book for its identity; registering the same identity
+ * again keeps the first card. Payers are those of the chain, so the handler
+ * is stateless and safe to share between connections.
+ */
+public class CommandHandler {
+    public static final String OK = "OK";
+    public static final String ERR = "ERR";
+    private static final char SEPARATOR = '\t';
+
+    private final HotelChain chain;
+
+    public CommandHandler(HotelChain chain) {
+        if (chain == null) {
+            throw new IllegalArgumentException("Chain cannot be null");
+        }
+        this.chain = chain;
+    }
+
+    /**
+     * Handles one request line; never throws for a malformed request.
+     */
+    public String handle(String line) {
+        if (line == null || line.isBlank()) {
+            return ERR + SEPARATOR + "Empty request";
+        }
+        String[] fields = line.split("\t", -1);
+        try {
+            return switch (fields[0]) {
+                case "PAYER" -> payer(fields);
+                case "AVAIL" -> availability(fields);
+                case "MAKE" -> make(fields);
+                case "CANCEL" -> cancel(fields);
+                case "CHECKIN" -> checkIn(fields);
+                case "CHECKOUT" -> checkOut(fields);
+                default -> ERR + SEPARATOR + "Unknown command " + fields[0];
+            };
+        } catch (HotelException | IllegalArgumentException e) {
+            return ERR + SEPARATOR + e.getMessage();
+        } catch (DateTimeParseException e) {
+            return ERR + SEPARATOR + "Invalid date " + e.getParsedString();
+        } catch (RuntimeException e) {
+            // Whatever a command trips over, the client gets an answer and
+            // the connection stays usable
+            return ERR + SEPARATOR + (e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        }
+    }
+
+    private String payer(String[] fields) {
+        expect(fields, 6);
+        Identity identity = new Identity(fields[1], fields[2]);
+        CreditCard card = new CreditCard(fields[3], fields[4], fields[5]);
+        chain.createReserverPayer(identity, card);
+        return OK;
+    }
+
+    private String availability(String[] fields) {
+        expect(fields, 4);
+        Hotel hotel = hotel(fields[1]);
+        LocalDate start = LocalDate.parse(fields[2]);
+        LocalDate end = LocalDate.parse(fields[3]);
+        checkStay(start, end);
+        Map<RoomType, Integer> counts = hotel.availableCounts(start, end);
+        StringBuilder response = new StringBuilder(OK);
+        for (Map.Entry<RoomType, Integer> entry : counts.entrySet()) {
+            response.append(SEPARATOR).append(entry.getKey().getKind()).append('=').append(entry.getValue());
+        }
+        return response.toString();
+    }
+
+    private String make(String[] fields) {
+        expect(fields, 7);
+        Hotel hotel = hotel(fields[1]);
+        LocalDate start = LocalDate.parse(fields[2]);
+        LocalDate end = LocalDate.parse(fields[3]);
+        checkStay(start, end);
+        RoomType type = roomType(hotel, RoomKind.valueOf(fields[4]));
+        ReserverPayer payer = chain.findPayer(new Identity(fields[5], fields[6]))
+                .orElseThrow(() -> new HotelException("Unknown payer " + fields[5] + " " + fields[6]));
+        Reservation reservation = chain.makeReservation(hotel.getName(), start, end, type, payer);
+        return OK + SEPARATOR + reservation.getReservationNumber() + SEPARATOR + reservation.getRoom().getNumber();
+    }
+
+    private String cancel(String[] fields) {
+        expect(fields, 3);
+        chain.cancelReservation(fields[1], number(fields[2]));
+        return OK;
+    }
+
+    private String checkIn(String[] fields) {
+        expect(fields, 9);
+        Guest guest = new Guest(fields[3], new Address(fields[6], fields[7], fields[8]),
+                new Identity(fields[4], fields[5]));
+        chain.checkInGuest(fields[1], number(fields[2]), guest);
+        return OK;
+    }
+
+    private String checkOut(String[] fields) {
+        expect(fields, 3);
+        chain.checkOutGuest(fields[1], number(fields[2]));
+        return OK;
+    }
+
+    private Hotel hotel(String name) {
+        return chain.getHotel(name).orElseThrow(() -> new HotelException("Hotel not found: " + name));
+    }
+
+    private static RoomType roomType(Hotel hotel, RoomKind kind) {
+        for (RoomType type : hotel.getRoomTypes()) {
+            if (type.getKind() == kind) {
+                return type;
+            }
+        }
+        throw new HotelException("No " + kind + " rooms in " + hotel.getName());
+    }
+
+    private static void checkStay(LocalDate start, LocalDate end) {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        if (end.toEpochDay() - start.toEpochDay() > Hotel.MAX_STAY_NIGHTS) {
+            throw new IllegalArgumentException("Stay cannot exceed " + Hotel.MAX_STAY_NIGHTS + " nights");
+        }
+    }
+
+    private static void expect(String[] fields, int count) {
+        if (fields.length != count) {
+            throw new IllegalArgumentException(fields[0] + " expects " + (count - 1) + " fields");
+        }
+    }
+
+    private static int number(String field) {
+        try {
+            return Integer.parseInt(field);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number " + field);
+        }
+    }
+}
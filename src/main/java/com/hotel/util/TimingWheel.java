@@ -0,0 +1,201 @@
+package com.hotel.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: a ring of slots, one per tick, each holding a doubly
+ * linked list of the timeouts due on ticks that hash to it. Scheduling and
+ * cancelling are O(1). Advancing the wheel visits one slot per elapsed tick
+ * and only the timeouts in it, so outstanding timeouts cost nothing until
+ * their slot comes round, however many there are. A timeout further away
+ * than one revolution simply stays in its slot until its own tick.
+ * <p>
+ * Time is whatever the caller passes in, in milliseconds; timeouts fire on
+ * the first {@link #advance} at or after their deadline, rounded up to the
+ * next tick. {@link #nextDeadlineMillis} tells the caller when an advance can
+ * next fire anything, so it need not advance on every tick. Not
+ * thread-safe; callers guard it with their own locking.
+ *
+ * @param <T> item carried by each timeout.
+ */
+public class TimingWheel<T> {
+    private final long tickMillis;
+    private final Timeout<T>[] heads;
+    private final int mask;
+    // Every timeout due on or before this tick has fired
+    private long currentTick;
+    // No timeout is due before this tick; exact after each advance, a lower
+    // bound once the earliest timeout is cancelled. MAX_VALUE when empty.
+    private long earliestTick = Long.MAX_VALUE;
+    private int size;
+
+    /**
+     * @param tickMillis Resolution of the wheel.
+     * @param wheelSize  Number of slots; a power of two.
+     * @param nowMillis  Current time; earlier deadlines fire on the next advance.
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick must be at least one millisecond");
+        }
+        if (wheelSize < 1 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.heads = (Timeout<T>[]) new Timeout<?>[wheelSize];
+        this.mask = wheelSize - 1;
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Start of the first tick not yet processed; advancing to any earlier
+     * time fires nothing.
+     */
+    public long nextTickMillis() {
+        return (currentTick + 1) * tickMillis;
+    }
+
+    /**
+     * Time before which no advance fires anything, or
+     * {@link Long#MAX_VALUE} when nothing is scheduled. After a cancellation
+     * it may be earlier than the first remaining deadline; the next advance
+     * to it fires nothing and corrects it.
+     */
+    public long nextDeadlineMillis() {
+        return earliestTick == Long.MAX_VALUE ? Long.MAX_VALUE : earliestTick * tickMillis;
+    }
+
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+        long tick = Math.max(-Math.floorDiv(-deadlineMillis, tickMillis), currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(item, tick);
+        int slot = (int) (tick & mask);
+        timeout.next = heads[slot];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        heads[slot] = timeout;
+        timeout.scheduled = true;
+        size++;
+        earliestTick = Math.min(earliestTick, tick);
+        return timeout;
+    }
+
+    /**
+     * Removes a timeout that has not fired yet.
+     *
+     * @return false if it already fired or was cancelled.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || !timeout.scheduled) {
+            return false;
+        }
+        unlink(timeout);
+        return true;
+    }
+
+    /**
+     * Fires every timeout due by nowMillis, passing its item to onExpire.
+     * After a long gap each slot is visited at most once.
+     *
+     * @return the number of timeouts fired.
+     */
+    public int advance(long nowMillis, Consumer<? super T> onExpire) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        if (nowTick <= currentTick) {
+            return 0;
+        }
+        if (nowTick < earliestTick) {
+            currentTick = nowTick;
+            return 0;
+        }
+        long ticks = Math.min(nowTick - currentTick, (long) heads.length);
+        int fired = 0;
+        for (long t = nowTick - ticks + 1; t <= nowTick; t++) {
+            Timeout<T> timeout = heads[(int) (t & mask)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.tick <= nowTick) {
+                    unlink(timeout);
+                    onExpire.accept(timeout.item);
+                    fired++;
+                }
+                timeout = next;
+            }
+        }
+        currentTick = nowTick;
+        earliestTick = findEarliestTick();
+        return fired;
+    }
+
+    /**
+     * Scans one revolution ahead for the first tick that has a timeout due
+     * on it. Any earlier timeout would have been found in its own slot
+     * first; only when every timeout is more than a revolution away are all
+     * of them compared.
+     */
+    private long findEarliestTick() {
+        if (size == 0) {
+            return Long.MAX_VALUE;
+        }
+        long earliest = Long.MAX_VALUE;
+        for (long t = currentTick + 1; t <= currentTick + heads.length; t++) {
+            for (Timeout<T> timeout = heads[(int) (t & mask)]; timeout != null; timeout = timeout.next) {
+                if (timeout.tick == t) {
+                    return t;
+                }
+                earliest = Math.min(earliest, timeout.tick);
+            }
+        }
+        return earliest;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            heads[(int) (timeout.tick & mask)] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.scheduled = false;
+        size--;
+        if (size == 0) {
+            earliestTick = Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Handle of one scheduled item, for cancelling it.
+     */
+    public static final class Timeout<T> {
+        private final T item;
+        private final long tick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private boolean scheduled;
+
+        private Timeout(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+}
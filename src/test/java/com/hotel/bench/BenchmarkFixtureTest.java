@@ -0,0 +1,60 @@
+package com.hotel.bench;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+
+import com.hotel.core.Hotel;
+import com.hotel.domain.RoomState;
+
+class BenchmarkFixtureTest {
+
+    @ParameterizedTest
+    @EnumSource(DateDistribution.class)
+    void testFixture_BuildsRequestedLoad(DateDistribution distribution) {
+        // Act
+        BenchmarkFixture fixture = new BenchmarkFixture(3, 20, 500, distribution, 1L);
+
+        // Assert
+        assertEquals(3, fixture.getChain().getHotels().size(), "Fixture should create three hotels");
+        assertEquals(500, fixture.getReservationCount(), "Fixture should create every reservation");
+        int total = fixture.getHotels().stream().mapToInt(h -> h.getReservations().size()).sum();
+        assertEquals(500, total, "Hotels should hold the historic reservations");
+        for (Hotel hotel : fixture.getHotels()) {
+            assertEquals(20, hotel.getRooms().size(), "Each hotel should have 20 rooms");
+            assertTrue(hotel.getRooms().stream().allMatch(r -> r.getState() == RoomState.FREE),
+                    "Historic stays should leave rooms FREE");
+        }
+    }
+
+    @Test
+    void testFixture_InvalidSize_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new BenchmarkFixture(0, 10, 0, DateDistribution.UNIFORM, 1L),
+                "A fixture without hotels should throw IllegalArgumentException");
+    }
+
+    @Test
+    void testRunAll_SmallFixture_ReportsEveryBenchmark() {
+        // Arrange
+        BenchmarkFixture fixture = new BenchmarkFixture(1, 10, 50, DateDistribution.UNIFORM, 1L);
+        BenchmarkRunner runner = new BenchmarkRunner(0, 1, 5);
+
+        // Act
+        List<BenchmarkRunner.Result> results = BookingBenchmark.runAll(runner, fixture);
+
+        // Assert
+        assertEquals(BookingBenchmark.BENCHMARKS.size(), results.size(),
+                "Every booking benchmark should report a result");
+        for (BenchmarkRunner.Result result : results) {
+            assertTrue(result.getOperations() > 0, result.getName() + " should run at least once");
+            assertTrue(result.getBytesPerOp() >= 0, result.getName() + " should report allocation");
+        }
+        assertEquals(50, fixture.getHotels().get(0).getReservations().size(),
+                "Benchmarks should leave the fixture size unchanged");
+    }
+}
@@ -0,0 +1,121 @@
+package com.hotel.bench;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.hotel.core.Hotel;
+import com.hotel.domain.Address;
+import com.hotel.domain.Guest;
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomState;
+
+class WorkloadReplayerTest {
+
+    private BenchmarkFixture fixture;
+    private WorkloadReplayer replayer;
+    private List<String> hotelNames;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new BenchmarkFixture(4, 8, 0, DateDistribution.UNIFORM, 1L);
+        Guest guest = new Guest("Guest", new Address("1 Test St", "Testville", "00000"), fixture.getPayer().getId());
+        replayer = new WorkloadReplayer(fixture.getChain(), fixture.getPayer(), guest);
+        hotelNames = fixture.getHotels().stream().map(Hotel::getName).toList();
+    }
+
+    @Test
+    void testRun_LifecycleEvents_ReleaseEveryRoom() throws InterruptedException {
+        // Arrange
+        LocalDate start = BenchmarkFixture.BASE_DATE;
+        List<WorkloadEvent> events = List.of(
+                WorkloadEvent.make(0, "a", "Hotel 0", start, start.plusDays(2), RoomKind.DOUBLE),
+                WorkloadEvent.make(0, "b", "Hotel 1", start, start.plusDays(2), RoomKind.SINGLE),
+                WorkloadEvent.followUp(0, WorkloadEvent.Type.CHECK_IN, "a"),
+                WorkloadEvent.followUp(0, WorkloadEvent.Type.CANCEL, "b"),
+                WorkloadEvent.followUp(0, WorkloadEvent.Type.CHECK_OUT, "a"));
+
+        // Act
+        WorkloadReplayer.Report report = replayer.run(events, 2, false);
+
+        // Assert
+        assertEquals(5, report.getIssued(), "Every event should be issued");
+        assertEquals(0, report.getRejected(), "Nothing should be rejected");
+        assertEquals(1, fixture.getHotels().get(0).getReservations().size(), "Checked-out stay should remain");
+        assertTrue(fixture.getHotels().get(1).getReservations().isEmpty(), "Cancelled stay should be gone");
+        for (Hotel hotel : fixture.getHotels()) {
+            assertTrue(hotel.getRooms().stream().allMatch(r -> r.getState() == RoomState.FREE),
+                    "Every room should be free after the workload");
+        }
+    }
+
+    @Test
+    void testRun_RejectedBooking_SkipsFollowUps() throws InterruptedException {
+        // Arrange
+        LocalDate start = BenchmarkFixture.BASE_DATE;
+        List<WorkloadEvent> events = new ArrayList<>();
+        // Hotel 0 has two DOUBLE rooms, so the third booking is rejected
+        for (String reference : List.of("a", "b", "c")) {
+            events.add(WorkloadEvent.make(0, reference, "Hotel 0", start, start.plusDays(1), RoomKind.DOUBLE));
+        }
+        events.add(WorkloadEvent.followUp(0, WorkloadEvent.Type.CANCEL, "c"));
+
+        // Act
+        WorkloadReplayer.Report report = replayer.run(events, 1, false);
+
+        // Assert
+        assertEquals(3, report.getIssued(), "Three bookings should be issued");
+        assertEquals(1, report.getRejected(), "The third booking should be rejected");
+        assertEquals(1, report.getSkipped(), "Its cancellation should be skipped");
+        assertEquals(1 / 3.0, report.getRejectionRate(), 1e-9, "Rejection rate should cover issued events");
+    }
+
+    @Test
+    void testRun_SyntheticOpenLoop_IssuesEveryEvent() throws InterruptedException {
+        // Arrange
+        List<WorkloadEvent> events = new SyntheticWorkload(hotelNames, List.of(RoomKind.values()), 1.0, 20, 0.3,
+                16, 3L).generate(2_000, 50_000);
+
+        // Act
+        WorkloadReplayer.Report report = replayer.run(events, 4, true);
+
+        // Assert
+        assertEquals(2_000, report.getIssued() + report.getSkipped(), "Every event should be issued or skipped");
+        assertTrue(report.getLatency().getMax() > 0, "Latency should be recorded");
+    }
+
+    @Test
+    void testGenerate_FollowUpsComeAfterTheirBooking() {
+        // Arrange
+        SyntheticWorkload workload = new SyntheticWorkload(hotelNames, List.of(RoomKind.DOUBLE), 1.0, 30, 0.5, 4, 1L);
+
+        // Act
+        List<WorkloadEvent> events = workload.generate(1_000, 1_000);
+
+        // Assert
+        Set<String> made = new HashSet<>();
+        Set<String> checkedIn = new HashSet<>();
+        Set<String> released = new HashSet<>();
+        long previousOffset = -1;
+        for (WorkloadEvent event : events) {
+            assertTrue(event.getOffsetNanos() > previousOffset, "Offsets should increase at a fixed rate");
+            previousOffset = event.getOffsetNanos();
+            switch (event.getType()) {
+                case MAKE -> assertTrue(made.add(event.getReference()), "References should be unique");
+                case CHECK_IN -> assertTrue(made.contains(event.getReference()) && checkedIn.add(event.getReference()),
+                        "Check-in should follow its booking once");
+                case CHECK_OUT -> assertTrue(checkedIn.contains(event.getReference())
+                        && released.add(event.getReference()), "Check-out should follow check-in");
+                case CANCEL -> assertTrue(made.contains(event.getReference()) && !checkedIn.contains(event.getReference())
+                        && released.add(event.getReference()), "Cancel should follow an unchecked-in booking");
+            }
+        }
+        assertTrue(made.size() - released.size() <= 4, "No more than maxInFlight bookings should stay live");
+    }
+}
@@ -0,0 +1,73 @@
+package com.hotel.bench;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.hotel.domain.RoomKind;
+
+class WorkloadTraceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRead_ParsesEventsRelativeToFirstTimestamp() throws IOException {
+        // Arrange
+        Path trace = dir.resolve("trace.csv");
+        Files.writeString(trace, String.join("\n",
+                "# timestamp,operation,reference,hotel,start,end,kind",
+                "1000,MAKE,r1,Hotel 0,2030-01-05,2030-01-08,DOUBLE",
+                "",
+                "1250,CHECK_IN,r1",
+                "1100,CANCEL,r2",
+                "1500,CHECK_OUT,r1"));
+
+        // Act
+        List<WorkloadEvent> events = WorkloadTrace.read(trace);
+
+        // Assert
+        assertEquals(4, events.size(), "Comments and blank lines should be skipped");
+        WorkloadEvent make = events.get(0);
+        assertEquals(WorkloadEvent.Type.MAKE, make.getType(), "MAKE should come first");
+        assertEquals(0L, make.getOffsetNanos(), "Earliest event should be offset zero");
+        assertEquals("Hotel 0", make.getHotelName(), "Hotel should be parsed");
+        assertEquals(LocalDate.of(2030, 1, 5), make.getStartDate(), "Start date should be parsed");
+        assertEquals(LocalDate.of(2030, 1, 8), make.getEndDate(), "End date should be parsed");
+        assertEquals(RoomKind.DOUBLE, make.getRoomKind(), "Room kind should be parsed");
+        assertEquals(WorkloadEvent.Type.CANCEL, events.get(1).getType(), "Events should be in timestamp order");
+        assertEquals(100_000_000L, events.get(1).getOffsetNanos(), "Offsets should be in nanoseconds");
+        assertEquals("r1", events.get(2).getReference(), "Follow-up should keep its reference");
+    }
+
+    @Test
+    void testRead_MalformedLine_ReportsLineNumber() throws IOException {
+        // Arrange
+        Path trace = dir.resolve("bad.csv");
+        Files.writeString(trace, "0,MAKE,r1,Hotel 0,2030-01-05,2030-01-08,DOUBLE\n10,MAKE,r2,Hotel 0\n");
+
+        // Act
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> WorkloadTrace.read(trace),
+                "A MAKE without dates should be rejected");
+
+        // Assert
+        assertTrue(e.getMessage().startsWith("Line 2:"), "Error should name the line but was " + e.getMessage());
+    }
+
+    @Test
+    void testRead_UnknownOperation_ThrowsException() throws IOException {
+        // Arrange
+        Path trace = dir.resolve("unknown.csv");
+        Files.writeString(trace, "0,UPGRADE,r1\n");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> WorkloadTrace.read(trace),
+                "An unknown operation should be rejected");
+    }
+}
@@ -0,0 +1,61 @@
+package com.hotel.bench;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class ZipfDistributionTest {
+
+    @Test
+    void testProbability_ExponentOne_FollowsHarmonicWeights() {
+        // Arrange
+        ZipfDistribution zipf = new ZipfDistribution(3, 1.0);
+        double harmonic = 1 + 1 / 2.0 + 1 / 3.0;
+
+        // Act & Assert
+        assertEquals(1 / harmonic, zipf.probability(0), 1e-12, "Rank 0 should have weight 1");
+        assertEquals(0.5 / harmonic, zipf.probability(1), 1e-12, "Rank 1 should have weight 1/2");
+        assertEquals(1 / 3.0 / harmonic, zipf.probability(2), 1e-12, "Rank 2 should have weight 1/3");
+    }
+
+    @Test
+    void testSample_MatchesProbabilities() {
+        // Arrange
+        ZipfDistribution zipf = new ZipfDistribution(10, 1.2);
+        Random random = new Random(1L);
+        int[] counts = new int[10];
+        int samples = 200_000;
+
+        // Act
+        for (int i = 0; i < samples; i++) {
+            counts[zipf.sample(random)]++;
+        }
+
+        // Assert
+        for (int rank = 0; rank < 10; rank++) {
+            assertEquals(zipf.probability(rank), (double) counts[rank] / samples, 0.01,
+                    "Observed share of rank " + rank + " should match its probability");
+        }
+    }
+
+    @Test
+    void testSample_ExponentZero_IsUniform() {
+        // Arrange
+        ZipfDistribution zipf = new ZipfDistribution(4, 0.0);
+
+        // Act & Assert
+        for (int rank = 0; rank < 4; rank++) {
+            assertEquals(0.25, zipf.probability(rank), 1e-12, "Every rank should be equally likely");
+        }
+    }
+
+    @Test
+    void testConstructor_InvalidArguments_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1.0),
+                "An empty distribution should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(5, -0.5),
+                "A negative exponent should be rejected");
+    }
+}
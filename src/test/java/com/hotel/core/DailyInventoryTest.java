@@ -0,0 +1,99 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DailyInventoryTest {
+
+    private static final long DAY = 20_000L;
+
+    private DailyInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        inventory = new DailyInventory();
+        inventory.setCapacity(3);
+    }
+
+    @Test
+    void testRemaining_NoStays_ReturnsCapacity() {
+        // Act & Assert
+        assertEquals(3, inventory.remaining(DAY), "Night without stays should have full capacity");
+        assertEquals(3, inventory.minRemaining(DAY, DAY + 10), "Range without stays should have full capacity");
+    }
+
+    @Test
+    void testBook_OverlappingStays_CountsPerNight() {
+        // Arrange
+        inventory.book(DAY, DAY + 3);
+        inventory.book(DAY + 2, DAY + 5);
+
+        // Act
+        int[] remaining = inventory.remaining(DAY, DAY + 6);
+
+        // Assert
+        assertArrayEquals(new int[] { 2, 2, 1, 2, 2, 3 }, remaining, "Each night should count its stays");
+        assertEquals(1, inventory.minRemaining(DAY, DAY + 6), "Minimum should be the busiest night");
+    }
+
+    @Test
+    void testRelease_RestoresInventory() {
+        // Arrange
+        inventory.book(DAY, DAY + 3);
+
+        // Act
+        inventory.release(DAY, DAY + 3);
+
+        // Assert
+        assertEquals(3, inventory.minRemaining(DAY, DAY + 3), "Released nights should have full capacity");
+    }
+
+    @Test
+    void testBook_EarlierAndLaterStays_GrowCounters() {
+        // Act
+        inventory.book(DAY, DAY + 1);
+        inventory.book(DAY - 1_000, DAY - 998);
+        inventory.book(DAY + 5_000, DAY + 5_001);
+
+        // Assert
+        assertEquals(2, inventory.remaining(DAY), "Original night should be kept");
+        assertEquals(2, inventory.remaining(DAY - 999), "Earlier stay should be counted");
+        assertEquals(2, inventory.remaining(DAY + 5_000), "Later stay should be counted");
+    }
+
+    @Test
+    void testBook_BeyondMaximumSpan_ThrowsAndKeepsCounts() {
+        // Arrange
+        inventory.book(DAY, DAY + 1);
+        long tooFar = DAY + DailyInventory.MAX_SPAN_DAYS;
+
+        // Act & Assert
+        assertFalse(inventory.canBook(tooFar, tooFar + 1), "A night past the span should not fit");
+        assertThrows(IllegalArgumentException.class, () -> inventory.book(tooFar, tooFar + 1),
+                "Booking past the span should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> inventory.book(Long.MIN_VALUE, Long.MIN_VALUE + 1),
+                "A day that would overflow the span should be rejected");
+        assertEquals(2, inventory.remaining(DAY), "Existing counts should be kept");
+        assertTrue(inventory.canBook(tooFar - 1, tooFar), "The last night within the span should fit");
+        inventory.book(tooFar - 1, tooFar);
+        assertEquals(2, inventory.remaining(tooFar - 1), "Last night within the span should be counted");
+    }
+
+    @Test
+    void testMinRemaining_RangeBeyondMaximumSpan_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> inventory.minRemaining(DAY, DAY + DailyInventory.MAX_SPAN_DAYS + 1),
+                "An unbounded query should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> inventory.remaining(Long.MIN_VALUE, Long.MAX_VALUE),
+                "A query whose length overflows should be rejected");
+    }
+
+    @Test
+    void testSetCapacity_Negative_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> inventory.setCapacity(-1),
+                "Negative capacity should throw IllegalArgumentException");
+    }
+}
@@ -0,0 +1,63 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.hotel.domain.Money;
+import com.hotel.domain.RoomKind;
+import com.hotel.domain.RoomType;
+
+class HotelAvailabilityTest {
+
+    private RoomType cheapFamily;
+    private RoomType luxuryFamily;
+    private RoomType single;
+    private HotelAvailability availability;
+
+    @BeforeEach
+    void setUp() {
+        Currency usd = Currency.getInstance("USD");
+        cheapFamily = new RoomType(RoomKind.FAMILY, new Money(new BigDecimal("200"), usd));
+        luxuryFamily = new RoomType(RoomKind.FAMILY, new Money(new BigDecimal("400"), usd));
+        single = new RoomType(RoomKind.SINGLE, new Money(new BigDecimal("80"), usd));
+        Map<RoomType, Integer> counts = new LinkedHashMap<>();
+        counts.put(cheapFamily, 2);
+        counts.put(luxuryFamily, 1);
+        counts.put(single, 0);
+        availability = new HotelAvailability("Hotel 1", counts);
+    }
+
+    @Test
+    void testGetAvailableCount_ByRoomType() {
+        // Act & Assert
+        assertEquals(2, availability.getAvailableCount(cheapFamily), "Count should match the room type");
+        assertEquals(0, availability.getAvailableCount(single), "Sold-out type should report zero");
+    }
+
+    @Test
+    void testGetAvailableCount_ByKind_SumsAllTypesOfKind() {
+        // Act & Assert
+        assertEquals(3, availability.getAvailableCount(RoomKind.FAMILY), "FAMILY count should sum both price points");
+        assertEquals(0, availability.getAvailableCount(RoomKind.SUITE), "Missing kind should report zero");
+    }
+
+    @Test
+    void testGetCounts_IsUnmodifiable() {
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> availability.getCounts().clear(),
+                "Counts should be unmodifiable");
+    }
+
+    @Test
+    void testConstructor_BlankName_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new HotelAvailability(" ", Map.of()),
+                "Blank hotel name should throw IllegalArgumentException");
+    }
+}
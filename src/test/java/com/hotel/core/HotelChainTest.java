@@ -7,11 +7,21 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import com.hotel.domain.*;
 import com.hotel.exception.HotelException;
+import com.hotel.metrics.BookingMetrics;
+import com.hotel.metrics.MetricsSnapshot;
+import com.hotel.metrics.Operation;
 
 class HotelChainTest {
 
@@ -160,4 +170,495 @@ class HotelChainTest {
         assertEquals(identity, payer.getId(), "Identity should match");
         assertEquals(creditCard, payer.getCreditCardDetails(), "CreditCard should match");
     }
+
+    @Test
+    void testCreateReserverPayer_SameIdentity_ReusesPayer() {
+        // Arrange
+        CreditCard firstCard = new CreditCard("1234567890123456", "12/25", "123");
+        ReserverPayer first = chain.createReserverPayer(new Identity("Passport", "ABC123"), firstCard);
+
+        // Act
+        ReserverPayer again = chain.createReserverPayer(new Identity("Passport", "ABC123"),
+                new CreditCard("6543210987654321", "01/30", "999"));
+
+        // Assert
+        assertSame(first, again, "A returning customer should get the same payer");
+        assertEquals(firstCard, again.getCreditCardDetails(), "The first card should be kept");
+        assertEquals(1, chain.getPayers().size(), "Only one payer should be registered");
+    }
+
+    @Test
+    void testCreateReserverPayer_ListenerRunsBeforePayerIsVisible() {
+        // Arrange
+        Identity identity = new Identity("Passport", "ABC123");
+        List<Boolean> visibleWhenNotified = new ArrayList<>();
+        chain.addMutationListener(new ChainMutationListener() {
+            @Override
+            public void payerCreated(ReserverPayer payer) {
+                visibleWhenNotified.add(chain.findPayer(payer.getId()).isPresent());
+            }
+        });
+
+        // Act
+        ReserverPayer payer = chain.createReserverPayer(identity,
+                new CreditCard("1234567890123456", "12/25", "123"));
+
+        // Assert
+        assertEquals(List.of(false), visibleWhenNotified,
+                "The payer should be journaled before other threads can find it");
+        assertSame(payer, chain.findPayer(identity).orElseThrow(), "The payer should be registered afterwards");
+    }
+
+    @Test
+    void testFindPayer_RegisteredAndUnknownIdentity() {
+        // Arrange
+        ReserverPayer payer = chain.createReserverPayer(new Identity("Passport", "ABC123"),
+                new CreditCard("1234567890123456", "12/25", "123"));
+
+        // Act
+        Optional<ReserverPayer> found = chain.findPayer(new Identity("Passport", "ABC123"));
+        Optional<ReserverPayer> missing = chain.findPayer(new Identity("Passport", "XYZ789"));
+
+        // Assert
+        assertSame(payer, found.orElse(null), "Registered payer should be found by identity");
+        assertTrue(missing.isEmpty(), "Unknown identity should not be found");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "hotel 1", "HOTEL 1", "hOtEl 1" })
+    void testMakeReservation_HotelNameDifferentCase_Success(String hotelName) {
+        // Arrange
+        ReserverPayer payer = chain.createReserverPayer(new Identity("id", "1"),
+                new CreditCard("1234567890123", "12/25", "123"));
+        RoomType type = hotel.getRooms().get(0).getRoomType();
+
+        // Act
+        Reservation res = chain.makeReservation(hotelName, LocalDate.now(), LocalDate.now().plusDays(1), type, payer);
+
+        // Assert
+        assertNotNull(res, "Hotel lookup should ignore case for: " + hotelName);
+    }
+
+    @Test
+    void testCheckInGuest_UnknownRoom_ThrowsException() {
+        // Arrange
+        Guest guest = new Guest("John Doe", new Address("St", "City", "Zip"), new Identity("P", "1"));
+
+        // Act & Assert
+        assertThrows(HotelException.class, () -> chain.checkInGuest("Hotel 1", 999, guest),
+                "Checking in to an unknown room should throw HotelException");
+    }
+
+    @Test
+    void testMakeReservation_AcrossHotels_NumbersAreChainWideUnique() {
+        // Arrange
+        Hotel second = new Hotel("Hotel 2");
+        RoomType type = hotel.getRooms().get(0).getRoomType();
+        second.addRoom(new Room(101, type));
+        chain.addHotel(second);
+        ReserverPayer payer = chain.createReserverPayer(new Identity("id", "1"),
+                new CreditCard("1234567890123", "12/25", "123"));
+
+        // Act
+        Reservation first = chain.makeReservation("Hotel 1", LocalDate.now(), LocalDate.now().plusDays(1), type, payer);
+        Reservation other = chain.makeReservation("Hotel 2", LocalDate.now(), LocalDate.now().plusDays(1), type, payer);
+
+        // Assert
+        assertNotEquals(first.getReservationNumber(), other.getReservationNumber(),
+                "Hotels of one chain should draw from a single sequence");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 1000 })
+    void testSearchAvailability_SerialAndParallel_CountPerHotel(int threshold) {
+        // Arrange
+        RoomType familyType = new RoomType(RoomKind.FAMILY, new Money(BigDecimal.valueOf(50), Currency.getInstance("USD")));
+        for (int i = 2; i <= 20; i++) {
+            Hotel extra = new Hotel("Hotel " + i);
+            for (int r = 0; r < i % 3; r++) {
+                extra.addRoom(new Room(r + 1, familyType));
+            }
+            chain.addHotel(extra);
+        }
+        chain.setParallelSearchThreshold(threshold);
+
+        // Act
+        List<HotelAvailability> all = chain.searchAvailability(LocalDate.now(), LocalDate.now().plusDays(2));
+        List<HotelAvailability> family = chain.searchAvailability(LocalDate.now(), LocalDate.now().plusDays(2),
+                RoomKind.FAMILY);
+
+        // Assert
+        assertEquals(20, all.size(), "Every hotel should be reported");
+        assertEquals("Hotel 1", all.get(0).getHotelName(), "Results should keep hotel order");
+        assertEquals(1, all.get(0).getAvailableCount(RoomKind.DOUBLE), "Hotel 1 should have one DOUBLE room");
+        for (HotelAvailability availability : family) {
+            int index = Integer.parseInt(availability.getHotelName().substring(6));
+            assertEquals(index % 3, availability.getAvailableCount(familyType),
+                    "FAMILY count should match for " + availability.getHotelName());
+        }
+        assertEquals(13, family.size(), "Only hotels with a FAMILY room should match");
+    }
+
+    @Test
+    void testSetParallelSearchThreshold_Invalid_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> chain.setParallelSearchThreshold(0),
+                "Zero threshold should throw IllegalArgumentException");
+    }
+
+    @Test
+    void testMakeReservations_Batch_ReportsPerRequestResults() {
+        // Arrange
+        RoomType type = hotel.getRooms().get(0).getRoomType();
+        hotel.addRoom(new Room(102, type));
+        ReserverPayer payer = chain.createReserverPayer(new Identity("id", "1"),
+                new CreditCard("1234567890123", "12/25", "123"));
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = start.plusDays(2);
+        List<ReservationRequest> requests = new ArrayList<>();
+        requests.add(new ReservationRequest("Hotel 1", start, end, type, payer));
+        requests.add(new ReservationRequest("Nowhere", start, end, type, payer));
+        requests.add(new ReservationRequest("hotel 1", start, end, type, payer));
+        requests.add(new ReservationRequest("Hotel 1", start, end, type, payer));
+
+        // Act
+        List<ReservationResult> results = chain.makeReservations(requests);
+
+        // Assert
+        assertEquals(4, results.size(), "Every request should get a result");
+        assertTrue(results.get(0).isSuccess(), "First request should succeed");
+        assertFalse(results.get(1).isSuccess(), "Unknown hotel should fail without throwing");
+        assertTrue(results.get(2).isSuccess(), "Second room should be booked");
+        assertFalse(results.get(3).isSuccess(), "Third request should find the hotel sold out");
+        assertNotEquals(results.get(0).getReservation().orElseThrow().getRoom(),
+                results.get(2).getReservation().orElseThrow().getRoom(), "Each success should get its own room");
+        assertEquals(2, hotel.getReservations().size(), "Hotel should hold two reservations");
+    }
+
+    @Test
+    void testMutationListener_ReceivesEveryChange() {
+        // Arrange
+        List<String> events = new ArrayList<>();
+        chain.addMutationListener(new ChainMutationListener() {
+            @Override
+            public void payerCreated(ReserverPayer payer) {
+                events.add("payer");
+            }
+
+            @Override
+            public void reservationCreated(Hotel h, Reservation reservation) {
+                events.add("reserve");
+            }
+
+            @Override
+            public void guestCheckedIn(Hotel h, Room room, Guest guest) {
+                events.add("checkIn");
+            }
+
+            @Override
+            public void guestCheckedOut(Hotel h, Room room) {
+                events.add("checkOut");
+            }
+        });
+        RoomType type = hotel.getRooms().get(0).getRoomType();
+        Guest guest = new Guest("John Doe", new Address("St", "City", "Zip"), new Identity("P", "1"));
+
+        // Act
+        ReserverPayer payer = chain.createReserverPayer(new Identity("id", "1"),
+                new CreditCard("1234567890123", "12/25", "123"));
+        chain.makeReservation("Hotel 1", LocalDate.now(), LocalDate.now().plusDays(1), type, payer);
+        chain.checkInGuest("Hotel 1", 101, guest);
+        chain.checkOutGuest("Hotel 1", 101);
+
+        // Assert
+        assertEquals(List.of("payer", "reserve", "checkIn", "checkOut"), events, "Listener should see every change in order");
+    }
+
+    @Test
+    void testMetrics_Enabled_RecordsBookingsAndFailures() {
+        // Arrange
+        chain.getMetrics().setEnabled(true);
+        RoomType type = hotel.getRooms().get(0).getRoomType();
+        ReserverPayer payer = new ReserverPayer(new Identity("id", "1"), new CreditCard("1234567890123", "12/25", "123"));
+
+        // Act
+        chain.makeReservation("Hotel 1", LocalDate.now(), LocalDate.now().plusDays(1), type, payer);
+        hotel.available(LocalDate.now(), LocalDate.now().plusDays(1), type);
+        assertThrows(HotelException.class, () -> chain.cancelReservation("Hotel 1", 999_999));
+        MetricsSnapshot snapshot = chain.getMetrics().snapshot();
+
+        // Assert
+        assertEquals(1, snapshot.get(Operation.MAKE_RESERVATION).getCalls(), "Booking should be counted");
+        assertEquals(0, snapshot.get(Operation.MAKE_RESERVATION).getFailures(), "Booking should not fail");
+        assertEquals(1, snapshot.get(Operation.AVAILABILITY).getCalls(),
+                "Only the explicit availability check should be timed, not the one inside the booking");
+        assertEquals(1, snapshot.get(Operation.CANCEL_RESERVATION).getFailures(), "Failed cancel should be counted");
+        assertEquals(1L, snapshot.getHotelFailures().get("Hotel 1"), "Failure should be charged to the hotel");
+    }
+
+    @Test
+    void testMetrics_AvailabilityOfTypeWithoutRooms_Recorded() {
+        // Arrange
+        chain.getMetrics().setEnabled(true);
+        RoomType missing = new RoomType(RoomKind.SUITE, new Money(new BigDecimal("9999"), Currency.getInstance("USD")));
+
+        // Act
+        boolean available = hotel.available(LocalDate.now(), LocalDate.now().plusDays(1), missing);
+
+        // Assert
+        assertFalse(available, "A type without rooms should not be available");
+        assertEquals(1, chain.getMetrics().snapshot().get(Operation.AVAILABILITY).getCalls(),
+                "The check should still be recorded");
+    }
+
+    @Test
+    void testMetrics_FailureNames_CanonicalOrSingleUnknownBucket() {
+        // Arrange
+        chain.getMetrics().setEnabled(true);
+
+        // Act
+        assertThrows(HotelException.class, () -> chain.cancelReservation("HOTEL 1", 999_999));
+        assertThrows(HotelException.class, () -> chain.cancelReservation("hotel 1", 999_998));
+        for (int i = 0; i < 5; i++) {
+            String name = "No such hotel " + i;
+            assertThrows(HotelException.class, () -> chain.checkOutGuest(name, 101));
+        }
+        Map<String, Long> failures = chain.getMetrics().snapshot().getHotelFailures();
+
+        // Assert
+        assertEquals(Map.of("Hotel 1", 2L, BookingMetrics.UNKNOWN_HOTEL, 5L), failures,
+                "Failures should be keyed by the hotel's own name, unknown names in one bucket");
+    }
+
+    @Test
+    void testSubmitReservation_ValidRequest_CompletesWithReservation() throws Exception {
+        // Arrange
+        RoomType type = hotel.getRooms().get(0).getRoomType();
+        ReserverPayer payer = chain.createReserverPayer(new Identity("id", "1"),
+                new CreditCard("1234567890123", "12/25", "123"));
+
+        // Act
+        Reservation reservation = chain.submitReservation("hotel 1", LocalDate.now(), LocalDate.now().plusDays(1),
+                type, payer).get();
+        chain.submitCheckIn("Hotel 1", 101, new Guest("Guest", new Address("1 St", "City", "00000"), payer.getId()))
+                .get();
+
+        // Assert
+        assertEquals(101, reservation.getRoom().getNumber(), "Shard should book the only room");
+        assertEquals(RoomState.OCCUPIED, reservation.getRoom().getState(), "Check-in should run after the booking");
+    }
+
+    @Test
+    void testSubmitReservation_UnknownHotel_FailsFuture() {
+        // Arrange
+        RoomType type = hotel.getRooms().get(0).getRoomType();
+        ReserverPayer payer = new ReserverPayer(new Identity("id", "1"), new CreditCard("1234567890123", "12/25", "123"));
+
+        // Act
+        CompletableFuture<Reservation> future = chain.submitReservation("Nowhere", LocalDate.now(), LocalDate.now().plusDays(1), type, payer);
+
+        // Assert
+        ExecutionException e = assertThrows(ExecutionException.class, future::get,
+                "Unknown hotel should fail the future");
+        assertInstanceOf(HotelException.class, e.getCause(), "Failure should be a HotelException");
+    }
+
+    @Test
+    void testSubmitReservation_ManyHotels_NoDoubleBooking() throws Exception {
+        // Arrange
+        RoomType type = hotel.getRooms().get(0).getRoomType();
+        for (int h = 2; h <= 8; h++) {
+            Hotel extra = new Hotel("Hotel " + h);
+            for (int r = 0; r < 5; r++) {
+                extra.addRoom(new Room(r + 1, type));
+            }
+            chain.addHotel(extra);
+        }
+        ReserverPayer payer = chain.createReserverPayer(new Identity("id", "1"),
+                new CreditCard("1234567890123", "12/25", "123"));
+        List<CompletableFuture<Reservation>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            for (int h = 2; h <= 8; h++) {
+                futures.add(chain.submitReservation("Hotel " + h, LocalDate.now(), LocalDate.now().plusDays(1),
+                        type, payer));
+            }
+        }
+        int booked = 0;
+        for (CompletableFuture<Reservation> future : futures) {
+            try {
+                future.get();
+                booked++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(HotelException.class, e.getCause(), "Only sold-out failures are expected");
+            }
+        }
+
+        // Assert
+        assertEquals(7 * 5, booked, "Every room of every hotel should be booked exactly once");
+    }
+
+    @Test
+    void testMakeGroupReservation_NotEnoughRooms_ThrowsAndCountsFailure() {
+        // Arrange
+        chain.getMetrics().setEnabled(true);
+        RoomType type = hotel.getRooms().get(0).getRoomType();
+        ReserverPayer payer = chain.createReserverPayer(new Identity("id", "1"),
+                new CreditCard("1234567890123", "12/25", "123"));
+
+        // Act & Assert
+        assertThrows(HotelException.class, () -> chain.makeGroupReservation("Hotel 1", LocalDate.now(),
+                LocalDate.now().plusDays(1), Map.of(type, 2), payer), "Two rooms cannot fit in one");
+        List<Reservation> group = chain.makeGroupReservation("Hotel 1", LocalDate.now(), LocalDate.now().plusDays(1),
+                Map.of(type, 1), payer);
+        assertEquals(1, group.size(), "A fitting group should be booked");
+        assertEquals(1, chain.getMetrics().snapshot().get(Operation.GROUP_RESERVATION).getFailures(),
+                "The failed group should be counted");
+    }
+
+    @Test
+    void testConfirmHold_ReservationVisibleInChain() {
+        // Arrange
+        RoomType type = hotel.getRooms().get(0).getRoomType();
+        ReserverPayer payer = chain.createReserverPayer(new Identity("id", "1"),
+                new CreditCard("1234567890123", "12/25", "123"));
+        RoomHold hold = chain.placeHold("Hotel 1", LocalDate.now(), LocalDate.now().plusDays(1), type,
+                Duration.ofMinutes(5));
+
+        // Act
+        Reservation reservation = chain.confirmHold(hold, payer);
+
+        // Assert
+        assertSame(reservation, hotel.getReservation(reservation.getReservationNumber()).orElse(null),
+                "Confirmed hold should be a reservation of the hotel");
+        assertFalse(chain.releaseHold(hold), "Confirmed hold cannot be released");
+    }
+
+    @Test
+    void testGetArrivals_GroupsByHotel() {
+        // Arrange
+        Hotel other = new Hotel("Hotel 2");
+        chain.addHotel(other);
+        RoomType type = hotel.getRooms().get(0).getRoomType();
+        other.addRoom(new Room(201, type));
+        ReserverPayer payer = chain.createReserverPayer(new Identity("id", "1"),
+                new CreditCard("1234567890123", "12/25", "123"));
+        LocalDate today = LocalDate.now();
+        Reservation arriving = chain.makeReservation("Hotel 1", today, today.plusDays(2), type, payer);
+        chain.makeReservation("Hotel 2", today.plusDays(1), today.plusDays(2), type, payer);
+
+        // Act
+        Map<String, List<Reservation>> arrivals = chain.getArrivals(today, today.plusDays(1));
+        Map<String, List<Reservation>> departures = chain.getDepartures(today.plusDays(2), today.plusDays(3));
+
+        // Assert
+        assertEquals(Map.of("Hotel 1", List.of(arriving)), arrivals, "Only Hotel 1 has an arrival today");
+        assertEquals(List.of("Hotel 1", "Hotel 2"), List.copyOf(departures.keySet()),
+                "Departures should be listed in hotel order");
+    }
+
+    @Test
+    void testFindReservations_CreatedAndCancelledAcrossHotels() {
+        // Arrange
+        Hotel other = new Hotel("Hotel 2");
+        chain.addHotel(other);
+        RoomType type = hotel.getRooms().get(0).getRoomType();
+        other.addRoom(new Room(201, type));
+        other.addRoom(new Room(202, type));
+        Identity passport = new Identity("Passport", "ABC123");
+        ReserverPayer payer = chain.createReserverPayer(passport, new CreditCard("1234567890123", "12/25", "123"));
+        ReserverPayer stranger = chain.createReserverPayer(new Identity("Passport", "XYZ789"),
+                new CreditCard("1234567890123", "12/25", "123"));
+        LocalDate today = LocalDate.now();
+        Reservation first = chain.makeReservation("Hotel 2", today, today.plusDays(1), type, payer);
+        Reservation second = chain.makeReservation("Hotel 1", today, today.plusDays(1), type, payer);
+        Reservation third = chain.makeReservation("Hotel 2", today, today.plusDays(1), type, stranger);
+
+        // Act
+        chain.cancelReservation("Hotel 2", third.getReservationNumber());
+        Map<String, List<Reservation>> found = chain.findReservations(new Identity("Passport", "ABC123"));
+        chain.cancelReservation("Hotel 1", second.getReservationNumber());
+        Map<String, List<Reservation>> afterCancel = chain.findReservations(passport);
+
+        // Assert
+        assertEquals(List.of("Hotel 2", "Hotel 1"), List.copyOf(found.keySet()),
+                "Hotels should come in the order of their first reservation");
+        assertEquals(List.of(first), found.get("Hotel 2"), "Hotel 2 booking should be found");
+        assertEquals(List.of(second), found.get("Hotel 1"), "Hotel 1 booking should be found");
+        assertEquals(Map.of("Hotel 2", List.of(first)), afterCancel, "Cancelled booking should be gone");
+        assertTrue(chain.findReservations(stranger.getId()).isEmpty(), "Stranger has no bookings left");
+    }
+
+    @Test
+    void testFindReservations_IncludesRestoredAndPreexistingReservations() {
+        // Arrange
+        RoomType type = hotel.getRooms().get(0).getRoomType();
+        ReserverPayer payer = new ReserverPayer(new Identity("Passport", "ABC123"),
+                new CreditCard("1234567890123", "12/25", "123"));
+        Hotel standalone = new Hotel("Hotel 2");
+        standalone.addRoom(new Room(201, type));
+        Reservation before = standalone.createReservation(LocalDate.now(), LocalDate.now().plusDays(1), type, payer);
+
+        // Act
+        chain.addHotel(standalone);
+        Reservation restored = hotel.restoreReservation(500, LocalDate.now(), LocalDate.now().plusDays(1), 101,
+                payer);
+
+        // Assert
+        Map<String, List<Reservation>> found = chain.findReservations(payer.getId());
+        assertEquals(List.of(before), found.get("Hotel 2"), "Reservations made before joining should be indexed");
+        assertEquals(List.of(restored), found.get("Hotel 1"), "Restored reservations should be indexed");
+    }
+
+    @Test
+    void testFindReservations_SameNumberInTwoHotels_KeptApart() {
+        // Arrange
+        RoomType type = hotel.getRooms().get(0).getRoomType();
+        ReserverPayer payer = chain.createReserverPayer(new Identity("Passport", "ABC123"),
+                new CreditCard("1234567890123", "12/25", "123"));
+        LocalDate today = LocalDate.now();
+        Reservation inChain = chain.makeReservation("Hotel 1", today, today.plusDays(1), type, payer);
+        Hotel standalone = new Hotel("Hotel 2");
+        standalone.addRoom(new Room(201, type));
+        Reservation joining = standalone.createReservation(today, today.plusDays(1), type, payer);
+        assertEquals(inChain.getReservationNumber(), joining.getReservationNumber(),
+                "Both hotels should have handed out the same number");
+
+        // Act
+        chain.addHotel(standalone);
+        Map<String, List<Reservation>> both = chain.findReservations(payer.getId());
+        chain.cancelReservation("Hotel 2", joining.getReservationNumber());
+        Map<String, List<Reservation>> afterCancel = chain.findReservations(payer.getId());
+
+        // Assert
+        assertEquals(List.of(inChain), both.get("Hotel 1"), "Hotel 1 booking should be kept");
+        assertEquals(List.of(joining), both.get("Hotel 2"), "Hotel 2 booking should be indexed too");
+        assertEquals(Map.of("Hotel 1", List.of(inChain)), afterCancel,
+                "Cancelling in Hotel 2 should leave the Hotel 1 booking indexed");
+    }
+
+    @Test
+    void testCancelReservation_ListenerThrows_CancellationStaysApplied() {
+        // Arrange
+        RoomType type = hotel.getRooms().get(0).getRoomType();
+        ReserverPayer payer = chain.createReserverPayer(new Identity("id", "1"),
+                new CreditCard("1234567890123", "12/25", "123"));
+        Reservation reservation = chain.makeReservation("Hotel 1", LocalDate.now(), LocalDate.now().plusDays(1),
+                type, payer);
+        chain.addMutationListener(new ChainMutationListener() {
+            @Override
+            public void reservationCancelled(Hotel h, Reservation r) {
+                throw new HotelException("Journal write failed.");
+            }
+        });
+
+        // Act & Assert
+        assertThrows(HotelException.class, () -> chain.cancelReservation("Hotel 1",
+                reservation.getReservationNumber()), "The listener failure should reach the caller");
+        assertTrue(hotel.getReservation(reservation.getReservationNumber()).isEmpty(),
+                "The cancellation should stay applied");
+        assertTrue(hotel.available(LocalDate.now(), LocalDate.now().plusDays(1), type),
+                "The room should be free for the dates again");
+    }
 }
@@ -0,0 +1,42 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import com.hotel.domain.*;
+
+class HotelImageTest {
+
+    private final Room room = new Room(101,
+            new RoomType(RoomKind.SINGLE, new Money(BigDecimal.TEN, Currency.getInstance("USD"))));
+
+    @Test
+    void testCreation_MismatchedStates_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new HotelImage("Hotel", AvailabilityBackend.INTERVAL_SCHEDULE, List.of(room), List.of(),
+                        List.of(), List.of()),
+                "Each room needs a recorded state");
+    }
+
+    @Test
+    void testCreation_FreeRoomWithoutOccupant_KeepsNullEntry() {
+        // Arrange
+        List<Guest> occupants = new ArrayList<>();
+        occupants.add(null);
+
+        // Act
+        HotelImage image = new HotelImage("Hotel", AvailabilityBackend.INTERVAL_SCHEDULE, List.of(room),
+                List.of(RoomState.FREE), occupants, List.of());
+
+        // Assert
+        assertNull(image.getOccupants().get(0), "A free room should have no occupant");
+        assertThrows(UnsupportedOperationException.class, () -> image.getRooms().clear(),
+                "Image contents should be read-only");
+    }
+}
@@ -0,0 +1,225 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.hotel.exception.HotelException;
+
+class HotelShardTest {
+
+    private Queue<Runnable> scheduled;
+    private AtomicInteger batches;
+    private HotelShard shard;
+
+    @BeforeEach
+    void setUp() {
+        scheduled = new ArrayDeque<>();
+        batches = new AtomicInteger();
+        shard = new HotelShard(() -> scheduled::add, batches::incrementAndGet);
+    }
+
+    @Test
+    void testSubmit_SchedulesOneDrainForManyCommands() {
+        // Arrange
+        List<Integer> order = new ArrayList<>();
+
+        // Act
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int value = i;
+            futures.add(shard.submit(() -> {
+                order.add(value);
+                return value;
+            }));
+        }
+        int drains = scheduled.size();
+        scheduled.poll().run();
+
+        // Assert
+        assertEquals(1, drains, "Only one drain should be scheduled at a time");
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), order, "Commands should run in submission order");
+        assertEquals(1, batches.get(), "One batch should share one after-batch call");
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, futures.get(i).join(), "Each future should carry its command's result");
+        }
+    }
+
+    @Test
+    void testDrain_FullMailbox_YieldsAfterEachBatch() {
+        // Arrange
+        for (int i = 0; i < HotelShard.BATCH_SIZE + 1; i++) {
+            shard.submit(() -> null);
+        }
+
+        // Act
+        scheduled.poll().run();
+
+        // Assert
+        assertEquals(1, batches.get(), "First drain should stop after one batch");
+        assertEquals(1, scheduled.size(), "The remaining command should be rescheduled");
+        scheduled.poll().run();
+        assertEquals(2, batches.get(), "Second drain should run the rest");
+        assertTrue(scheduled.isEmpty(), "Nothing should remain scheduled");
+    }
+
+    @Test
+    void testDrain_FailedCommand_FailsOnlyItsFuture() {
+        // Arrange
+        CompletableFuture<String> failed = shard.submit(() -> {
+            throw new HotelException("No room");
+        });
+        CompletableFuture<String> ok = shard.submit(() -> "ok");
+
+        // Act
+        scheduled.poll().run();
+
+        // Assert
+        ExecutionException e = assertThrows(ExecutionException.class, failed::get, "Failure should surface");
+        assertInstanceOf(HotelException.class, e.getCause(), "Original exception should be kept");
+        assertEquals("ok", ok.join(), "Later command should still succeed");
+    }
+
+    @Test
+    void testDrain_OnlyFailures_SkipsAfterBatch() {
+        // Arrange
+        shard.submit(() -> {
+            throw new HotelException("No room");
+        });
+
+        // Act
+        scheduled.poll().run();
+
+        // Assert
+        assertEquals(0, batches.get(), "A batch without successful commands has nothing to flush");
+    }
+
+    @Test
+    void testDrain_AfterBatchFails_FailsSuccessfulCommands() {
+        // Arrange
+        HotelShard failing = new HotelShard(() -> scheduled::add, () -> {
+            throw new HotelException("Journal write failed.");
+        });
+        CompletableFuture<String> future = failing.submit(() -> "done");
+
+        // Act
+        scheduled.poll().run();
+
+        // Assert
+        ExecutionException e = assertThrows(ExecutionException.class, future::get,
+                "A command is not complete until the batch is flushed");
+        assertEquals("Journal write failed.", e.getCause().getMessage(), "Flush failure should be reported");
+    }
+
+    @Test
+    void testSubmit_ConcurrentProducers_RunOneAtATime() throws Exception {
+        // Arrange
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        HotelShard pooled = new HotelShard(() -> pool, () -> { });
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        int[] counter = new int[1];
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        // Act
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    CompletableFuture<Void> future = pooled.submit(() -> {
+                        if (running.incrementAndGet() != 1) {
+                            overlaps.incrementAndGet();
+                        }
+                        counter[0]++;
+                        running.decrementAndGet();
+                        return null;
+                    });
+                    synchronized (futures) {
+                        futures.add(future);
+                    }
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get();
+        pool.shutdown();
+
+        // Assert
+        assertEquals(0, overlaps.get(), "Commands of one shard must never overlap");
+        assertEquals(20_000, counter[0], "Every command should run exactly once");
+    }
+
+    @Test
+    void testSubmit_ExecutorRejects_FailsFutureAndRecovers() {
+        // Arrange
+        AtomicInteger rejections = new AtomicInteger(1);
+        HotelShard flaky = new HotelShard(() -> task -> {
+            if (rejections.getAndDecrement() > 0) {
+                throw new RejectedExecutionException("Pool is shut down");
+            }
+            scheduled.add(task);
+        }, batches::incrementAndGet);
+
+        // Act
+        CompletableFuture<String> rejected = flaky.submit(() -> "first");
+        CompletableFuture<String> accepted = flaky.submit(() -> "second");
+        scheduled.poll().run();
+
+        // Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class, rejected::get,
+                "A rejected drain should fail the queued command");
+        assertInstanceOf(RejectedExecutionException.class, thrown.getCause(), "The rejection should be the cause");
+        assertEquals("second", accepted.join(), "The shard should schedule again after a rejection");
+    }
+
+    @Test
+    void testDrain_CommandThrowsError_FailsFutureAndKeepsDraining() {
+        // Arrange
+        CompletableFuture<String> failed = shard.submit(() -> {
+            throw new AssertionError("Broken");
+        });
+        CompletableFuture<String> next = shard.submit(() -> "next");
+
+        // Act
+        scheduled.poll().run();
+        CompletableFuture<String> later = shard.submit(() -> "later");
+        scheduled.poll().run();
+
+        // Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class, failed::get,
+                "An Error should fail its command's future");
+        assertInstanceOf(AssertionError.class, thrown.getCause(), "The Error should be the cause");
+        assertEquals("next", next.join(), "Other commands of the batch should complete");
+        assertEquals("later", later.join(), "The shard should keep accepting commands");
+    }
+
+    @Test
+    void testDrain_AfterBatchThrowsError_FailsBatchAndResets() {
+        // Arrange
+        HotelShard broken = new HotelShard(() -> scheduled::add, () -> {
+            throw new AssertionError("Flush failed");
+        });
+        CompletableFuture<String> inBatch = broken.submit(() -> "value");
+
+        // Act
+        scheduled.poll().run();
+        broken.submit(() -> "again");
+
+        // Assert
+        assertThrows(ExecutionException.class, inBatch::get, "The batch should fail with afterBatch");
+        assertEquals(1, scheduled.size(), "The shard should schedule a new drain afterwards");
+    }
+}
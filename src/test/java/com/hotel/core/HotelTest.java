@@ -5,10 +5,31 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Currency;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.hotel.domain.*;
 import com.hotel.exception.HotelException;
@@ -182,4 +203,823 @@ class HotelTest {
                 () -> hotel.getReservations().clear(),
                 "Reservations list should be unmodifiable");
     }
+
+    @Test
+    void testCancelReservation_FreesDatesInRoomSchedule() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(5);
+        LocalDate end = LocalDate.now().plusDays(8);
+        Reservation res = hotel.createReservation(start, end, doubleRoomType, payer);
+        Room room = res.getRoom();
+
+        // Act
+        hotel.cancelReservation(res.getReservationNumber());
+
+        // Assert
+        assertTrue(room.getSchedule().isFree(start, end), "Cancelled dates should be free in the room schedule");
+        assertTrue(hotel.available(start, end, doubleRoomType), "Room should be available again after cancellation");
+    }
+
+    @Test
+    void testGetReservation_ByNumber_ReturnsReservation() {
+        // Arrange
+        Reservation res = hotel.createReservation(LocalDate.now(), LocalDate.now().plusDays(2), doubleRoomType, payer);
+
+        // Act & Assert
+        assertEquals(res, hotel.getReservation(res.getReservationNumber()).orElseThrow(),
+                "Reservation should be found by its number");
+        assertTrue(hotel.getReservation(999).isEmpty(), "Unknown number should return empty");
+    }
+
+    @Test
+    void testGetRoom_ByNumber_ReturnsRoom() {
+        // Act & Assert
+        assertEquals(101, hotel.getRoom(101).orElseThrow().getNumber(), "Room 101 should be found");
+        assertTrue(hotel.getRoom(404).isEmpty(), "Unknown room number should return empty");
+    }
+
+    @Test
+    void testCreateReservation_ConcurrentBookings_NeverDoubleBook() throws Exception {
+        // Arrange
+        int roomCount = 50;
+        int threads = 16;
+        int attemptsPerThread = 40;
+        RoomType familyType = new RoomType(RoomKind.FAMILY, new Money(new BigDecimal("200"), Currency.getInstance("USD")));
+        for (int i = 0; i < roomCount; i++) {
+            hotel.addRoom(new Room(1000 + i, familyType));
+        }
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = LocalDate.now().plusDays(4);
+        ConcurrentLinkedQueue<Reservation> created = new ConcurrentLinkedQueue<>();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                go.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    try {
+                        created.add(hotel.createReservation(start, end, familyType, payer));
+                        // Single bookings on another type run alongside
+                        if (hotel.available(start, end, doubleRoomType)) {
+                            hotel.createReservation(start, end, doubleRoomType, payer);
+                        }
+                    } catch (HotelException e) {
+                        // Sold out or lost a race; both are expected under contention
+                    }
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Assert
+        Set<Integer> bookedRooms = new HashSet<>();
+        Set<Integer> numbers = new HashSet<>();
+        for (Reservation res : created) {
+            assertTrue(bookedRooms.add(res.getRoom().getNumber()), "Room " + res.getRoom().getNumber() + " was double-booked");
+            assertTrue(numbers.add(res.getReservationNumber()), "Reservation number was reused");
+        }
+        assertEquals(roomCount, created.size(), "Every FAMILY room should be booked exactly once");
+        assertEquals(roomCount + 1, hotel.getReservations().size(), "Hotel should hold one reservation per room");
+        assertFalse(hotel.available(start, end, familyType), "No FAMILY room should remain available");
+    }
+
+    @ParameterizedTest
+    @EnumSource(AvailabilityBackend.class)
+    void testAvailability_EachBackend_TracksCreateAndCancel(AvailabilityBackend backend) {
+        // Arrange
+        Hotel backed = new Hotel("Backed Hotel", backend);
+        backed.addRoom(new Room(201, doubleRoomType));
+        LocalDate start = LocalDate.now().plusDays(3);
+        LocalDate end = LocalDate.now().plusDays(6);
+
+        // Act
+        Reservation res = backed.createReservation(start, end, doubleRoomType, payer);
+        boolean availableWhileBooked = backed.available(start, end, doubleRoomType);
+        backed.cancelReservation(res.getReservationNumber());
+
+        // Assert
+        assertFalse(availableWhileBooked, "Booked room should not be available with " + backend);
+        assertTrue(backed.available(start, end, doubleRoomType), "Cancelled room should be available with " + backend);
+    }
+
+    @ParameterizedTest
+    @EnumSource(AvailabilityBackend.class)
+    void testNightsWithAvailability_EachBackend_ReportsFreeNights(AvailabilityBackend backend) {
+        // Arrange
+        Hotel backed = new Hotel("Grid Hotel", backend);
+        backed.addRoom(new Room(201, doubleRoomType));
+        Room second = new Room(202, doubleRoomType);
+        backed.addRoom(second);
+        LocalDate start = LocalDate.now().plusDays(1);
+        backed.createReservation(start.plusDays(2), start.plusDays(4), doubleRoomType, payer);
+
+        // Act
+        BitSet nights = backed.nightsWithAvailability(start, start.plusDays(5), doubleRoomType);
+
+        // Assert
+        assertEquals(5, nights.cardinality(), "Second room keeps every night available with " + backend);
+    }
+
+    @Test
+    void testCreateReservation_AfterCancellation_DoesNotReuseNumbers() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = LocalDate.now().plusDays(2);
+        Reservation first = hotel.createReservation(start, end, doubleRoomType, payer);
+        Reservation second = hotel.createReservation(start, end, doubleRoomType, payer);
+        hotel.cancelReservation(first.getReservationNumber());
+
+        // Act
+        Reservation third = hotel.createReservation(start, end, doubleRoomType, payer);
+
+        // Assert
+        assertNotEquals(second.getReservationNumber(), third.getReservationNumber(),
+                "A live reservation number must not be handed out again");
+        assertEquals(second, hotel.getReservation(second.getReservationNumber()).orElseThrow(),
+                "Earlier reservation should still be found by its number");
+    }
+
+    @Test
+    void testAvailable_StayLongerThanMaximum_ThrowsException() {
+        // Arrange
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        LocalDate end = start.plusDays(Hotel.MAX_STAY_NIGHTS + 1);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> hotel.available(start, end, doubleRoomType),
+                "An overlong stay should be rejected before any night is checked");
+        assertThrows(IllegalArgumentException.class,
+                () -> hotel.createReservation(start, end, doubleRoomType, payer),
+                "An overlong stay should not be booked");
+        assertTrue(hotel.available(start, start.plusDays(Hotel.MAX_STAY_NIGHTS), doubleRoomType),
+                "A stay of the maximum length should be accepted");
+    }
+
+    @Test
+    void testCreateReservation_BeyondInventorySpan_ThrowsAndAppliesNothing() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        hotel.createReservation(start, start.plusDays(1), doubleRoomType, payer);
+        LocalDate farOff = start.plusDays(DailyInventory.MAX_SPAN_DAYS);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> hotel.createReservation(farOff, farOff.plusDays(1), doubleRoomType, payer),
+                "Nights too far from the booked ones should be rejected");
+        assertEquals(1, hotel.getReservations().size(), "Only the first reservation should exist");
+        assertEquals(RoomState.FREE, hotel.getRoom(102).get().getState(), "Second room should stay free");
+        assertTrue(hotel.available(farOff.minusDays(2), farOff.minusDays(1), doubleRoomType),
+                "Second room's schedule should be untouched");
+    }
+
+    @Test
+    void testCreateReservation_BitmapBackend_DropsNightsBeforeToday() {
+        // Arrange
+        Hotel bitmap = new Hotel("Bitmap Hotel", AvailabilityBackend.BITMAP_CALENDAR);
+        HotelChain chain = new HotelChain("Chain");
+        chain.addHotel(bitmap);
+        Room room = new Room(101, doubleRoomType);
+        bitmap.addRoom(room);
+        LocalDate firstStay = LocalDate.of(2030, 1, 10);
+        bitmap.setHoldClock(Clock.fixed(Instant.parse("2030-01-01T00:00:00Z"), ZoneOffset.UTC));
+        bitmap.createReservation(firstStay, firstStay.plusDays(2), doubleRoomType, payer);
+        chain.checkInGuest("Bitmap Hotel", 101, new Guest("Ann", new Address("St", "City", "Zip"),
+                new Identity("P", "1")));
+        chain.checkOutGuest("Bitmap Hotel", 101);
+        LocalDate secondStay = LocalDate.of(2031, 2, 1);
+        bitmap.setHoldClock(Clock.fixed(Instant.parse("2031-01-01T00:00:00Z"), ZoneOffset.UTC));
+
+        // Act
+        bitmap.createReservation(secondStay, secondStay.plusDays(2), doubleRoomType, payer);
+
+        // Assert
+        assertTrue(room.getCalendar().isFree(firstStay, firstStay.plusDays(2)),
+                "Nights before today should have been dropped from the calendar");
+        assertFalse(room.getCalendar().isFree(secondStay, secondStay.plusDays(2)),
+                "The new stay should be marked");
+    }
+
+    @Test
+    void testAvailable_EndNotAfterStart_ThrowsException() {
+        // Arrange
+        LocalDate day = LocalDate.of(2030, 1, 1);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> hotel.available(day, day, doubleRoomType),
+                "A stay without nights should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> hotel.available(day, day.minusDays(1), doubleRoomType),
+                "A stay ending before it starts should be rejected");
+    }
+
+    @Test
+    void testAvailableCounts_PerRoomType() {
+        // Arrange
+        RoomType singleType = new RoomType(RoomKind.SINGLE, new Money(new BigDecimal("75"), Currency.getInstance("USD")));
+        hotel.addRoom(new Room(102, doubleRoomType));
+        hotel.addRoom(new Room(103, singleType));
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = LocalDate.now().plusDays(3);
+        hotel.createReservation(start, end, doubleRoomType, payer);
+
+        // Act
+        Map<RoomType, Integer> counts = hotel.availableCounts(start, end);
+
+        // Assert
+        assertEquals(1, counts.get(doubleRoomType), "One DOUBLE room should remain");
+        assertEquals(1, counts.get(singleType), "The SINGLE room should be available");
+        assertEquals(1, hotel.availableCount(start, end, doubleRoomType), "Single-type count should agree");
+    }
+
+    @Test
+    void testAddRoom_TypesAddedOutOfIdOrder_KeptInIdOrder() {
+        // Arrange
+        Currency usd = Currency.getInstance("USD");
+        RoomType first = new RoomType(RoomKind.SINGLE, new Money(new BigDecimal("611"), usd));
+        RoomType second = new RoomType(RoomKind.SUITE, new Money(new BigDecimal("612"), usd));
+        RoomType third = new RoomType(RoomKind.FAMILY, new Money(new BigDecimal("613"), usd));
+        assertTrue(first.getId() < second.getId() && second.getId() < third.getId(), "Ids follow registration");
+        Hotel mixed = new Hotel("Mixed Hotel");
+
+        // Act
+        mixed.addRoom(new Room(3, third));
+        mixed.addRoom(new Room(1, first));
+        mixed.addRoom(new Room(2, second));
+
+        // Assert
+        assertEquals(List.of(first, second, third), mixed.getRoomTypes(), "Types should be listed in id order");
+        LocalDate start = LocalDate.now().plusDays(1);
+        for (RoomType type : List.of(first, second, third)) {
+            assertEquals(1, mixed.availableCount(start, start.plusDays(1), type),
+                    "Each type should find its own room");
+        }
+        assertFalse(mixed.available(start, start.plusDays(1), doubleRoomType),
+                "A type without rooms in the hotel should not be available");
+    }
+
+    @Test
+    void testRemainingInventory_TracksCreateAndCancel() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        LocalDate start = LocalDate.now().plusDays(1);
+        Reservation res = hotel.createReservation(start, start.plusDays(2), doubleRoomType, payer);
+
+        // Act
+        int duringStay = hotel.remainingInventory(start.plusDays(1), doubleRoomType);
+        int afterStay = hotel.remainingInventory(start.plusDays(2), doubleRoomType);
+        hotel.cancelReservation(res.getReservationNumber());
+
+        // Assert
+        assertEquals(1, duringStay, "One DOUBLE room should remain during the stay");
+        assertEquals(2, afterStay, "Both rooms should be free on check-out night");
+        assertArrayEquals(new int[] { 2, 2 }, hotel.remainingInventory(start, start.plusDays(2), doubleRoomType),
+                "Cancelled stay should return its inventory");
+    }
+
+    @Test
+    void testHasInventory_SoldOutNight_ReturnsFalse() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        hotel.createReservation(start, start.plusDays(2), doubleRoomType, payer);
+
+        // Act & Assert
+        assertFalse(hotel.hasInventory(start.plusDays(1), start.plusDays(4), doubleRoomType),
+                "A sold-out night should be rejected");
+        assertTrue(hotel.hasInventory(start.plusDays(2), start.plusDays(4), doubleRoomType),
+                "Nights after the stay should still have inventory");
+    }
+
+    @Test
+    void testCreateReservations_MixedTypes_ResolvesEachGroup() {
+        // Arrange
+        RoomType suiteType = new RoomType(RoomKind.SUITE, new Money(new BigDecimal("500"), Currency.getInstance("USD")));
+        hotel.addRoom(new Room(301, suiteType));
+        LocalDate start = LocalDate.now().plusDays(1);
+        List<ReservationRequest> requests = List.of(
+                new ReservationRequest("Test Hotel", start, start.plusDays(1), suiteType, payer),
+                new ReservationRequest("Test Hotel", start, start.plusDays(1), doubleRoomType, payer),
+                new ReservationRequest("Test Hotel", start, start.plusDays(1), suiteType, payer));
+
+        // Act
+        List<ReservationResult> results = hotel.createReservations(requests);
+
+        // Assert
+        assertTrue(results.get(0).isSuccess(), "SUITE request should succeed");
+        assertTrue(results.get(1).isSuccess(), "DOUBLE request should succeed");
+        assertFalse(results.get(2).isSuccess(), "Second SUITE request should fail, not throw");
+        assertEquals(RoomState.RESERVED, hotel.getRoom(301).orElseThrow().getState(), "Suite should be reserved");
+    }
+
+    @Test
+    void testCancelReservation_AfterCheckIn_KeepsReservation() {
+        // Arrange
+        Reservation res = hotel.createReservation(LocalDate.now(), LocalDate.now().plusDays(2), doubleRoomType, payer);
+        res.getRoom().checkInGuest(new Guest("John", new Address("St", "City", "Zip"), new Identity("P", "1")));
+
+        // Act & Assert
+        assertThrows(HotelException.class, () -> hotel.cancelReservation(res.getReservationNumber()),
+                "Cancelling an occupied room should throw HotelException");
+        assertTrue(hotel.getReservation(res.getReservationNumber()).isPresent(),
+                "A failed cancellation should leave the reservation in place");
+    }
+
+    @Test
+    void testRestoreReservation_KeepsNumberAndAdvancesSequence() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        LocalDate start = LocalDate.now().plusDays(1);
+
+        // Act
+        Reservation restored = hotel.restoreReservation(500, start, start.plusDays(2), 101, payer);
+        Reservation next = hotel.createReservation(start, start.plusDays(2), doubleRoomType, payer);
+
+        // Assert
+        assertEquals(500, restored.getReservationNumber(), "Restored reservation should keep its number");
+        assertEquals(RoomState.RESERVED, restored.getRoom().getState(), "Restored room should be reserved");
+        assertTrue(next.getReservationNumber() > 500, "New numbers should follow restored ones");
+    }
+
+    @Test
+    void testRestoreReservation_InsideLocalBlock_NumberNotReissued() {
+        // Arrange
+        hotel.setReservationNumberBlockSize(10);
+        hotel.addRoom(new Room(102, doubleRoomType));
+        hotel.addRoom(new Room(103, doubleRoomType));
+        LocalDate start = LocalDate.now().plusDays(1);
+        Reservation first = hotel.createReservation(start, start.plusDays(2), doubleRoomType, payer);
+        int restoredNumber = first.getReservationNumber() + 1;
+
+        // Act
+        hotel.restoreReservation(restoredNumber, start, start.plusDays(2), 103, payer);
+        Reservation next = hotel.createReservation(start, start.plusDays(2), doubleRoomType, payer);
+
+        // Assert
+        assertTrue(next.getReservationNumber() > restoredNumber,
+                "A number from the local block must not repeat a restored one");
+    }
+
+    @Test
+    void testCaptureImage_CopiesRoomsStatesAndReservations() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        Reservation res = hotel.createReservation(LocalDate.now(), LocalDate.now().plusDays(2), doubleRoomType, payer);
+        Guest guest = new Guest("John", new Address("St", "City", "Zip"), new Identity("P", "1"));
+        res.getRoom().checkInGuest(guest);
+
+        // Act
+        HotelImage image = hotel.captureImage();
+        res.getRoom().checkOutGuest();
+
+        // Assert
+        assertEquals(2, image.getRooms().size(), "Every room should be captured");
+        assertEquals(RoomState.OCCUPIED, image.getRoomStates().get(0), "State should be taken at capture time");
+        assertSame(guest, image.getOccupants().get(0), "Occupant should be captured");
+        assertNull(image.getOccupants().get(1), "A free room has no occupant");
+        assertEquals(List.of(res), image.getReservations(), "Reservations should be captured");
+    }
+
+    @Test
+    void testRestoreImage_RebuildsAvailabilityAndNumbering() {
+        // Arrange
+        Room reserved = new Room(201, doubleRoomType);
+        Room free = new Room(202, doubleRoomType);
+        LocalDate start = LocalDate.now().plusDays(1);
+        Reservation res = new Reservation(40, start, start.plusDays(3), payer, reserved);
+        HotelImage image = new HotelImage("Restored", AvailabilityBackend.INTERVAL_SCHEDULE, List.of(reserved, free),
+                List.of(RoomState.RESERVED, RoomState.FREE), Arrays.asList(new Guest[2]), List.of(res));
+        Hotel restored = new Hotel("Restored");
+
+        // Act
+        restored.restoreImage(image);
+
+        // Assert
+        assertEquals(RoomState.RESERVED, reserved.getState(), "Room state should be restored");
+        assertEquals(res, restored.getReservation(40).orElseThrow(), "Reservation should be indexed");
+        assertEquals(1, restored.availableCount(start, start.plusDays(3), doubleRoomType),
+                "Only the free room should be available");
+        assertEquals(1, restored.remainingInventory(start, doubleRoomType), "Inventory should count the stay");
+        Reservation next = restored.createReservation(start, start.plusDays(3), doubleRoomType, payer);
+        assertTrue(next.getReservationNumber() > 40, "New numbers should follow restored ones");
+    }
+
+    @Test
+    void testRestoreImage_CapturedImage_CopiesRoomsIntoNewHotel() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        LocalDate start = LocalDate.now().plusDays(1);
+        Reservation res = hotel.createReservation(start, start.plusDays(2), doubleRoomType, payer);
+        HotelImage image = hotel.captureImage();
+        Hotel copy = new Hotel("Copy");
+
+        // Act
+        copy.restoreImage(image);
+        hotel.cancelReservation(res.getReservationNumber());
+
+        // Assert
+        Room copiedRoom = copy.getRoom(res.getRoom().getNumber()).orElseThrow();
+        assertNotSame(res.getRoom(), copiedRoom, "Rooms should not be shared between hotels");
+        assertEquals(RoomState.RESERVED, copiedRoom.getState(), "Copied room should keep its captured state");
+        assertSame(copiedRoom, copy.getReservation(res.getReservationNumber()).orElseThrow().getRoom(),
+                "Copied reservation should refer to the copied room");
+        assertEquals(1, copy.availableCount(start, start.plusDays(2), doubleRoomType),
+                "Cancelling in the original should not free the copy's room");
+    }
+
+    @Test
+    void testRestoreImage_HotelWithRooms_ThrowsException() {
+        // Arrange
+        HotelImage image = new HotelImage("Other", AvailabilityBackend.INTERVAL_SCHEDULE, List.of(), List.of(),
+                List.of(), List.of());
+
+        // Act & Assert
+        assertThrows(HotelException.class, () -> hotel.restoreImage(image),
+                "Restoring into a hotel with rooms should throw HotelException");
+    }
+
+    @Test
+    void testQuote_UsesNightlyRates() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(10);
+        hotel.setNightlyRate(doubleRoomType, start.plusDays(1), start.plusDays(2),
+                Money.ofMinorUnits(25000, Currency.getInstance("USD")));
+
+        // Act
+        Optional<Money> quote = hotel.quote(start, start.plusDays(3), doubleRoomType);
+
+        // Assert
+        assertEquals(Money.ofMinorUnits(45000, Currency.getInstance("USD")), quote.orElseThrow(),
+                "Quote should charge the nightly rate for each night");
+    }
+
+    @Test
+    void testQuote_NoRoomAvailable_ReturnsEmpty() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        hotel.createReservation(start, start.plusDays(2), doubleRoomType, payer);
+
+        // Act & Assert
+        assertTrue(hotel.quote(start, start.plusDays(2), doubleRoomType).isEmpty(),
+                "Quote should be empty when no room would be assigned");
+    }
+
+    @Test
+    void testSetNightlyRate_UnknownType_ThrowsException() {
+        // Arrange
+        RoomType suite = new RoomType(RoomKind.SUITE, new Money(new BigDecimal("300"), Currency.getInstance("USD")));
+
+        // Act & Assert
+        assertThrows(HotelException.class, () -> hotel.setNightlyRate(suite, LocalDate.now(),
+                LocalDate.now().plusDays(1), Money.ofMinorUnits(100, Currency.getInstance("USD"))),
+                "Rates for a type the hotel does not have should throw HotelException");
+    }
+
+    @Test
+    void testCreateGroupReservation_EnoughRooms_BooksAll() {
+        // Arrange
+        RoomType familyType = new RoomType(RoomKind.FAMILY, new Money(new BigDecimal("200"), Currency.getInstance("USD")));
+        hotel.addRoom(new Room(102, doubleRoomType));
+        hotel.addRoom(new Room(201, familyType));
+        LocalDate start = LocalDate.of(2030, 6, 1);
+
+        // Act
+        List<Reservation> group = hotel.createGroupReservation(start, start.plusDays(2),
+                Map.of(doubleRoomType, 2, familyType, 1), payer);
+
+        // Assert
+        assertEquals(3, group.size(), "Every requested room should be booked");
+        assertEquals(3, hotel.getReservations().size(), "Hotel should hold the group's reservations");
+        assertEquals(2, group.stream().filter(r -> r.getRoom().getRoomType().equals(doubleRoomType)).count(),
+                "Two DOUBLE rooms should be booked");
+        assertTrue(hotel.getRooms().stream().allMatch(r -> r.getState() == RoomState.RESERVED),
+                "Every room should be reserved");
+    }
+
+    @Test
+    void testCreateGroupReservation_TypeShort_BooksNothing() {
+        // Arrange
+        RoomType familyType = new RoomType(RoomKind.FAMILY, new Money(new BigDecimal("200"), Currency.getInstance("USD")));
+        hotel.addRoom(new Room(201, familyType));
+        LocalDate start = LocalDate.of(2030, 6, 1);
+
+        // Act & Assert
+        assertThrows(HotelException.class, () -> hotel.createGroupReservation(start, start.plusDays(2),
+                Map.of(doubleRoomType, 1, familyType, 2), payer), "A short type should fail the whole group");
+        assertTrue(hotel.getReservations().isEmpty(), "No reservation should remain");
+        assertEquals(1, hotel.remainingInventory(start, doubleRoomType), "DOUBLE inventory should be untouched");
+        assertTrue(hotel.getRooms().stream().allMatch(r -> r.getState() == RoomState.FREE),
+                "Every room should stay free");
+    }
+
+    @Test
+    void testCreateGroupReservation_ListenerFails_RollsBack() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        List<String> events = new ArrayList<>();
+        hotel.setMutationListener(new ChainMutationListener() {
+            @Override
+            public void reservationCreated(Hotel h, Reservation reservation) {
+                events.add("created " + reservation.getRoom().getNumber());
+                if (events.size() == 2) {
+                    throw new HotelException("Journal write failed.");
+                }
+            }
+
+            @Override
+            public void reservationCancelled(Hotel h, Reservation reservation) {
+                events.add("cancelled " + reservation.getRoom().getNumber());
+            }
+        });
+        LocalDate start = LocalDate.of(2030, 6, 1);
+
+        // Act
+        assertThrows(HotelException.class, () -> hotel.createGroupReservation(start, start.plusDays(1),
+                Map.of(doubleRoomType, 2), payer), "Failure during booking should surface");
+
+        // Assert
+        assertEquals(List.of("created 101", "created 102", "cancelled 102", "cancelled 101"), events,
+                "Every reported booking should be rolled back and reported in reverse");
+        assertTrue(hotel.getReservations().isEmpty(), "No reservation should remain");
+        assertEquals(RoomState.FREE, hotel.getRoom(101).get().getState(), "Rolled-back room should be free");
+        assertEquals(2, hotel.remainingInventory(start, doubleRoomType), "Inventory should be restored");
+    }
+
+    @Test
+    void testCreateGroupReservation_ListenerAlsoFailsOnCancel_NothingSurvives() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        hotel.addRoom(new Room(103, doubleRoomType));
+        HotelException original = new HotelException("Journal write failed.");
+        AtomicInteger created = new AtomicInteger();
+        hotel.setMutationListener(new ChainMutationListener() {
+            @Override
+            public void reservationCreated(Hotel h, Reservation reservation) {
+                if (created.incrementAndGet() == 3) {
+                    throw original;
+                }
+            }
+
+            @Override
+            public void reservationCancelled(Hotel h, Reservation reservation) {
+                throw new HotelException("Journal is broken.");
+            }
+        });
+        LocalDate start = LocalDate.of(2030, 6, 1);
+        LocalDate end = start.plusDays(2);
+
+        // Act
+        HotelException thrown = assertThrows(HotelException.class, () -> hotel.createGroupReservation(start, end,
+                Map.of(doubleRoomType, 3), payer), "Failure during booking should surface");
+
+        // Assert
+        assertSame(original, thrown, "The booking failure should be rethrown, not a rollback failure");
+        assertEquals(3, thrown.getSuppressed().length, "Each failed cancel report should be attached");
+        assertTrue(hotel.getReservations().isEmpty(), "No reservation should remain");
+        assertTrue(hotel.getArrivals(start, end).isEmpty(), "No arrival should remain indexed");
+        for (int number = 101; number <= 103; number++) {
+            assertEquals(RoomState.FREE, hotel.getRoom(number).get().getState(), "Every room should be free");
+        }
+        assertEquals(3, hotel.remainingInventory(start, doubleRoomType), "Inventory should be restored");
+        hotel.setMutationListener(new ChainMutationListener() {
+        });
+        assertEquals(3, hotel.createGroupReservation(start, end, Map.of(doubleRoomType, 3), payer).size(),
+                "Every room should be bookable again");
+    }
+
+    @Test
+    void testCreateGroupReservation_ConcurrentSingles_NoDoubleBooking() throws Exception {
+        // Arrange
+        RoomType familyType = new RoomType(RoomKind.FAMILY, new Money(new BigDecimal("200"), Currency.getInstance("USD")));
+        for (int i = 0; i < 20; i++) {
+            hotel.addRoom(new Room(300 + i, i % 2 == 0 ? doubleRoomType : familyType));
+        }
+        LocalDate start = LocalDate.of(2030, 6, 1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            futures.add(pool.submit(() -> {
+                try {
+                    return hotel.createGroupReservation(start, start.plusDays(1),
+                            Map.of(doubleRoomType, 2, familyType, 2), payer).size();
+                } catch (HotelException e) {
+                    return 0;
+                }
+            }));
+            futures.add(pool.submit(() -> {
+                try {
+                    hotel.createReservation(start, start.plusDays(1), familyType, payer);
+                    return 1;
+                } catch (HotelException e) {
+                    return 0;
+                }
+            }));
+        }
+        int booked = 0;
+        for (Future<Integer> future : futures) {
+            booked += future.get();
+        }
+        pool.shutdown();
+
+        // Assert
+        Set<Integer> rooms = new HashSet<>();
+        for (Reservation res : hotel.getReservations()) {
+            assertTrue(rooms.add(res.getRoom().getNumber()), "No room should be booked twice");
+        }
+        assertEquals(booked, hotel.getReservations().size(), "Every reported booking should exist");
+        assertTrue(booked <= 21, "Bookings cannot exceed rooms");
+    }
+
+    @Test
+    void testPlaceHold_RoomNoLongerAvailable() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = start.plusDays(2);
+
+        // Act
+        RoomHold hold = hotel.placeHold(start, end, doubleRoomType, Duration.ofMinutes(5));
+
+        // Assert
+        assertEquals(101, hold.getRoom().getNumber(), "The only room should be held");
+        assertFalse(hotel.available(start, end, doubleRoomType), "Held room should not be available");
+        assertFalse(hotel.available(end.plusDays(5), end.plusDays(6), doubleRoomType),
+                "Held room should not be available for other dates either");
+        assertEquals(0, hotel.remainingInventory(start, doubleRoomType), "Held night should be taken");
+        assertEquals(RoomState.FREE, hold.getRoom().getState(), "Held room should stay free");
+        assertThrows(HotelException.class, () -> hotel.createReservation(start, end, doubleRoomType, payer),
+                "Held room should not be reservable");
+    }
+
+    @Test
+    void testHold_Expired_ReturnsRoomOnNextCheck() {
+        // Arrange
+        MutableClock clock = new MutableClock(1_000_000);
+        hotel.setHoldClock(clock);
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = start.plusDays(2);
+        RoomHold hold = hotel.placeHold(start, end, doubleRoomType, Duration.ofSeconds(30));
+
+        // Act
+        clock.advance(29_000);
+        boolean beforeExpiry = hotel.available(start, end, doubleRoomType);
+        clock.advance(1_000);
+        boolean afterExpiry = hotel.available(start, end, doubleRoomType);
+
+        // Assert
+        assertFalse(beforeExpiry, "Room should stay held until the hold expires");
+        assertTrue(afterExpiry, "Room should be available as soon as the hold expires");
+        assertEquals(RoomHold.Status.EXPIRED, hold.getStatus(), "Hold should be expired");
+        assertEquals(1, hotel.remainingInventory(start, doubleRoomType), "Held nights should be returned");
+        assertEquals(0, hotel.getHoldCount(), "No hold should be left");
+    }
+
+    @Test
+    void testConfirmHold_CreatesReservationForHeldRoom() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = start.plusDays(2);
+        RoomHold hold = hotel.placeHold(start, end, doubleRoomType, Duration.ofMinutes(5));
+
+        // Act
+        Reservation reservation = hotel.confirmHold(hold, payer);
+
+        // Assert
+        assertSame(hold.getRoom(), reservation.getRoom(), "Held room should be reserved");
+        assertEquals(RoomState.RESERVED, hold.getRoom().getState(), "Room should be reserved");
+        assertEquals(RoomHold.Status.CONFIRMED, hold.getStatus(), "Hold should be confirmed");
+        assertEquals(0, hotel.remainingInventory(start, doubleRoomType), "Night should stay taken");
+        assertEquals(0, hotel.getHoldCount(), "Confirmed hold should leave the wheel");
+        assertThrows(HotelException.class, () -> hotel.confirmHold(hold, payer),
+                "A hold can only be confirmed once");
+    }
+
+    @Test
+    void testConfirmHold_AfterDeadline_ThrowsException() {
+        // Arrange: the deadline falls mid-tick, before the wheel would sweep it
+        MutableClock clock = new MutableClock(1_000_000);
+        hotel.setHoldClock(clock);
+        LocalDate start = LocalDate.now().plusDays(1);
+        RoomHold hold = hotel.placeHold(start, start.plusDays(1), doubleRoomType, Duration.ofMillis(1_005));
+        clock.advance(1_005);
+
+        // Act & Assert
+        assertThrows(HotelException.class, () -> hotel.confirmHold(hold, payer),
+                "Expired hold should not be confirmed");
+        assertEquals(RoomHold.Status.EXPIRED, hold.getStatus(), "Hold should be expired");
+        assertTrue(hotel.available(start, start.plusDays(1), doubleRoomType), "Room should be available");
+    }
+
+    @Test
+    void testReleaseHold_ReturnsRoom() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = start.plusDays(2);
+        RoomHold hold = hotel.placeHold(start, end, doubleRoomType, Duration.ofMinutes(5));
+
+        // Act
+        boolean released = hotel.releaseHold(hold);
+
+        // Assert
+        assertTrue(released, "Active hold should be released");
+        assertFalse(hotel.releaseHold(hold), "A hold can only be released once");
+        assertTrue(hotel.available(start, end, doubleRoomType), "Room should be available again");
+        assertThrows(HotelException.class, () -> hotel.confirmHold(hold, payer),
+                "Released hold should not be confirmed");
+    }
+
+    @Test
+    void testPlaceHold_NoRoomLeft_ThrowsException() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        hotel.placeHold(start, start.plusDays(1), doubleRoomType, Duration.ofMinutes(5));
+
+        // Act & Assert
+        assertThrows(HotelException.class,
+                () -> hotel.placeHold(start, start.plusDays(1), doubleRoomType, Duration.ofMinutes(5)),
+                "A held room cannot be held twice");
+        assertThrows(IllegalArgumentException.class,
+                () -> hotel.placeHold(start, start.plusDays(1), doubleRoomType, Duration.ZERO),
+                "Hold time must be positive");
+    }
+
+    @Test
+    void testGetArrivalsAndDepartures_OrderedByDateThenNumber() {
+        // Arrange
+        hotel.addRoom(new Room(102, doubleRoomType));
+        hotel.addRoom(new Room(103, doubleRoomType));
+        LocalDate day = LocalDate.now().plusDays(10);
+        Reservation first = hotel.createReservation(day.plusDays(3), day.plusDays(5), doubleRoomType, payer);
+        Reservation second = hotel.createReservation(day.plusDays(1), day.plusDays(5), doubleRoomType, payer);
+        Reservation third = hotel.createReservation(day.plusDays(3), day.plusDays(4), doubleRoomType, payer);
+
+        // Act
+        List<Reservation> arrivals = hotel.getArrivals(day.plusDays(1), day.plusDays(4));
+        List<Reservation> departures = hotel.getDepartures(day.plusDays(4), day.plusDays(6));
+        List<Reservation> none = hotel.getArrivals(day.plusDays(2), day.plusDays(3));
+
+        // Assert
+        assertEquals(List.of(second, first, third), arrivals, "Arrivals should be ordered by date, then number");
+        assertEquals(List.of(third, first, second), departures,
+                "Departures should be ordered by date, then number");
+        assertTrue(none.isEmpty(), "No one arrives in the window");
+    }
+
+    @Test
+    void testGetArrivals_CancelledReservation_NotListed() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        Reservation reservation = hotel.createReservation(start, start.plusDays(2), doubleRoomType, payer);
+
+        // Act
+        hotel.cancelReservation(reservation.getReservationNumber());
+
+        // Assert
+        assertTrue(hotel.getArrivals(start, start.plusDays(1)).isEmpty(), "Cancelled arrival should be gone");
+        assertTrue(hotel.getDepartures(start.plusDays(2), start.plusDays(3)).isEmpty(),
+                "Cancelled departure should be gone");
+    }
+
+    /**
+     * Clock moved by hand, for hold expiry.
+     */
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.hotel.domain.*;
+
+class PayerIndexTest {
+
+    private PayerIndex index;
+    private Hotel hotel;
+    private Room room;
+    private ReserverPayer payer;
+
+    @BeforeEach
+    void setUp() {
+        index = new PayerIndex();
+        hotel = new Hotel("Test Hotel");
+        room = new Room(101, new RoomType(RoomKind.DOUBLE, new Money(BigDecimal.TEN, Currency.getInstance("USD"))));
+        payer = new ReserverPayer(new Identity("Passport", "ABC123"), new CreditCard("1234567890123", "12/25", "123"));
+    }
+
+    @Test
+    void testFind_OrdersByReservationNumber() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        Reservation later = new Reservation(9, today, today.plusDays(1), payer, room);
+        Reservation earlier = new Reservation(3, today.plusDays(5), today.plusDays(6), payer, room);
+
+        // Act
+        index.add(hotel, later);
+        index.add(hotel, earlier);
+
+        // Assert
+        assertEquals(List.of(earlier, later), index.find(payer.getId()).get("Test Hotel"),
+                "Reservations should be ordered by number");
+    }
+
+    @Test
+    void testRemove_LastReservation_DropsIdentity() {
+        // Arrange
+        Reservation reservation = new Reservation(1, LocalDate.now(), LocalDate.now().plusDays(1), payer, room);
+        index.add(hotel, reservation);
+
+        // Act
+        index.remove(hotel, reservation);
+
+        // Assert
+        assertTrue(index.find(payer.getId()).isEmpty(), "Identity without reservations should not be found");
+        assertTrue(index.find(null).isEmpty(), "Null identity should find nothing");
+    }
+
+    @Test
+    void testConcurrentAddAndRemove_KeepsSurvivors() throws Exception {
+        // Arrange
+        int threads = 4;
+        int perThread = 2_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act: every thread adds its own numbers and removes the odd ones
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            futures.add(pool.submit(() -> {
+                for (int i = base; i < base + perThread; i++) {
+                    Reservation reservation = new Reservation(i + 1, LocalDate.now(), LocalDate.now().plusDays(1),
+                            payer, room);
+                    index.add(hotel, reservation);
+                    if (i % 2 == 1) {
+                        index.remove(hotel, reservation);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(threads * perThread / 2, index.find(payer.getId()).get("Test Hotel").size(),
+                "Every reservation not removed should remain");
+    }
+}
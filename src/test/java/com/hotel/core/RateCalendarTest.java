@@ -0,0 +1,86 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+
+import com.hotel.domain.Money;
+
+class RateCalendarTest {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 6, 1);
+    private static final Currency USD = Currency.getInstance("USD");
+
+    private RateCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new RateCalendar(Money.ofMinorUnits(10000, USD));
+        // Nights 10..14 at 150.00, nights 12..13 overridden again at 200.00
+        calendar.setRate(BASE.plusDays(10), BASE.plusDays(15), Money.ofMinorUnits(15000, USD));
+        calendar.setRate(BASE.plusDays(12), BASE.plusDays(14), Money.ofMinorUnits(20000, USD));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 3, 30000", // before every explicit rate
+            "8, 11, 35000", // two base nights then one at 150
+            "10, 15, 85000", // 150 + 150 + 200 + 200 + 150
+            "13, 20, 85000", // 200 + 150 then five base nights
+            "0, 30, 335000", // spans the whole window
+            "5, 5, 0" // no nights
+    })
+    void testPrice_MixedRates_SumsEachNight(int startOffset, int endOffset, long expectedCents) {
+        // Act
+        Money price = calendar.price(BASE.plusDays(startOffset), BASE.plusDays(endOffset));
+
+        // Assert
+        assertEquals(expectedCents, price.getMinorUnits(),
+                "Stay " + startOffset + " to " + endOffset + " should sum its nightly rates");
+    }
+
+    @Test
+    void testRate_ReturnsNightlyRate() {
+        // Act & Assert
+        assertEquals(Money.ofMinorUnits(10000, USD), calendar.rate(BASE.plusDays(9)), "Night 9 uses the base rate");
+        assertEquals(Money.ofMinorUnits(15000, USD), calendar.rate(BASE.plusDays(10)), "Night 10 has its own rate");
+        assertEquals(Money.ofMinorUnits(20000, USD), calendar.rate(BASE.plusDays(13)), "Later rates win");
+    }
+
+    @Test
+    void testClearRate_RestoresBaseRate() {
+        // Act
+        calendar.clearRate(BASE.plusDays(10), BASE.plusDays(15));
+
+        // Assert
+        assertEquals(50000, calendar.price(BASE.plusDays(10), BASE.plusDays(15)).getMinorUnits(),
+                "Cleared nights should cost the base rate");
+    }
+
+    @Test
+    void testPrice_SubMinorBaseRate_StaysExact() {
+        // Arrange
+        RateCalendar fine = new RateCalendar(new Money(new BigDecimal("99.995"), USD));
+        fine.setRate(BASE, BASE.plusDays(1), Money.ofMinorUnits(5000, USD));
+
+        // Act
+        Money price = fine.price(BASE, BASE.plusDays(3));
+
+        // Assert
+        assertEquals(0, new BigDecimal("249.990").compareTo(price.getAmount()), "Price should be exact");
+    }
+
+    @Test
+    void testSetRate_OtherCurrency_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> calendar.setRate(BASE, BASE.plusDays(1), Money.ofMinorUnits(100, Currency.getInstance("EUR"))),
+                "Rates in another currency should be rejected");
+    }
+}
@@ -0,0 +1,118 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class ReservationNumberAllocatorTest {
+
+    @Test
+    void testNext_TakesBlocksFromSharedSequence() {
+        // Arrange
+        ReservationNumberSequence sequence = new ReservationNumberSequence();
+        ReservationNumberAllocator first = new ReservationNumberAllocator(sequence, 10);
+        ReservationNumberAllocator second = new ReservationNumberAllocator(sequence, 10);
+
+        // Act
+        int a1 = first.next();
+        int b1 = second.next();
+        int a2 = first.next();
+
+        // Assert
+        assertEquals(1, a1, "First allocator should take block 1-10");
+        assertEquals(11, b1, "Second allocator should take block 11-20");
+        assertEquals(2, a2, "First allocator should continue within its block");
+    }
+
+    @Test
+    void testRebind_KeepsNumbersIncreasing() {
+        // Arrange
+        ReservationNumberAllocator allocator = new ReservationNumberAllocator(new ReservationNumberSequence(), 1);
+        for (int i = 0; i < 5; i++) {
+            allocator.next();
+        }
+        ReservationNumberSequence chainSequence = new ReservationNumberSequence();
+
+        // Act
+        allocator.rebind(chainSequence);
+        int next = allocator.next();
+
+        // Assert
+        assertEquals(6, next, "Numbers should continue after those already issued");
+        assertSame(chainSequence, allocator.getSequence(), "Allocator should use the new sequence");
+    }
+
+    @Test
+    void testAdvancePast_NumberInCurrentBlock_SkipsToAfterIt() {
+        // Arrange
+        ReservationNumberSequence sequence = new ReservationNumberSequence();
+        ReservationNumberAllocator allocator = new ReservationNumberAllocator(sequence, 10);
+        allocator.next();
+
+        // Act
+        allocator.advancePast(4);
+        int next = allocator.next();
+
+        // Assert
+        assertEquals(5, next, "Numbers up to the restored one should be skipped within the block");
+        assertEquals(11, sequence.peek(), "Sequence should still be past the block");
+    }
+
+    @Test
+    void testAdvancePast_NumberBeyondCurrentBlock_RefillsFromSequence() {
+        // Arrange
+        ReservationNumberSequence sequence = new ReservationNumberSequence();
+        ReservationNumberAllocator allocator = new ReservationNumberAllocator(sequence, 10);
+        allocator.next();
+
+        // Act
+        allocator.advancePast(25);
+        int next = allocator.next();
+
+        // Assert
+        assertEquals(26, next, "Allocation should continue after the restored number");
+    }
+
+    @Test
+    void testNext_ConcurrentAllocators_NeverCollide() throws Exception {
+        // Arrange
+        ReservationNumberSequence sequence = new ReservationNumberSequence();
+        List<ReservationNumberAllocator> allocators = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            allocators.add(new ReservationNumberAllocator(sequence, 1 + i * 7));
+        }
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        int perThread = 5_000;
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            ReservationNumberAllocator allocator = allocators.get(t % allocators.size());
+            futures.add(pool.submit(() -> {
+                int previous = 0;
+                for (int i = 0; i < perThread; i++) {
+                    int number = allocator.next();
+                    assertTrue(number > previous, "Numbers should increase within a thread");
+                    assertTrue(seen.add(number), "Number " + number + " was handed out twice");
+                    previous = number;
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(8 * perThread, seen.size(), "Every allocation should be unique");
+    }
+}
@@ -0,0 +1,76 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.hotel.exception.HotelException;
+
+class ReservationNumberSequenceTest {
+
+    @Test
+    void testNext_StartsAtOneAndIncreases() {
+        // Arrange
+        ReservationNumberSequence sequence = new ReservationNumberSequence();
+
+        // Act
+        int first = sequence.next();
+        int second = sequence.next();
+
+        // Assert
+        assertEquals(1, first, "Sequence should start at 1");
+        assertEquals(2, second, "Sequence should increase by one");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 16, 1000 })
+    void testNextBlock_ReservesConsecutiveNumbers(int size) {
+        // Arrange
+        ReservationNumberSequence sequence = new ReservationNumberSequence();
+
+        // Act
+        int block = sequence.nextBlock(size);
+        int after = sequence.next();
+
+        // Assert
+        assertEquals(1, block, "First block should start at 1");
+        assertEquals(1 + size, after, "Next number should follow the block of size " + size);
+    }
+
+    @Test
+    void testAdvancePast_NeverMovesBackwards() {
+        // Arrange
+        ReservationNumberSequence sequence = new ReservationNumberSequence(50);
+
+        // Act
+        sequence.advancePast(10);
+        int afterLower = sequence.next();
+        sequence.advancePast(100);
+        int afterHigher = sequence.next();
+
+        // Assert
+        assertEquals(50, afterLower, "Advancing past a lower number should not move the sequence");
+        assertEquals(101, afterHigher, "Advancing past a higher number should skip ahead");
+    }
+
+    @Test
+    void testNextBlock_Exhausted_ThrowsException() {
+        // Arrange
+        ReservationNumberSequence sequence = new ReservationNumberSequence(Integer.MAX_VALUE - 1);
+
+        // Act & Assert
+        assertThrows(HotelException.class, () -> sequence.nextBlock(10),
+                "Running past Integer.MAX_VALUE should throw HotelException");
+    }
+
+    @Test
+    void testNextBlock_InvalidSize_ThrowsException() {
+        // Arrange
+        ReservationNumberSequence sequence = new ReservationNumberSequence();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> sequence.nextBlock(0),
+                "Block size of zero should throw IllegalArgumentException");
+    }
+}
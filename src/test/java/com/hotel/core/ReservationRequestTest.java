@@ -0,0 +1,56 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+
+import com.hotel.domain.*;
+
+class ReservationRequestTest {
+
+    private RoomType type;
+    private ReserverPayer payer;
+
+    @BeforeEach
+    void setUp() {
+        type = new RoomType(RoomKind.DOUBLE, new Money(BigDecimal.TEN, Currency.getInstance("USD")));
+        payer = new ReserverPayer(new Identity("P", "1"), new CreditCard("1234567890123", "12/25", "111"));
+    }
+
+    @Test
+    void testConstructor_ValidInputs_Success() {
+        // Arrange
+        LocalDate start = LocalDate.now();
+        LocalDate end = start.plusDays(2);
+
+        // Act
+        ReservationRequest request = new ReservationRequest("Hotel 1", start, end, type, payer);
+
+        // Assert
+        assertEquals("Hotel 1", request.getHotelName(), "Hotel name should match");
+        assertEquals(start, request.getStartDate(), "Start date should match");
+        assertEquals(end, request.getEndDate(), "End date should match");
+        assertEquals(type, request.getRoomType(), "Room type should match");
+        assertEquals(payer, request.getPayer(), "Payer should match");
+    }
+
+    @Test
+    void testConstructor_EndBeforeStart_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReservationRequest("Hotel 1", LocalDate.now(), LocalDate.now().minusDays(1), type, payer),
+                "End before start should throw IllegalArgumentException");
+    }
+
+    @Test
+    void testConstructor_NullRoomType_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReservationRequest("Hotel 1", LocalDate.now(), LocalDate.now(), null, payer),
+                "Null room type should throw IllegalArgumentException");
+    }
+}
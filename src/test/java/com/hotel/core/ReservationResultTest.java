@@ -0,0 +1,54 @@
+package com.hotel.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+
+import com.hotel.domain.*;
+
+class ReservationResultTest {
+
+    private ReservationRequest request;
+    private Reservation reservation;
+
+    @BeforeEach
+    void setUp() {
+        RoomType type = new RoomType(RoomKind.DOUBLE, new Money(BigDecimal.TEN, Currency.getInstance("USD")));
+        ReserverPayer payer = new ReserverPayer(new Identity("P", "1"), new CreditCard("1234567890123", "12/25", "111"));
+        request = new ReservationRequest("Hotel 1", LocalDate.now(), LocalDate.now().plusDays(1), type, payer);
+        reservation = new Reservation(7, LocalDate.now(), LocalDate.now().plusDays(1), payer, new Room(101, type));
+    }
+
+    @Test
+    void testSuccess_CarriesReservation() {
+        // Act
+        ReservationResult result = ReservationResult.success(request, reservation);
+
+        // Assert
+        assertTrue(result.isSuccess(), "Result should be successful");
+        assertEquals(reservation, result.getReservation().orElseThrow(), "Reservation should match");
+        assertTrue(result.getFailureReason().isEmpty(), "Successful result should have no failure reason");
+    }
+
+    @Test
+    void testFailure_CarriesReason() {
+        // Act
+        ReservationResult result = ReservationResult.failure(request, "Sold out");
+
+        // Assert
+        assertFalse(result.isSuccess(), "Result should be a failure");
+        assertEquals("Sold out", result.getFailureReason().orElseThrow(), "Reason should match");
+        assertSame(request, result.getRequest(), "Request should be kept");
+    }
+
+    @Test
+    void testFailure_BlankReason_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> ReservationResult.failure(request, " "),
+                "Blank reason should throw IllegalArgumentException");
+    }
+}
@@ -5,9 +5,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.CsvSource;
 
 import java.math.BigDecimal;
 import java.util.Currency;
+import java.util.List;
 
 class MoneyTest {
 
@@ -117,4 +119,176 @@ class MoneyTest {
         assertNotNull(money, "Money with zero amount should be created successfully");
         assertEquals(0, money.getAmount().compareTo(BigDecimal.ZERO), "Amount should be zero");
     }
+
+    @ParameterizedTest
+    @CsvSource({
+            "100.50, USD, 10050",
+            "100, USD, 10000",
+            "0.01, EUR, 1",
+            "1500, JPY, 1500",
+            "1.234, BHD, 1234"
+    })
+    void testGetMinorUnits_ConvertsExactly(String amount, String code, long expected) {
+        // Arrange
+        Money money = new Money(new BigDecimal(amount), Currency.getInstance(code));
+
+        // Act
+        long minor = money.getMinorUnits();
+
+        // Assert
+        assertEquals(expected, minor, "Minor units should match the amount");
+        assertEquals(0, Money.ofMinorUnits(minor, money.getCurrency()).getAmount().compareTo(money.getAmount()),
+                "Converting back should give the same amount");
+    }
+
+    @Test
+    void testGetMinorUnits_FinerThanMinorUnit_ThrowsException() {
+        // Arrange
+        Money money = new Money(new BigDecimal("10.005"), Currency.getInstance("USD"));
+
+        // Act & Assert
+        assertFalse(money.hasExactMinorUnits(), "Sub-cent amounts have no exact minor units");
+        assertThrows(ArithmeticException.class, money::getMinorUnits,
+                "Sub-cent amounts should not be truncated silently");
+    }
+
+    @Test
+    void testMoneyEquality_DifferentScale_AreEqual() {
+        // Arrange
+        Money money1 = new Money(new BigDecimal("10"), Currency.getInstance("USD"));
+        Money money2 = new Money(new BigDecimal("10.00"), Currency.getInstance("USD"));
+
+        // Act & Assert
+        assertEquals(money1, money2, "Equality should not depend on scale");
+        assertEquals(money1.hashCode(), money2.hashCode(), "Equal Money objects should have same hashCode");
+    }
+
+    @Test
+    void testMoneyEquality_SubMinorAmountsDifferentScale_AreEqual() {
+        // Arrange
+        Money money1 = new Money(new BigDecimal("10.005"), Currency.getInstance("USD"));
+        Money money2 = new Money(new BigDecimal("10.0050"), Currency.getInstance("USD"));
+
+        // Act & Assert
+        assertEquals(money1, money2, "Equality should not depend on scale");
+        assertEquals(money1.hashCode(), money2.hashCode(), "Equal Money objects should have same hashCode");
+    }
+
+    @Test
+    void testPlus_AddsAmounts() {
+        // Arrange
+        Money money1 = new Money(new BigDecimal("10.25"), Currency.getInstance("USD"));
+        Money money2 = new Money(new BigDecimal("0.75"), Currency.getInstance("USD"));
+
+        // Act
+        Money total = money1.plus(money2);
+
+        // Assert
+        assertEquals(1100, total.getMinorUnits(), "Sum should be exact");
+    }
+
+    @Test
+    void testPlus_SubMinorAmount_FallsBackToBigDecimal() {
+        // Arrange
+        Money money1 = new Money(new BigDecimal("10.25"), Currency.getInstance("USD"));
+        Money money2 = new Money(new BigDecimal("0.001"), Currency.getInstance("USD"));
+
+        // Act
+        Money total = money1.plus(money2);
+
+        // Assert
+        assertEquals(new BigDecimal("10.251"), total.getAmount(), "Sum should keep the extra precision");
+    }
+
+    @Test
+    void testPlus_DifferentCurrencies_ThrowsException() {
+        // Arrange
+        Money usd = new Money(BigDecimal.TEN, Currency.getInstance("USD"));
+        Money eur = new Money(BigDecimal.TEN, Currency.getInstance("EUR"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> usd.plus(eur),
+                "Adding different currencies should throw IllegalArgumentException");
+    }
+
+    @Test
+    void testTimes_MultipliesByNights() {
+        // Arrange
+        Money rate = new Money(new BigDecimal("149.99"), Currency.getInstance("USD"));
+
+        // Act
+        Money total = rate.times(3);
+
+        // Assert
+        assertEquals(new BigDecimal("449.97"), total.getAmount(), "Three nights should cost three times the rate");
+    }
+
+    @Test
+    void testTimes_Overflow_FallsBackToBigDecimal() {
+        // Arrange
+        Money money = Money.ofMinorUnits(Long.MAX_VALUE / 2, Currency.getInstance("USD"));
+
+        // Act
+        Money total = money.times(4);
+
+        // Assert
+        assertFalse(total.hasExactMinorUnits(), "Result beyond a long should not claim minor units");
+        assertEquals(money.getAmount().multiply(BigDecimal.valueOf(4)), total.getAmount(),
+                "Result should still be exact");
+    }
+
+    @Test
+    void testCompareTo_OrdersByValue() {
+        // Arrange
+        Money low = new Money(new BigDecimal("9.99"), Currency.getInstance("USD"));
+        Money high = new Money(new BigDecimal("10.005"), Currency.getInstance("USD"));
+
+        // Act & Assert
+        assertTrue(low.compareTo(high) < 0, "9.99 should be less than 10.005");
+        assertTrue(high.compareTo(low) > 0, "10.005 should be greater than 9.99");
+        assertEquals(0, low.compareTo(new Money(new BigDecimal("9.990"), Currency.getInstance("USD"))),
+                "Equal values should compare as equal");
+    }
+
+    @Test
+    void testSum_AddsAllAmounts() {
+        // Arrange
+        Currency usd = Currency.getInstance("USD");
+        List<Money> amounts = List.of(Money.ofMinorUnits(100, usd), Money.ofMinorUnits(250, usd),
+                new Money(new BigDecimal("0.005"), usd), Money.ofMinorUnits(1, usd));
+
+        // Act
+        Money total = Money.sum(amounts);
+
+        // Assert
+        assertEquals(new BigDecimal("3.515"), total.getAmount(), "Sum should be exact across both representations");
+    }
+
+    @Test
+    void testSum_Empty_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> Money.sum(List.of()),
+                "Summing nothing has no currency and should throw IllegalArgumentException");
+    }
+
+    @Test
+    void testOfMinorUnits_Negative_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinorUnits(-1, Currency.getInstance("USD")),
+                "Negative amounts should be rejected");
+    }
+
+    @Test
+    void testOfMinorUnits_AmountCreatedOnDemandWithCurrencyScale() {
+        // Arrange
+        Money money = Money.ofMinorUnits(1234, Currency.getInstance("USD"));
+
+        // Act
+        BigDecimal amount = money.getAmount();
+
+        // Assert
+        assertEquals(new BigDecimal("12.34"), amount, "Amount should use the currency's scale");
+        assertSame(amount, money.getAmount(), "The amount should be created once");
+        assertTrue(money.toString().contains("12.34"), "toString should contain the amount");
+    }
 }
@@ -0,0 +1,103 @@
+package com.hotel.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+
+class OccupancyCalendarTest {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+    private OccupancyCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new OccupancyCalendar();
+        calendar.mark(BASE.plusDays(10), BASE.plusDays(15));
+        // Crosses a 64-night word boundary
+        calendar.mark(BASE.plusDays(60), BASE.plusDays(70));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 10",
+            "15, 60",
+            "70, 400",
+            "-100, 5"
+    })
+    void testIsFree_NonOverlappingRange_ReturnsTrue(int startOffset, int endOffset) {
+        // Act
+        boolean free = calendar.isFree(BASE.plusDays(startOffset), BASE.plusDays(endOffset));
+
+        // Assert
+        assertTrue(free, "Range " + startOffset + " to " + endOffset + " should be free");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "14, 16",
+            "63, 65",
+            "69, 70",
+            "0, 1000"
+    })
+    void testIsFree_OverlappingRange_ReturnsFalse(int startOffset, int endOffset) {
+        // Act
+        boolean free = calendar.isFree(BASE.plusDays(startOffset), BASE.plusDays(endOffset));
+
+        // Assert
+        assertFalse(free, "Range " + startOffset + " to " + endOffset + " should be booked");
+    }
+
+    @Test
+    void testClear_BookedRange_BecomesFree() {
+        // Act
+        calendar.clear(BASE.plusDays(60), BASE.plusDays(70));
+
+        // Assert
+        assertTrue(calendar.isFree(BASE.plusDays(60), BASE.plusDays(70)), "Cleared nights should be free");
+        assertFalse(calendar.isFree(BASE.plusDays(10), BASE.plusDays(11)), "Other stays should stay booked");
+    }
+
+    @Test
+    void testMark_BeyondHorizon_GrowsCalendar() {
+        // Arrange
+        LocalDate farStart = BASE.plusDays(5000);
+
+        // Act
+        calendar.mark(farStart, farStart.plusDays(3));
+
+        // Assert
+        assertFalse(calendar.isFree(farStart.plusDays(1), farStart.plusDays(2)), "Far future stay should be booked");
+        assertFalse(calendar.isFree(BASE.plusDays(12), BASE.plusDays(13)), "Existing stays should survive growth");
+    }
+
+    @Test
+    void testOrFreeNights_CombinesWordByWord() {
+        // Arrange
+        long[] acc = new long[2];
+        long startDay = BASE.plusDays(8).toEpochDay();
+
+        // Act
+        calendar.orFreeNights(startDay, 70, acc);
+
+        // Assert
+        assertEquals(0, acc[0] & (1L << 2), "Night 10 should not be free");
+        assertNotEquals(0, acc[0] & 1L, "Night 8 should be free");
+        assertNotEquals(0, acc[0] & (1L << 7), "Night 15 should be free");
+        assertEquals(0, acc[0] & (1L << 55), "Night 63 should not be free");
+        assertEquals(0, acc[1] & ~((1L << 6) - 1), "Nights past the window should not be set");
+    }
+
+    @Test
+    void testAdvanceTo_DropsPastNights() {
+        // Act
+        calendar.advanceTo(BASE.plusDays(200));
+
+        // Assert
+        assertTrue(calendar.isFree(BASE.plusDays(10), BASE.plusDays(15)), "Dropped nights should read as free");
+    }
+}
@@ -0,0 +1,115 @@
+package com.hotel.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+
+import com.hotel.exception.HotelException;
+
+class RoomScheduleTest {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+    private RoomSchedule schedule;
+
+    @BeforeEach
+    void setUp() {
+        schedule = new RoomSchedule();
+        schedule.book(BASE.plusDays(10), BASE.plusDays(15));
+        schedule.book(BASE.plusDays(20), BASE.plusDays(25));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 10", // ends on the check-in day of the first stay
+            "15, 20", // fits exactly between both stays
+            "25, 30", // starts on the check-out day of the last stay
+            "40, 50" // well after every stay
+    })
+    void testIsFree_NonOverlappingRange_ReturnsTrue(int startOffset, int endOffset) {
+        // Act
+        boolean free = schedule.isFree(BASE.plusDays(startOffset), BASE.plusDays(endOffset));
+
+        // Assert
+        assertTrue(free, "Range " + startOffset + " to " + endOffset + " should be free");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "9, 11", // overlaps the start of the first stay
+            "14, 21", // spans the gap and touches both stays
+            "11, 12", // inside the first stay
+            "0, 40" // covers every stay
+    })
+    void testIsFree_OverlappingRange_ReturnsFalse(int startOffset, int endOffset) {
+        // Act
+        boolean free = schedule.isFree(BASE.plusDays(startOffset), BASE.plusDays(endOffset));
+
+        // Assert
+        assertFalse(free, "Range " + startOffset + " to " + endOffset + " should overlap a stay");
+    }
+
+    @Test
+    void testBook_OverlappingStay_ThrowsException() {
+        // Act & Assert
+        assertThrows(HotelException.class, () -> schedule.book(BASE.plusDays(12), BASE.plusDays(22)),
+                "Booking an overlapping stay should throw HotelException");
+        assertEquals(2, schedule.size(), "Failed booking should not change the schedule");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "30, 30", // no nights
+            "31, 30" // ends before it starts
+    })
+    void testIsFreeAndBook_StayWithoutNights_ThrowsException(int startOffset, int endOffset) {
+        // Arrange
+        LocalDate start = BASE.plusDays(startOffset);
+        LocalDate end = BASE.plusDays(endOffset);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> schedule.isFree(start, end),
+                "isFree should reject a stay without nights");
+        assertThrows(IllegalArgumentException.class, () -> schedule.book(start, end),
+                "book should reject a stay without nights");
+        assertEquals(2, schedule.size(), "Rejected stays should not change the schedule");
+    }
+
+    @Test
+    void testBook_StayStartingWhereAnotherEnds_Succeeds() {
+        // Arrange
+        LocalDate start = BASE.plusDays(15);
+        assertTrue(schedule.isFree(start, BASE.plusDays(20)), "The gap should be reported free");
+
+        // Act
+        schedule.book(start, BASE.plusDays(20));
+
+        // Assert
+        assertEquals(3, schedule.size(), "A stay reported free should be booked");
+    }
+
+    @Test
+    void testRelease_ExistingStay_FreesRange() {
+        // Act
+        boolean released = schedule.release(BASE.plusDays(10));
+
+        // Assert
+        assertTrue(released, "Existing stay should be released");
+        assertTrue(schedule.isFree(BASE.plusDays(10), BASE.plusDays(15)), "Released range should be free");
+        assertEquals(1, schedule.size(), "One stay should remain");
+    }
+
+    @Test
+    void testRelease_UnknownStart_ReturnsFalse() {
+        // Act
+        boolean released = schedule.release(BASE.plusDays(11));
+
+        // Assert
+        assertFalse(released, "Releasing an unknown start date should report false");
+        assertEquals(2, schedule.size(), "Schedule should be unchanged");
+    }
+}
@@ -167,4 +167,30 @@ class RoomTest {
         room.checkOutGuest();
         assertEquals(RoomState.FREE, room.getState(), "After checkout should be FREE");
     }
+
+    @Test
+    void testRestoreState_Occupied_SetsStateAndOccupant() {
+        // Act
+        room.restoreState(RoomState.OCCUPIED, guest);
+
+        // Assert
+        assertEquals(RoomState.OCCUPIED, room.getState(), "State should be restored");
+        assertSame(guest, room.getOccupant(), "Occupant should be restored");
+    }
+
+    @Test
+    void testRestoreState_OccupiedWithoutGuest_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> room.restoreState(RoomState.OCCUPIED, null),
+                "An occupied room without occupant should be rejected");
+    }
+
+    @Test
+    void testRestoreState_Reserved_DropsOccupant() {
+        // Act
+        room.restoreState(RoomState.RESERVED, guest);
+
+        // Assert
+        assertNull(room.getOccupant(), "Only occupied rooms should keep an occupant");
+    }
 }
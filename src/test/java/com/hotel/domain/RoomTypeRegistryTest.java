@@ -0,0 +1,71 @@
+package com.hotel.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+class RoomTypeRegistryTest {
+
+    private static RoomType type(RoomKind kind, String cost) {
+        return new RoomType(kind, new Money(new BigDecimal(cost), Currency.getInstance("USD")));
+    }
+
+    @Test
+    void testIdOf_EqualTypes_ShareId() {
+        // Arrange
+        RoomType first = type(RoomKind.FAMILY, "431.00");
+        RoomType second = type(RoomKind.FAMILY, "431");
+
+        // Act
+        int firstId = RoomTypeRegistry.idOf(first);
+        int secondId = RoomTypeRegistry.idOf(second);
+
+        // Assert
+        assertEquals(firstId, secondId, "Equal room types should share an id");
+        assertSame(first, RoomTypeRegistry.canonical(second), "The first registered instance should be canonical");
+        assertSame(first, RoomTypeRegistry.byId(firstId), "Lookup by id should return the canonical instance");
+    }
+
+    @Test
+    void testIdOf_DifferentTypes_GetDistinctIds() {
+        // Arrange
+        RoomType single = type(RoomKind.SINGLE, "432");
+        RoomType suite = type(RoomKind.SUITE, "432");
+
+        // Act & Assert
+        assertNotEquals(RoomTypeRegistry.idOf(single), RoomTypeRegistry.idOf(suite),
+                "Different room types should get different ids");
+        assertTrue(RoomTypeRegistry.idOf(suite) < RoomTypeRegistry.size(), "Ids should be dense");
+    }
+
+    @Test
+    void testIdOf_ConcurrentRegistration_AssignsOneIdPerType() {
+        // Arrange
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+
+        // Act
+        IntStream.range(0, 1000).parallel()
+                .forEach(i -> ids.add(RoomTypeRegistry.idOf(type(RoomKind.DOUBLE, String.valueOf(5000 + i % 10)))));
+
+        // Assert
+        assertEquals(10, ids.size(), "Each distinct type should get exactly one id");
+        Set<RoomType> canonical = new HashSet<>();
+        for (int id : ids) {
+            canonical.add(RoomTypeRegistry.byId(id));
+        }
+        assertEquals(10, canonical.size(), "Every id should map to its own type");
+    }
+
+    @Test
+    void testById_UnknownId_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> RoomTypeRegistry.byId(-1),
+                "Negative ids should be rejected");
+    }
+}
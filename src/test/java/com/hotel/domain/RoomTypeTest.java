@@ -113,4 +113,15 @@ class RoomTypeTest {
         assertTrue(result.contains("DOUBLE"), "toString should contain room kind");
         assertTrue(result.contains("150"), "toString should contain cost amount");
     }
+
+    @Test
+    void testGetId_EqualTypes_ReturnSameId() {
+        // Arrange
+        RoomType first = new RoomType(RoomKind.SUITE, new Money(new BigDecimal("777"), Currency.getInstance("USD")));
+        RoomType second = new RoomType(RoomKind.SUITE, new Money(new BigDecimal("777"), Currency.getInstance("USD")));
+
+        // Act & Assert
+        assertEquals(first.getId(), second.getId(), "Equal room types should have the same id");
+        assertEquals(first.getId(), first.getId(), "The id should be stable");
+    }
 }
@@ -0,0 +1,157 @@
+package com.hotel.events;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.domain.*;
+
+class RoomEventStreamTest {
+
+    private HotelChain chain;
+    private Hotel hotel;
+    private RoomType doubleType;
+    private ReserverPayer payer;
+
+    @BeforeEach
+    void setUp() {
+        chain = new HotelChain("Event Chain");
+        hotel = new Hotel("Hotel A");
+        doubleType = new RoomType(RoomKind.DOUBLE, new Money(new BigDecimal("100"), Currency.getInstance("USD")));
+        hotel.addRoom(new Room(101, doubleType));
+        chain.addHotel(hotel);
+        payer = new ReserverPayer(new Identity("Passport", "P-1"), new CreditCard("4111111111111111", "01/31", "999"));
+    }
+
+    private static void awaitDelivered(RoomEventStream.Subscription subscription, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (subscription.getDeliveredCount() + subscription.getDroppedCount() < count
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void testSubscribe_ReceivesTransitionsInOrder() throws InterruptedException {
+        // Arrange
+        RoomEventStream stream = new RoomEventStream(64);
+        chain.addMutationListener(stream);
+        List<RoomStateEvent> events = Collections.synchronizedList(new ArrayList<>());
+        RoomEventStream.Subscription subscription = stream.subscribe(event -> events.add(event.copy()));
+        Guest guest = new Guest("Jane", new Address("St", "City", "Zip"), new Identity("P", "1"));
+
+        // Act
+        Reservation res = chain.makeReservation("Hotel A", LocalDate.now(), LocalDate.now().plusDays(1), doubleType, payer);
+        chain.checkInGuest("Hotel A", 101, guest);
+        chain.checkOutGuest("Hotel A", 101);
+        awaitDelivered(subscription, 3);
+        subscription.close();
+
+        // Assert
+        assertEquals(3, events.size(), "Every transition should be delivered");
+        assertEquals(RoomState.FREE, events.get(0).getFrom(), "First transition starts FREE");
+        assertEquals(RoomState.RESERVED, events.get(0).getTo(), "First transition ends RESERVED");
+        assertEquals(res.getReservationNumber(), events.get(0).getReservationNumber(), "Reservation should be named");
+        assertEquals(RoomState.OCCUPIED, events.get(1).getTo(), "Second transition is the check-in");
+        assertEquals(RoomState.FREE, events.get(2).getTo(), "Third transition is the check-out");
+        assertEquals("Hotel A", events.get(2).getHotelName(), "Hotel should be named");
+        assertEquals(101, events.get(2).getRoomNumber(), "Room should be named");
+    }
+
+    @Test
+    void testPublish_NoSubscribers_PublishesNothing() {
+        // Arrange
+        RoomEventStream stream = new RoomEventStream(64);
+        chain.addMutationListener(stream);
+
+        // Act
+        chain.makeReservation("Hotel A", LocalDate.now(), LocalDate.now().plusDays(1), doubleType, payer);
+
+        // Assert
+        assertEquals(0, stream.getPublishedCount(), "Nothing should be published without subscribers");
+    }
+
+    @Test
+    void testPublish_SlowConsumer_DropsInsteadOfBlocking() throws InterruptedException {
+        // Arrange
+        RoomEventStream stream = new RoomEventStream(8);
+        CountDownLatch release = new CountDownLatch(1);
+        RoomEventStream.Subscription subscription = stream.subscribe(event -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Room room = hotel.getRoom(101).orElseThrow();
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            stream.publish(hotel, room, RoomState.FREE, RoomState.RESERVED, i + 1);
+        }
+        release.countDown();
+        awaitDelivered(subscription, 1000);
+        subscription.close();
+
+        // Assert
+        assertEquals(1000, stream.getPublishedCount(), "Publishing should never wait for the consumer");
+        assertTrue(subscription.getDroppedCount() > 0, "A lagging consumer should drop events");
+        assertEquals(1000, subscription.getDeliveredCount() + subscription.getDroppedCount(),
+                "Every event should be either delivered or counted as dropped");
+    }
+
+    @Test
+    void testPublish_ConcurrentProducers_DeliversEveryEventOnce() throws Exception {
+        // Arrange
+        int producers = 4;
+        int perProducer = 2000;
+        RoomEventStream stream = new RoomEventStream(1 << 16);
+        List<Long> sequences = Collections.synchronizedList(new ArrayList<>());
+        RoomEventStream.Subscription subscription = stream.subscribe(event -> sequences.add(event.getSequence()));
+        Room room = hotel.getRoom(101).orElseThrow();
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    stream.publish(hotel, room, RoomState.RESERVED, RoomState.OCCUPIED, 0);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        awaitDelivered(subscription, producers * perProducer);
+        subscription.close();
+
+        // Assert
+        assertEquals(producers * perProducer, sequences.size(), "Every event should be delivered");
+        for (int i = 0; i < sequences.size(); i++) {
+            assertEquals(i, sequences.get(i), "Events should arrive in sequence order without gaps");
+        }
+    }
+
+    @Test
+    void testConstructor_CapacityNotPowerOfTwo_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new RoomEventStream(100),
+                "Capacity must be a power of two");
+    }
+}
@@ -0,0 +1,93 @@
+package com.hotel.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BookingMetricsTest {
+
+    private BookingMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new BookingMetrics();
+    }
+
+    @Test
+    void testStart_Disabled_RecordsNothing() {
+        // Act
+        long started = metrics.start();
+        metrics.succeeded(Operation.MAKE_RESERVATION, started);
+        metrics.failed(Operation.MAKE_RESERVATION, "Hotel A", started);
+
+        // Assert
+        assertEquals(BookingMetrics.DISABLED, started, "Disabled metrics should not read the clock");
+        assertEquals(0, metrics.snapshot().get(Operation.MAKE_RESERVATION).getCalls(), "Nothing should be counted");
+        assertTrue(metrics.snapshot().getHotelFailures().isEmpty(), "No hotel failures should be counted");
+    }
+
+    @Test
+    void testFailed_Enabled_CountsPerOperationAndHotel() {
+        // Arrange
+        metrics.setEnabled(true);
+
+        // Act
+        metrics.succeeded(Operation.CANCEL_RESERVATION, metrics.start());
+        metrics.failed(Operation.CANCEL_RESERVATION, "Hotel A", metrics.start());
+        metrics.failed(Operation.CHECK_IN, "Hotel A", metrics.start());
+        metrics.failed(Operation.CHECK_IN, "Hotel B", metrics.start());
+        MetricsSnapshot snapshot = metrics.snapshot();
+
+        // Assert
+        assertEquals(2, snapshot.get(Operation.CANCEL_RESERVATION).getCalls(), "Both calls should be counted");
+        assertEquals(1, snapshot.get(Operation.CANCEL_RESERVATION).getFailures(), "One failure should be counted");
+        assertEquals(2, snapshot.get(Operation.CANCEL_RESERVATION).getLatency().getCount(),
+                "Each call should record a latency");
+        assertEquals(2L, snapshot.getHotelFailures().get("Hotel A"), "Hotel A failed twice");
+        assertEquals(1L, snapshot.getHotelFailures().get("Hotel B"), "Hotel B failed once");
+    }
+
+    @Test
+    void testFormat_ListsEveryOperation() {
+        // Arrange
+        metrics.setEnabled(true);
+        metrics.failed(Operation.MAKE_RESERVATION, "Hotel A", metrics.start());
+
+        // Act
+        String text = metrics.snapshot().format();
+
+        // Assert
+        assertTrue(text.contains("make_reservation_calls 1"), "Calls should be exported");
+        assertTrue(text.contains("make_reservation_failures 1"), "Failures should be exported");
+        assertTrue(text.contains("check_out_latency_p99_us 0"), "Idle operations should be exported too");
+        assertTrue(text.contains("hotel_failures{hotel=\"Hotel A\"} 1"), "Hotel failures should be exported");
+    }
+
+    @Test
+    void testFormat_HotelNameWithQuoteAndBackslash_Escaped() {
+        // Arrange
+        metrics.setEnabled(true);
+        metrics.failed(Operation.CHECK_IN, "The \"Best\" Inn\\Annex", metrics.start());
+
+        // Act
+        String text = metrics.snapshot().format();
+
+        // Assert
+        assertTrue(text.contains("hotel_failures{hotel=\"The \\\"Best\\\" Inn\\\\Annex\"} 1"),
+                "Quotes and backslashes in hotel names should be escaped, got " + text);
+    }
+
+    @Test
+    void testReset_ClearsCounters() {
+        // Arrange
+        metrics.setEnabled(true);
+        metrics.failed(Operation.CHECK_OUT, "Hotel A", metrics.start());
+
+        // Act
+        metrics.reset();
+
+        // Assert
+        assertEquals(0, metrics.snapshot().get(Operation.CHECK_OUT).getCalls(), "Calls should be cleared");
+        assertTrue(metrics.snapshot().getHotelFailures().isEmpty(), "Hotel failures should be cleared");
+    }
+}
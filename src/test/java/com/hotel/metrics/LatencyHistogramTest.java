@@ -0,0 +1,73 @@
+package com.hotel.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.stream.IntStream;
+
+class LatencyHistogramTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = { 0, 1, 31, 32, 33, 1_000, 123_456, 987_654_321, Long.MAX_VALUE })
+    void testBucketOf_ValueWithinBucketBounds(long value) {
+        // Act
+        int bucket = LatencyHistogram.bucketOf(value);
+        long highest = LatencyHistogram.highestValueOf(bucket);
+
+        // Assert
+        assertTrue(bucket >= 0 && bucket < LatencyHistogram.BUCKETS, "Bucket should be in range");
+        assertTrue(highest >= value, "Bucket bound should not be below the value");
+        assertTrue(highest - value <= Math.max(1, value / LatencyHistogram.SUB_BUCKETS),
+                "Bucket bound should be within the histogram's precision of " + value);
+    }
+
+    @Test
+    void testValueAtPercentile_UniformValues() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i);
+        }
+
+        // Act
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        // Assert
+        assertEquals(10_000, snapshot.getCount(), "Every value should be counted");
+        assertEquals(10_000, snapshot.getMax(), "Max should be exact");
+        assertEquals(5_000.5, snapshot.getMean(), 0.001, "Mean should be exact");
+        assertEquals(5_000, snapshot.valueAtPercentile(50), 5_000 / LatencyHistogram.SUB_BUCKETS,
+                "Median should be within precision");
+        assertEquals(9_900, snapshot.valueAtPercentile(99), 9_900 / LatencyHistogram.SUB_BUCKETS,
+                "p99 should be within precision");
+        assertEquals(10_000, snapshot.valueAtPercentile(100), "p100 should be the max");
+    }
+
+    @Test
+    void testSnapshot_Empty_ReturnsZero() {
+        // Act & Assert
+        assertEquals(0, new LatencyHistogram().snapshot().valueAtPercentile(99), "Empty histogram reports zero");
+    }
+
+    @Test
+    void testRecord_Concurrent_CountsEveryValue() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act
+        IntStream.range(0, 100_000).parallel().forEach(i -> histogram.record(i % 1000));
+
+        // Assert
+        assertEquals(100_000, histogram.snapshot().getCount(), "Concurrent records should all be counted");
+        assertEquals(999, histogram.snapshot().getMax(), "Max should be tracked concurrently");
+    }
+
+    @Test
+    void testRecord_Negative_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram().record(-1),
+                "Negative values should be rejected");
+    }
+}
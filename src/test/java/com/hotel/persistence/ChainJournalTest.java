@@ -0,0 +1,183 @@
+package com.hotel.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.domain.*;
+
+class ChainJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private Path journalPath;
+    private RoomType doubleType;
+    private Guest guest;
+
+    @BeforeEach
+    void setUp() {
+        journalPath = dir.resolve("chain.journal");
+        doubleType = new RoomType(RoomKind.DOUBLE, new Money(new BigDecimal("120"), Currency.getInstance("USD")));
+        guest = new Guest("Jane Roe", new Address("1 High St", "Leeds", "LS1"), new Identity("Passport", "G-1"));
+    }
+
+    private HotelChain newChain(int rooms) {
+        HotelChain chain = new HotelChain("Journal Chain");
+        Hotel hotel = new Hotel("Hotel A");
+        for (int i = 0; i < rooms; i++) {
+            hotel.addRoom(new Room(100 + i, doubleType));
+        }
+        chain.addHotel(hotel);
+        return chain;
+    }
+
+    @Test
+    void testReplay_RebuildsChainState() throws IOException {
+        // Arrange
+        HotelChain chain = newChain(3);
+        LocalDate start = LocalDate.of(2030, 5, 1);
+        try (ChainJournal journal = ChainJournal.open(journalPath)) {
+            chain.addMutationListener(journal);
+            ReserverPayer payer = chain.createReserverPayer(new Identity("Passport", "P-1"),
+                    new CreditCard("4111111111111111", "01/31", "999"));
+            Reservation kept = chain.makeReservation("Hotel A", start, start.plusDays(2), doubleType, payer);
+            Reservation cancelled = chain.makeReservation("Hotel A", start, start.plusDays(3), doubleType, payer);
+            Reservation stayed = chain.makeReservation("Hotel A", start, start.plusDays(1), doubleType, payer);
+            chain.cancelReservation("Hotel A", cancelled.getReservationNumber());
+            chain.checkInGuest("Hotel A", kept.getRoom().getNumber(), guest);
+            chain.checkInGuest("Hotel A", stayed.getRoom().getNumber(), guest);
+            chain.checkOutGuest("Hotel A", stayed.getRoom().getNumber());
+        }
+        HotelChain recovered = newChain(3);
+
+        // Act
+        int applied = ChainJournal.replay(journalPath, recovered);
+
+        // Assert
+        assertEquals(8, applied, "Every mutation should be replayed");
+        Hotel original = chain.getHotels().get(0);
+        Hotel rebuilt = recovered.getHotels().get(0);
+        assertEquals(original.getReservations().size(), rebuilt.getReservations().size(),
+                "Reservation count should match");
+        for (Reservation res : original.getReservations()) {
+            Reservation copy = rebuilt.getReservation(res.getReservationNumber()).orElseThrow();
+            assertEquals(res.getStartDate(), copy.getStartDate(), "Start date should match");
+            assertEquals(res.getEndDate(), copy.getEndDate(), "End date should match");
+            assertEquals(res.getRoom().getNumber(), copy.getRoom().getNumber(), "Room should match");
+            assertEquals(res.getPayer().getId(), copy.getPayer().getId(), "Payer should match");
+        }
+        for (Room room : original.getRooms()) {
+            Room copy = rebuilt.getRoom(room.getNumber()).orElseThrow();
+            assertEquals(room.getState(), copy.getState(), "State of room " + room.getNumber() + " should match");
+        }
+        assertEquals("Jane Roe", rebuilt.getRoom(100).orElseThrow().getOccupant().getName(),
+                "Occupant should be restored");
+    }
+
+    @Test
+    void testReplay_TornTail_StopsAtLastIntactRecord() throws IOException {
+        // Arrange
+        HotelChain chain = newChain(1);
+        try (ChainJournal journal = ChainJournal.open(journalPath)) {
+            chain.addMutationListener(journal);
+            ReserverPayer payer = chain.createReserverPayer(new Identity("Passport", "P-1"),
+                    new CreditCard("4111111111111111", "01/31", "999"));
+            chain.makeReservation("Hotel A", LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 2), doubleType, payer);
+        }
+        Files.write(journalPath, new byte[] { 0, 0, 0, 40, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+        // Act
+        int applied = ChainJournal.replay(journalPath, newChain(1));
+        ChainJournal.open(journalPath).close();
+
+        // Assert
+        assertEquals(2, applied, "Torn record should be ignored");
+        assertEquals(2, ChainJournal.replay(journalPath, newChain(1)), "Reopening should cut the torn tail");
+    }
+
+    @Test
+    void testAppend_ConcurrentBookings_AllDurable() throws Exception {
+        // Arrange
+        int threads = 8;
+        int perThread = 50;
+        HotelChain chain = newChain(threads * perThread);
+        ReserverPayer payer = new ReserverPayer(new Identity("Passport", "P-2"),
+                new CreditCard("4111111111111111", "01/31", "999"));
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try (ChainJournal journal = ChainJournal.open(journalPath)) {
+            chain.addMutationListener(journal);
+
+            // Act
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        chain.makeReservation("Hotel A", LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3),
+                                doubleType, payer);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        HotelChain recovered = newChain(threads * perThread);
+
+        // Assert
+        assertEquals(threads * perThread, ChainJournal.replay(journalPath, recovered),
+                "Every booking should be in the journal");
+        assertEquals(threads * perThread, recovered.getHotels().get(0).getReservations().size(),
+                "Every booking should be rebuilt");
+    }
+
+    @Test
+    void testAppend_CardNumberMaskedAndExpiryNotWritten() throws IOException {
+        // Arrange
+        HotelChain chain = newChain(1);
+        try (ChainJournal journal = ChainJournal.open(journalPath)) {
+            chain.addMutationListener(journal);
+            ReserverPayer payer = chain.createReserverPayer(new Identity("Passport", "P-1"),
+                    new CreditCard("4111111111111111", "01/31", "999"));
+            chain.makeReservation("Hotel A", LocalDate.of(2030, 5, 1), LocalDate.of(2030, 5, 2), doubleType, payer);
+        }
+
+        // Act
+        String written = new String(Files.readAllBytes(journalPath), StandardCharsets.ISO_8859_1);
+        HotelChain rebuilt = newChain(1);
+        ChainJournal.replay(journalPath, rebuilt);
+
+        // Assert
+        assertFalse(written.contains("4111111111111111"), "Full card number should not be written");
+        assertFalse(written.contains("01/31"), "Expiry date should not be written");
+        assertEquals("************1111", rebuilt.getPayers().get(0).getCreditCardDetails().getNumber(),
+                "Replayed card should keep only the last four digits");
+    }
+
+    @Test
+    void testReplay_MissingFile_AppliesNothing() throws IOException {
+        // Act & Assert
+        assertEquals(0, ChainJournal.replay(dir.resolve("missing.journal"), newChain(1)),
+                "A missing journal should replay nothing");
+    }
+}
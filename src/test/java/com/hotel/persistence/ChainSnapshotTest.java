@@ -0,0 +1,225 @@
+package com.hotel.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.hotel.core.AvailabilityBackend;
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.domain.*;
+import com.hotel.exception.HotelException;
+
+class ChainSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private Path snapshotPath;
+    private RoomType doubleType;
+    private RoomType suiteType;
+    private HotelChain chain;
+
+    @BeforeEach
+    void setUp() {
+        snapshotPath = dir.resolve("chain.snapshot");
+        Currency usd = Currency.getInstance("USD");
+        doubleType = new RoomType(RoomKind.DOUBLE, new Money(new BigDecimal("120.00"), usd));
+        suiteType = new RoomType(RoomKind.SUITE, new Money(new BigDecimal("120.00"), usd));
+        chain = new HotelChain("Snapshot Chain");
+        Hotel first = new Hotel("Hotel A");
+        Hotel second = new Hotel("Hotel B", AvailabilityBackend.BITMAP_CALENDAR);
+        for (int i = 0; i < 4; i++) {
+            first.addRoom(new Room(100 + i, doubleType));
+            second.addRoom(new Room(200 + i, i < 2 ? doubleType : suiteType));
+        }
+        chain.addHotel(first);
+        chain.addHotel(second);
+    }
+
+    @Test
+    void testLoad_RestoresFullChainState() throws IOException {
+        // Arrange
+        LocalDate start = LocalDate.of(2030, 3, 1);
+        ReserverPayer payer = chain.createReserverPayer(new Identity("Passport", "P-1"),
+                new CreditCard("4111111111111111", "01/31", "999"));
+        ReserverPayer walkIn = new ReserverPayer(new Identity("Passport", "P-2"),
+                new CreditCard("5500000000000004", "02/32", "123"));
+        Reservation occupied = chain.makeReservation("Hotel A", start, start.plusDays(2), doubleType, payer);
+        chain.makeReservation("Hotel B", start, start.plusDays(5), suiteType, walkIn);
+        Reservation cancelled = chain.makeReservation("Hotel B", start, start.plusDays(1), doubleType, payer);
+        chain.cancelReservation("Hotel B", cancelled.getReservationNumber());
+        Guest guest = new Guest("Jane Roe", new Address("1 High St", "Leeds", "LS1"), new Identity("Passport", "G-1"));
+        chain.checkInGuest("Hotel A", occupied.getRoom().getNumber(), guest);
+
+        // Act
+        ChainSnapshot.write(chain, snapshotPath);
+        HotelChain loaded = ChainSnapshot.load(snapshotPath);
+
+        // Assert
+        assertEquals("Snapshot Chain", loaded.getName(), "Chain name should be restored");
+        assertEquals(1, loaded.getPayers().size(), "Only payers created through the chain should be registered");
+        for (Hotel original : chain.getHotels()) {
+            Hotel copy = loaded.getHotel(original.getName()).orElseThrow();
+            assertEquals(original.getAvailabilityBackend(), copy.getAvailabilityBackend(), "Backend should match");
+            assertEquals(original.getRooms().size(), copy.getRooms().size(), "Room count should match");
+            for (Room room : original.getRooms()) {
+                Room loadedRoom = copy.getRoom(room.getNumber()).orElseThrow();
+                assertEquals(room.getRoomType(), loadedRoom.getRoomType(), "Room type should match");
+                assertEquals(room.getState(), loadedRoom.getState(), "State of room " + room.getNumber() + " should match");
+            }
+            assertEquals(original.getReservations().size(), copy.getReservations().size(), "Reservations should match");
+            for (Reservation res : original.getReservations()) {
+                Reservation loadedRes = copy.getReservation(res.getReservationNumber()).orElseThrow();
+                assertEquals(res.getStartDate(), loadedRes.getStartDate(), "Start date should match");
+                assertEquals(res.getEndDate(), loadedRes.getEndDate(), "End date should match");
+                assertEquals(res.getRoom().getNumber(), loadedRes.getRoom().getNumber(), "Room should match");
+                assertEquals(res.getPayer().getId(), loadedRes.getPayer().getId(), "Payer should match");
+            }
+        }
+        Room loadedOccupied = loaded.getHotel("Hotel A").orElseThrow().getRoom(occupied.getRoom().getNumber())
+                .orElseThrow();
+        assertEquals("Jane Roe", loadedOccupied.getOccupant().getName(), "Occupant should be restored");
+        Reservation next = loaded.makeReservation("Hotel B", start, start.plusDays(1), doubleType,
+                loaded.getPayers().get(0));
+        assertTrue(next.getReservationNumber() > cancelled.getReservationNumber(),
+                "Numbers of cancelled reservations should not be handed out again");
+    }
+
+    @Test
+    void testLoad_SharesRoomTypeAndMoneyInstances() throws IOException {
+        // Act
+        ChainSnapshot.write(chain, snapshotPath);
+        HotelChain loaded = ChainSnapshot.load(snapshotPath);
+
+        // Assert
+        RoomType first = loaded.getHotel("Hotel A").orElseThrow().getRoom(100).orElseThrow().getRoomType();
+        RoomType second = loaded.getHotel("Hotel B").orElseThrow().getRoom(200).orElseThrow().getRoomType();
+        RoomType suite = loaded.getHotel("Hotel B").orElseThrow().getRoom(203).orElseThrow().getRoomType();
+        assertSame(first, second, "Equal room types should load as one instance");
+        assertSame(first.getCost(), suite.getCost(), "Equal prices should load as one instance");
+    }
+
+    @Test
+    void testLoad_CorruptFile_ThrowsException() throws IOException {
+        // Arrange
+        ChainSnapshot.write(chain, snapshotPath);
+        byte[] bytes = Files.readAllBytes(snapshotPath);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(snapshotPath, bytes);
+
+        // Act & Assert
+        assertThrows(HotelException.class, () -> ChainSnapshot.load(snapshotPath),
+                "A corrupt snapshot should be rejected");
+    }
+
+    @Test
+    void testWrite_DuringConcurrentBookings_ProducesLoadableSnapshot() throws Exception {
+        // Arrange
+        Hotel big = new Hotel("Hotel C");
+        for (int i = 0; i < 500; i++) {
+            big.addRoom(new Room(1000 + i, doubleType));
+        }
+        chain.addHotel(big);
+        ReserverPayer payer = chain.createReserverPayer(new Identity("Passport", "P-3"),
+                new CreditCard("4111111111111111", "01/31", "999"));
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        Future<?>[] writers = new Future<?>[4];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = pool.submit(() -> {
+                LocalDate start = LocalDate.of(2030, 1, 1);
+                while (running.get()) {
+                    try {
+                        Reservation res = chain.makeReservation("Hotel C", start, start.plusDays(2), doubleType, payer);
+                        if (res.getReservationNumber() % 3 == 0) {
+                            chain.cancelReservation("Hotel C", res.getReservationNumber());
+                        }
+                    } catch (HotelException e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        // Act
+        try {
+            for (int i = 0; i < 5; i++) {
+                ChainSnapshot.write(chain, snapshotPath);
+                HotelChain loaded = ChainSnapshot.load(snapshotPath);
+
+                // Assert
+                Hotel copy = loaded.getHotel("Hotel C").orElseThrow();
+                long reserved = copy.getRooms().stream().filter(r -> r.getState() == RoomState.RESERVED).count();
+                assertEquals(copy.getReservations().size(), reserved,
+                        "Every live reservation should match a reserved room");
+            }
+        } finally {
+            running.set(false);
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testRecover_SnapshotPlusJournal_RestoresLaterBookings() throws IOException {
+        // Arrange
+        Path journalPath = dir.resolve("chain.journal");
+        LocalDate start = LocalDate.of(2030, 3, 1);
+        Reservation beforeSnapshot;
+        Reservation afterSnapshot;
+        Reservation cancelledAfter;
+        try (ChainJournal journal = ChainJournal.open(journalPath)) {
+            chain.addMutationListener(journal);
+            ReserverPayer payer = chain.createReserverPayer(new Identity("Passport", "P-1"),
+                    new CreditCard("4111111111111111", "01/31", "999"));
+            beforeSnapshot = chain.makeReservation("Hotel A", start, start.plusDays(2), doubleType, payer);
+            cancelledAfter = chain.makeReservation("Hotel A", start, start.plusDays(2), doubleType, payer);
+            ChainSnapshot.write(chain, journal, snapshotPath);
+            ReserverPayer latePayer = chain.createReserverPayer(new Identity("Passport", "P-2"),
+                    new CreditCard("5500000000000004", "02/32", "123"));
+            afterSnapshot = chain.makeReservation("Hotel B", start, start.plusDays(3), suiteType, latePayer);
+            chain.cancelReservation("Hotel A", cancelledAfter.getReservationNumber());
+        }
+
+        // Act
+        HotelChain recovered = ChainSnapshot.recover(snapshotPath, journalPath);
+
+        // Assert
+        Hotel hotelA = recovered.getHotel("Hotel A").orElseThrow();
+        Hotel hotelB = recovered.getHotel("Hotel B").orElseThrow();
+        assertTrue(hotelA.getReservation(beforeSnapshot.getReservationNumber()).isPresent(),
+                "Booking from the snapshot should be restored");
+        assertTrue(hotelA.getReservation(cancelledAfter.getReservationNumber()).isEmpty(),
+                "Cancellation after the snapshot should be replayed");
+        Reservation replayed = hotelB.getReservation(afterSnapshot.getReservationNumber()).orElseThrow();
+        assertEquals("P-2", replayed.getPayer().getId().getIdNumber(), "Later booking should keep its payer");
+        assertEquals(2, recovered.getPayers().size(), "Payer created after the snapshot should be registered");
+        assertEquals(RoomState.RESERVED, replayed.getRoom().getState(), "Replayed room should be reserved");
+    }
+
+    @Test
+    void testRecover_SnapshotWithoutJournal_ThrowsException() throws IOException {
+        // Arrange
+        ChainSnapshot.write(chain, snapshotPath);
+
+        // Act & Assert
+        assertThrows(HotelException.class, () -> ChainSnapshot.recover(snapshotPath, dir.resolve("missing")),
+                "A snapshot written without a journal cannot be recovered with one");
+    }
+}
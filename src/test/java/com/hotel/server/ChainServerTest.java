@@ -0,0 +1,210 @@
+package com.hotel.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.domain.*;
+import com.hotel.exception.HotelException;
+import com.hotel.persistence.ChainSnapshot;
+
+class ChainServerTest {
+
+    private static final int ROOMS = 50;
+
+    private HotelChain chain;
+    private Hotel hotel;
+    private ChainServer server;
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        chain = new HotelChain("Chain 1");
+        hotel = new Hotel("Hotel 1");
+        chain.addHotel(hotel);
+        RoomType type = new RoomType(RoomKind.DOUBLE, new Money(BigDecimal.TEN, Currency.getInstance("USD")));
+        for (int i = 0; i < ROOMS; i++) {
+            hotel.addRoom(new Room(100 + i, type));
+        }
+        server = new ChainServer(chain, 0);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void testServe_PipelinedRequests_AnsweredInOrder() throws IOException {
+        // Arrange
+        try (Socket socket = connect()) {
+            String requests = "PAYER\tPassport\tP-1\t4000000000000002\t12/35\t123\n"
+                    + "AVAIL\tHotel 1\t2030-01-01\t2030-01-02\n"
+                    + "BOGUS\n";
+
+            // Act
+            socket.getOutputStream().write(requests.getBytes(StandardCharsets.UTF_8));
+            socket.getOutputStream().flush();
+            BufferedReader in = reader(socket);
+
+            // Assert
+            assertEquals("OK", in.readLine(), "PAYER should answer first");
+            assertEquals("OK\tDOUBLE=" + ROOMS, in.readLine(), "AVAIL should answer second");
+            assertTrue(in.readLine().startsWith("ERR\t"), "Unknown command should answer last");
+        }
+    }
+
+    @Test
+    void testServe_ManyConcurrentConnections_NoDoubleBooking() throws Exception {
+        // Arrange
+        int clients = 200;
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < clients; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try (Socket socket = connect()) {
+                    OutputStream out = socket.getOutputStream();
+                    BufferedReader in = reader(socket);
+                    out.write(("PAYER\tPassport\tP-1\t4000000000000002\t12/35\t123\n"
+                            + "MAKE\tHotel 1\t2030-01-01\t2030-01-02\tDOUBLE\tPassport\tP-1\n")
+                            .getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    in.readLine();
+                    if (in.readLine().startsWith("OK\t")) {
+                        booked.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    failures.incrementAndGet();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(0, failures.get(), "Every connection should be served");
+        assertEquals(ROOMS, booked.get(), "Exactly one booking per room should succeed");
+        assertEquals(ROOMS, hotel.getReservations().size(), "Hotel should hold one reservation per room");
+        assertEquals(clients, server.getAcceptedCount(), "Every connection should be accepted");
+    }
+
+    @Test
+    void testClose_DisconnectsClients() throws IOException {
+        // Arrange
+        try (Socket socket = connect()) {
+            socket.getOutputStream().write("AVAIL\tHotel 1\t2030-01-01\t2030-01-02\n".getBytes(StandardCharsets.UTF_8));
+            BufferedReader in = reader(socket);
+            in.readLine();
+
+            // Act
+            server.close();
+
+            // Assert
+            assertNull(in.readLine(), "Client should see end of stream after close");
+        }
+    }
+
+    @Test
+    void testServe_OverlongLine_RejectedAndConnectionKept() throws IOException {
+        // Arrange
+        try (Socket socket = connect()) {
+            String request = "AVAIL\t" + "x".repeat(ChainServer.MAX_LINE_LENGTH) + "\n"
+                    + "AVAIL\tHotel 1\t2030-01-01\t2030-01-02\n";
+
+            // Act
+            socket.getOutputStream().write(request.getBytes(StandardCharsets.UTF_8));
+            socket.getOutputStream().flush();
+            BufferedReader in = reader(socket);
+
+            // Assert
+            assertTrue(in.readLine().startsWith("ERR\t"), "Overlong request should be rejected");
+            assertEquals("OK\tDOUBLE=" + ROOMS, in.readLine(), "Next request should still be served");
+        }
+    }
+
+    @Test
+    void testServe_CarriageReturnLineEnd_Stripped() throws IOException {
+        // Arrange
+        try (Socket socket = connect()) {
+            String request = "AVAIL\tHotel 1\t2030-01-01\t2030-01-02\r\n";
+
+            // Act
+            socket.getOutputStream().write(request.getBytes(StandardCharsets.UTF_8));
+            socket.getOutputStream().flush();
+            BufferedReader in = reader(socket);
+
+            // Assert
+            assertEquals("OK\tDOUBLE=" + ROOMS, in.readLine(), "CRLF request should be answered normally");
+        }
+    }
+
+    @Test
+    void testRecoverOrCreate_NoSnapshot_StartsEmptyChain() throws IOException {
+        // Act
+        HotelChain fresh = ChainServer.recoverOrCreate(dir.resolve("chain.snapshot"), dir.resolve("chain.journal"),
+                "New Chain");
+
+        // Assert
+        assertEquals("New Chain", fresh.getName(), "A fresh deployment should start from an empty named chain");
+        assertTrue(fresh.getHotels().isEmpty(), "The new chain should have no hotels");
+    }
+
+    @Test
+    void testRecoverOrCreate_JournalWithoutSnapshot_ThrowsException() throws IOException {
+        // Arrange
+        Path journal = dir.resolve("chain.journal");
+        Files.write(journal, new byte[] { 1 });
+
+        // Act & Assert
+        assertThrows(HotelException.class,
+                () -> ChainServer.recoverOrCreate(dir.resolve("chain.snapshot"), journal, "New Chain"),
+                "A journal cannot be replayed without its snapshot");
+    }
+
+    @Test
+    void testRecoverOrCreate_SnapshotOnly_LoadsIt() throws IOException {
+        // Arrange
+        Path snapshot = dir.resolve("chain.snapshot");
+        ChainSnapshot.write(chain, snapshot);
+
+        // Act
+        HotelChain loaded = ChainServer.recoverOrCreate(snapshot, dir.resolve("chain.journal"), "Ignored");
+
+        // Assert
+        assertEquals(chain.getName(), loaded.getName(), "The snapshot's chain should be loaded");
+        assertEquals(1, loaded.getHotels().size(), "The snapshot's hotels should be loaded");
+    }
+
+    private Socket connect() throws IOException {
+        return new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+
+    private static BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+}
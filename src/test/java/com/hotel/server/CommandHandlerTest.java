@@ -0,0 +1,147 @@
+package com.hotel.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import com.hotel.core.ChainMutationListener;
+import com.hotel.core.Hotel;
+import com.hotel.core.HotelChain;
+import com.hotel.domain.*;
+
+class CommandHandlerTest {
+
+    private static final String STAY = "Hotel 1\t2030-01-01\t2030-01-03";
+
+    private HotelChain chain;
+    private Hotel hotel;
+    private CommandHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        chain = new HotelChain("Chain 1");
+        hotel = new Hotel("Hotel 1");
+        chain.addHotel(hotel);
+        RoomType type = new RoomType(RoomKind.DOUBLE, new Money(BigDecimal.TEN, Currency.getInstance("USD")));
+        hotel.addRoom(new Room(101, type));
+        handler = new CommandHandler(chain);
+        handler.handle("PAYER\tPassport\tP-1\t4000000000000002\t12/35\t123");
+    }
+
+    @Test
+    void testHandle_Make_ReturnsReservationAndRoom() {
+        // Act
+        String response = handler.handle("MAKE\t" + STAY + "\tDOUBLE\tPassport\tP-1");
+
+        // Assert
+        int number = hotel.getReservations().get(0).getReservationNumber();
+        assertEquals("OK\t" + number + "\t101", response, "Response should carry reservation and room numbers");
+    }
+
+    @Test
+    void testHandle_Avail_ListsCountsPerKind() {
+        // Arrange
+        String before = handler.handle("AVAIL\t" + STAY);
+        handler.handle("MAKE\t" + STAY + "\tDOUBLE\tPassport\tP-1");
+
+        // Act
+        String after = handler.handle("AVAIL\t" + STAY);
+
+        // Assert
+        assertEquals("OK\tDOUBLE=1", before, "Room should be available before booking");
+        assertEquals("OK\tDOUBLE=0", after, "Room should be taken after booking");
+    }
+
+    @Test
+    void testHandle_FullLifecycle_Succeeds() {
+        // Arrange
+        String number = handler.handle("MAKE\t" + STAY + "\tDOUBLE\tPassport\tP-1").split("\t")[1];
+
+        // Act
+        String checkIn = handler.handle("CHECKIN\tHotel 1\t101\tJane Doe\tPassport\tP-1\t1 Main St\tTown\t12345");
+        String checkOut = handler.handle("CHECKOUT\tHotel 1\t101");
+        String cancel = handler.handle("CANCEL\tHotel 1\t" + number);
+
+        // Assert
+        assertEquals("OK", checkIn, "Check-in should succeed");
+        assertEquals("OK", checkOut, "Check-out should succeed");
+        assertTrue(cancel.startsWith("ERR\t"), "A checked-out stay cannot be cancelled");
+        assertEquals(RoomState.FREE, hotel.getRoom(101).get().getState(), "Room should be free again");
+    }
+
+    @Test
+    void testHandle_Cancel_FreesRoom() {
+        // Arrange
+        String number = handler.handle("MAKE\t" + STAY + "\tDOUBLE\tPassport\tP-1").split("\t")[1];
+
+        // Act
+        String response = handler.handle("CANCEL\tHotel 1\t" + number);
+
+        // Assert
+        assertEquals("OK", response, "Cancel should succeed");
+        assertEquals("OK\tDOUBLE=1", handler.handle("AVAIL\t" + STAY), "Room should be available again");
+    }
+
+    @Test
+    void testHandle_Payer_RegistersOnce() {
+        // Act
+        handler.handle("PAYER\tPassport\tP-1\t4000000000000002\t12/35\t123");
+
+        // Assert
+        assertEquals(1, chain.getPayers().size(), "Registering the same identity twice should keep one payer");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "FLY\tHotel 1",
+            "MAKE\tHotel 1",
+            "MAKE\t" + STAY + "\tDOUBLE\tPassport\tUNKNOWN",
+            "MAKE\t" + STAY + "\tFAMILY\tPassport\tP-1",
+            "MAKE\t" + STAY + "\tPENTHOUSE\tPassport\tP-1",
+            "MAKE\tHotel 1\t2030-13-01\t2030-01-03\tDOUBLE\tPassport\tP-1",
+            "AVAIL\tNo Such Hotel\t2030-01-01\t2030-01-03",
+            "CANCEL\tHotel 1\tabc",
+            "CHECKOUT\tHotel 1\t101",
+            "AVAIL\tHotel 1\t-999999999-01-01\t+999999999-12-31",
+            "AVAIL\tHotel 1\t2030-01-03\t2030-01-01",
+            "AVAIL\tHotel 1\t2030-01-01\t2030-01-01",
+            "MAKE\tHotel 1\t2030-01-01\t2031-06-01\tDOUBLE\tPassport\tP-1"
+    })
+    void testHandle_BadRequest_ReturnsError(String request) {
+        // Act
+        String response = handler.handle(request);
+
+        // Assert
+        assertTrue(response.startsWith("ERR\t"), "Bad request should answer ERR but got " + response);
+    }
+
+    @Test
+    void testHandle_UnexpectedFailure_ReturnsError() {
+        // Arrange
+        chain.addMutationListener(new ChainMutationListener() {
+            @Override
+            public void reservationCreated(Hotel h, Reservation reservation) {
+                throw new IllegalStateException("Listener broke");
+            }
+        });
+
+        // Act
+        String response = handler.handle("MAKE\t" + STAY + "\tDOUBLE\tPassport\tP-1");
+
+        // Assert
+        assertEquals("ERR\tListener broke", response, "Any command failure should answer ERR");
+    }
+
+    @Test
+    void testConstructor_NullChain_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new CommandHandler(null),
+                "Handler needs a chain");
+    }
+}
@@ -0,0 +1,100 @@
+package com.hotel.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+class IntHashMapTest {
+
+    private IntHashMap<String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new IntHashMap<>();
+    }
+
+    @Test
+    void testPutAndGet_ReturnsStoredValue() {
+        // Act
+        map.put(7, "seven");
+        map.put(-3, "minus three");
+
+        // Assert
+        assertEquals("seven", map.get(7), "Value for key 7 should be returned");
+        assertEquals("minus three", map.get(-3), "Negative keys should be supported");
+        assertNull(map.get(8), "Missing key should return null");
+        assertEquals(2, map.size(), "Map should contain two entries");
+    }
+
+    @Test
+    void testPut_ExistingKey_ReplacesValue() {
+        // Arrange
+        map.put(1, "old");
+
+        // Act
+        String previous = map.put(1, "new");
+
+        // Assert
+        assertEquals("old", previous, "Previous value should be returned");
+        assertEquals("new", map.get(1), "Value should be replaced");
+        assertEquals(1, map.size(), "Size should not change on replace");
+    }
+
+    @Test
+    void testPutIfAbsent_ExistingKey_KeepsValue() {
+        // Arrange
+        map.put(1, "first");
+
+        // Act
+        String existing = map.putIfAbsent(1, "second");
+
+        // Assert
+        assertEquals("first", existing, "Existing value should be returned");
+        assertEquals("first", map.get(1), "Existing value should be kept");
+    }
+
+    @Test
+    void testPut_NullValue_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, null),
+                "Null values should be rejected");
+    }
+
+    @Test
+    void testRemove_MissingKey_ReturnsNull() {
+        // Act & Assert
+        assertNull(map.remove(42), "Removing a missing key should return null");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 10, 1_000, 50_000 })
+    void testRandomOperations_MatchHashMap(int operations) {
+        // Arrange
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(operations);
+
+        // Act
+        for (int i = 0; i < operations; i++) {
+            int key = random.nextInt(operations / 2 + 1);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key), "Removed value should match for key " + key);
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value), "Previous value should match for key " + key);
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), map.size(), "Sizes should match");
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()), "Value should match for key " + entry.getKey());
+        }
+        assertEquals(expected.size(), map.values().size(), "Values snapshot should contain every entry");
+    }
+}
@@ -0,0 +1,166 @@
+package com.hotel.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TimingWheelTest {
+
+    private TimingWheel<String> wheel;
+    private List<String> fired;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimingWheel<>(10, 8, 1_000);
+        fired = new ArrayList<>();
+    }
+
+    @Test
+    void testAdvance_FiresOnlyDueTimeouts() {
+        // Arrange
+        wheel.schedule("early", 1_020);
+        wheel.schedule("late", 1_050);
+
+        // Act
+        int count = wheel.advance(1_030, fired::add);
+
+        // Assert
+        assertEquals(1, count, "Only the due timeout should fire");
+        assertEquals(List.of("early"), fired, "The early timeout should fire");
+        assertEquals(1, wheel.size(), "The late timeout should remain");
+    }
+
+    @Test
+    void testAdvance_DeadlineRoundsUpToNextTick() {
+        // Arrange
+        wheel.schedule("a", 1_015);
+
+        // Act
+        wheel.advance(1_019, fired::add);
+        int before = fired.size();
+        wheel.advance(1_020, fired::add);
+
+        // Assert
+        assertEquals(0, before, "Timeout should not fire before its tick");
+        assertEquals(List.of("a"), fired, "Timeout should fire on the tick after its deadline");
+    }
+
+    @Test
+    void testSchedule_PastDeadline_FiresOnNextTick() {
+        // Arrange
+        wheel.schedule("overdue", 500);
+
+        // Act
+        wheel.advance(1_010, fired::add);
+
+        // Assert
+        assertEquals(List.of("overdue"), fired, "Overdue timeout should fire on the next advance");
+    }
+
+    @Test
+    void testCancel_RemovesTimeout() {
+        // Arrange
+        TimingWheel.Timeout<String> timeout = wheel.schedule("cancelled", 1_020);
+        wheel.schedule("kept", 1_020);
+
+        // Act
+        boolean cancelled = wheel.cancel(timeout);
+        wheel.advance(1_100, fired::add);
+
+        // Assert
+        assertTrue(cancelled, "Pending timeout should be cancelled");
+        assertFalse(wheel.cancel(timeout), "A timeout can only be cancelled once");
+        assertEquals(List.of("kept"), fired, "Cancelled timeout should not fire");
+        assertTrue(wheel.isEmpty(), "Wheel should be empty");
+    }
+
+    @Test
+    void testAdvance_BeyondOneRevolution_WaitsForOwnTick() {
+        // Arrange: eight slots of 10 ms, so 1_030 and 1_110 share a slot
+        wheel.schedule("near", 1_030);
+        wheel.schedule("far", 1_110);
+
+        // Act
+        wheel.advance(1_040, fired::add);
+        List<String> firstPass = new ArrayList<>(fired);
+        wheel.advance(1_110, fired::add);
+
+        // Assert
+        assertEquals(List.of("near"), firstPass, "Timeout a revolution away should not fire early");
+        assertEquals(List.of("near", "far"), fired, "Timeout should fire on its own revolution");
+    }
+
+    @Test
+    void testAdvance_LongGap_FiresEverythingDue() {
+        // Arrange
+        for (int i = 1; i <= 100; i++) {
+            wheel.schedule("t" + i, 1_000 + i * 7L);
+        }
+
+        // Act
+        int count = wheel.advance(1_000_000, fired::add);
+
+        // Assert
+        assertEquals(100, count, "Every timeout should fire after a long gap");
+        assertTrue(wheel.isEmpty(), "Wheel should be empty");
+        assertEquals(1_000_010, wheel.nextTickMillis(), "Wheel should have caught up with the clock");
+    }
+
+    @Test
+    void testNextDeadline_TracksEarliestScheduledTick() {
+        // Arrange
+        long empty = wheel.nextDeadlineMillis();
+        wheel.schedule("late", 1_055);
+        wheel.schedule("early", 1_021);
+
+        // Act
+        long beforeAdvance = wheel.nextDeadlineMillis();
+        wheel.advance(1_030, fired::add);
+        long afterAdvance = wheel.nextDeadlineMillis();
+
+        // Assert
+        assertEquals(Long.MAX_VALUE, empty, "Empty wheel should have no deadline");
+        assertEquals(1_030, beforeAdvance, "Deadline should be the earliest timeout's tick");
+        assertEquals(1_060, afterAdvance, "Deadline should move to the next remaining timeout");
+    }
+
+    @Test
+    void testNextDeadline_OnlyTimeoutsBeyondOneRevolution_FindsEarliest() {
+        // Arrange: eight slots of 10 ms, so both lie more than a revolution ahead
+        wheel.schedule("near", 1_010);
+        wheel.schedule("farther", 1_300);
+        wheel.schedule("far", 1_200);
+
+        // Act
+        wheel.advance(1_010, fired::add);
+
+        // Assert
+        assertEquals(List.of("near"), fired, "Only the near timeout should fire");
+        assertEquals(1_200, wheel.nextDeadlineMillis(), "Deadline should be the earliest far timeout");
+    }
+
+    @Test
+    void testNextDeadline_EarliestCancelled_CorrectedByNextAdvance() {
+        // Arrange
+        TimingWheel.Timeout<String> early = wheel.schedule("early", 1_020);
+        wheel.schedule("late", 1_050);
+        wheel.cancel(early);
+
+        // Act
+        int count = wheel.advance(wheel.nextDeadlineMillis(), fired::add);
+
+        // Assert
+        assertEquals(0, count, "Advancing to a stale deadline should fire nothing");
+        assertEquals(1_050, wheel.nextDeadlineMillis(), "Deadline should be corrected to the remaining timeout");
+    }
+
+    @Test
+    void testConstructor_SizeNotPowerOfTwo_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(10, 6, 0),
+                "Wheel size must be a power of two");
+    }
+}